@@ -0,0 +1,17 @@
+-- Transactional outbox for notifications (NotificationOutboxDao / NotificationOutboxRelay).
+-- Mirrors the insertable columns of Notifications. Safe to run more than once.
+
+IF OBJECT_ID('dbo.NotificationOutbox', 'U') IS NULL
+CREATE TABLE dbo.NotificationOutbox (
+    outbox_id INT IDENTITY(1,1) PRIMARY KEY,
+    user_id INT NOT NULL,
+    notification_type NVARCHAR(50) NOT NULL,
+    title NVARCHAR(200) NOT NULL,
+    message NVARCHAR(MAX) NULL,
+    task_id INT NULL,
+    project_id INT NULL,
+    action_url NVARCHAR(500) NULL,
+    priority NVARCHAR(20) NULL,
+    created_at DATETIME NOT NULL DEFAULT GETDATE()
+);
+GO
@@ -0,0 +1,48 @@
+-- Running totals of TimeTracking (TimeTrackingDao): per task, and per user and day.
+-- TimeTrackingDao keeps them in step with every time entry it writes; this script
+-- creates them and fills them from the entries that already exist. Safe to run more
+-- than once (existing tables are left alone).
+
+BEGIN TRY
+    BEGIN TRANSACTION;
+
+    IF OBJECT_ID('dbo.TimeTrackingTaskTotals', 'U') IS NULL
+    BEGIN
+        CREATE TABLE dbo.TimeTrackingTaskTotals (
+            task_id INT NOT NULL PRIMARY KEY,
+            total_hours DECIMAL(18, 4) NOT NULL,
+            entry_count INT NOT NULL
+        );
+
+        INSERT INTO dbo.TimeTrackingTaskTotals (task_id, total_hours, entry_count)
+        SELECT task_id, SUM(hours_worked), COUNT(*)
+        FROM dbo.TimeTracking WITH (TABLOCK, HOLDLOCK)
+        GROUP BY task_id;
+    END
+
+    IF OBJECT_ID('dbo.TimeTrackingUserDailyTotals', 'U') IS NULL
+    BEGIN
+        CREATE TABLE dbo.TimeTrackingUserDailyTotals (
+            user_id INT NOT NULL,
+            work_date DATE NOT NULL,
+            total_hours DECIMAL(18, 4) NOT NULL,
+            entry_count INT NOT NULL,
+            PRIMARY KEY (user_id, work_date)
+        );
+
+        CREATE INDEX IX_TimeTrackingUserDailyTotals_work_date
+            ON dbo.TimeTrackingUserDailyTotals (work_date) INCLUDE (total_hours, entry_count);
+
+        INSERT INTO dbo.TimeTrackingUserDailyTotals (user_id, work_date, total_hours, entry_count)
+        SELECT user_id, work_date, SUM(hours_worked), COUNT(*)
+        FROM dbo.TimeTracking WITH (TABLOCK, HOLDLOCK)
+        GROUP BY user_id, work_date;
+    END
+
+    COMMIT TRANSACTION;
+END TRY
+BEGIN CATCH
+    IF @@TRANCOUNT > 0 ROLLBACK TRANSACTION;
+    THROW;
+END CATCH
+GO
@@ -0,0 +1,47 @@
+-- Word index for comment search (TaskCommentDao). Safe to run more than once.
+-- term uses a binary collation: terms are already folded by SearchTokenizer, and its
+-- length matches SearchTokenizer.MAX_TERM_LENGTH. Comments that exist when this runs
+-- are indexed by the application (CommentSearchBackfill), tracked in
+-- TaskCommentSearchState.
+
+BEGIN TRY
+    BEGIN TRANSACTION;
+
+    IF OBJECT_ID('dbo.TaskCommentTerms', 'U') IS NULL
+    BEGIN
+        CREATE TABLE dbo.TaskCommentTerms (
+            term NVARCHAR(40) COLLATE Latin1_General_100_BIN2 NOT NULL,
+            comment_id INT NOT NULL,
+            term_count INT NOT NULL,
+            PRIMARY KEY (term, comment_id)
+        );
+
+        CREATE INDEX IX_TaskCommentTerms_comment_id ON dbo.TaskCommentTerms (comment_id);
+    END
+
+    IF OBJECT_ID('dbo.TaskCommentTermStats', 'U') IS NULL
+    BEGIN
+        CREATE TABLE dbo.TaskCommentTermStats (
+            term NVARCHAR(40) COLLATE Latin1_General_100_BIN2 NOT NULL PRIMARY KEY,
+            comment_count INT NOT NULL
+        );
+    END
+
+    IF OBJECT_ID('dbo.TaskCommentSearchState', 'U') IS NULL
+    BEGIN
+        CREATE TABLE dbo.TaskCommentSearchState (
+            id TINYINT NOT NULL PRIMARY KEY CHECK (id = 1),
+            indexed_through INT NOT NULL,
+            completed BIT NOT NULL
+        );
+
+        INSERT INTO dbo.TaskCommentSearchState (id, indexed_through, completed) VALUES (1, 0, 0);
+    END
+
+    COMMIT TRANSACTION;
+END TRY
+BEGIN CATCH
+    IF @@TRANCOUNT > 0 ROLLBACK TRANSACTION;
+    THROW;
+END CATCH
+GO
@@ -0,0 +1,223 @@
+package com.ahmet.tpm.components;
+
+import javax.swing.Timer;
+import javax.swing.table.AbstractTableModel;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Virtual table model that loads rows page by page as the JTable asks for them.
+ *
+ * Only the row count is fetched up front. A page is loaded the first time one of
+ * its rows is rendered, and at most {@code maxCachedPages} pages are kept in an
+ * LRU window, so opening a list costs the same no matter how many rows it has.
+ *
+ * Pages are fetched by keyset (the last row of the previous page) whenever that
+ * row is known, which is always the case while scrolling. A jump to a page with
+ * no known predecessor falls back to an offset query.
+ *
+ * The DAOs log SQL errors and return an empty list, so an empty page inside the row
+ * count is treated as a failed load: it is not cached, and the page is asked for again
+ * after {@link #RETRY_DELAY_MS} ms instead of staying blank.
+ *
+ * @param <T> Row type
+ */
+public class PagedTableModel<T> extends AbstractTableModel {
+
+    /**
+     * Supplies rows for the model
+     */
+    public interface PageSource<T> {
+
+        /**
+         * Total number of rows
+         */
+        int count();
+
+        /**
+         * Rows that come directly after {@code lastRow} in the list order (keyset paging).
+         * A null {@code lastRow} means the first page.
+         */
+        List<T> fetchAfter(T lastRow, int pageSize);
+
+        /**
+         * Rows of the given zero-based page (offset paging, used for random jumps)
+         */
+        List<T> fetchPage(int pageIndex, int pageSize);
+    }
+
+    /**
+     * Maps a row object to the value shown in a column
+     */
+    public interface ColumnMapper<T> {
+        Object getValue(T row, int column);
+    }
+
+    private static final int MAX_PAGE_BOUNDARIES = 1024;
+    private static final int RETRY_DELAY_MS = 2000;
+    private static final String MISSING_TEXT = "-";
+
+    private final String[] columnNames;
+    private final ColumnMapper<T> columnMapper;
+    private final int pageSize;
+    private final Map<Integer, List<T>> pages;
+    private final Map<Integer, T> pageBoundaries;
+    // Pages whose last load came back empty, with the time they may be retried
+    private final Map<Integer, Long> failedPages = new HashMap<>();
+
+    private PageSource<T> source;
+    private int rowCount = 0;
+
+    public PagedTableModel(String[] columnNames, ColumnMapper<T> columnMapper,
+                           int pageSize, int maxCachedPages) {
+        if (pageSize <= 0 || maxCachedPages <= 0) {
+            throw new IllegalArgumentException("Page size and cache size must be positive");
+        }
+
+        this.columnNames = columnNames.clone();
+        this.columnMapper = columnMapper;
+        this.pageSize = pageSize;
+
+        // Access-ordered maps evict the least recently used page / boundary
+        this.pages = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, List<T>> eldest) {
+                return size() > maxCachedPages;
+            }
+        };
+        this.pageBoundaries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, T> eldest) {
+                return size() > MAX_PAGE_BOUNDARIES;
+            }
+        };
+    }
+
+    /**
+     * Point the model at a new source (e.g. after a filter change) and reload
+     */
+    public void setSource(PageSource<T> source) {
+        this.source = source;
+        refresh();
+    }
+
+    /**
+     * Drop all cached pages and re-read the row count
+     */
+    public void refresh() {
+        pages.clear();
+        pageBoundaries.clear();
+        failedPages.clear();
+        rowCount = source != null ? source.count() : 0;
+        fireTableDataChanged();
+    }
+
+    /**
+     * Get the row object at an index, loading its page if needed
+     *
+     * @return Row object, or null if the index is out of range
+     */
+    public T getRow(int rowIndex) {
+        if (rowIndex < 0 || rowIndex >= rowCount) {
+            return null;
+        }
+
+        List<T> page = getPage(rowIndex / pageSize);
+        int offset = rowIndex % pageSize;
+        return offset < page.size() ? page.get(offset) : null;
+    }
+
+    private List<T> getPage(int pageIndex) {
+        List<T> page = pages.get(pageIndex);
+        if (page != null) {
+            return page;
+        }
+
+        Long retryAt = failedPages.get(pageIndex);
+        if (retryAt != null && System.currentTimeMillis() < retryAt) {
+            return Collections.emptyList();
+        }
+
+        page = loadPage(pageIndex);
+        if (page.isEmpty()) {
+            scheduleRetry(pageIndex);
+            return page;
+        }
+
+        failedPages.remove(pageIndex);
+        pages.put(pageIndex, page);
+        pageBoundaries.put(pageIndex, page.get(page.size() - 1));
+        return page;
+    }
+
+    /**
+     * Repaint the rows of a page that failed to load once the retry delay has passed,
+     * which makes the table ask for it again
+     */
+    private void scheduleRetry(int pageIndex) {
+        if (failedPages.put(pageIndex, System.currentTimeMillis() + RETRY_DELAY_MS) != null) {
+            return;
+        }
+
+        PageSource<T> failedSource = source;
+        Timer timer = new Timer(RETRY_DELAY_MS, e -> {
+            if (source != failedSource) {
+                return;
+            }
+            failedPages.remove(pageIndex);
+            int firstRow = pageIndex * pageSize;
+            int lastRow = Math.min(firstRow + pageSize, rowCount) - 1;
+            if (firstRow <= lastRow) {
+                fireTableRowsUpdated(firstRow, lastRow);
+            }
+        });
+        timer.setRepeats(false);
+        timer.start();
+    }
+
+    private List<T> loadPage(int pageIndex) {
+        if (source == null) {
+            return Collections.emptyList();
+        }
+
+        if (pageIndex == 0) {
+            return source.fetchAfter(null, pageSize);
+        }
+
+        T previousLastRow = pageBoundaries.get(pageIndex - 1);
+        if (previousLastRow != null) {
+            return source.fetchAfter(previousLastRow, pageSize);
+        }
+
+        return source.fetchPage(pageIndex, pageSize);
+    }
+
+    @Override
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    @Override
+    public int getColumnCount() {
+        return columnNames.length;
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        return columnNames[column];
+    }
+
+    @Override
+    public Object getValueAt(int rowIndex, int columnIndex) {
+        T row = getRow(rowIndex);
+        return row != null ? columnMapper.getValue(row, columnIndex) : MISSING_TEXT;
+    }
+
+    @Override
+    public boolean isCellEditable(int rowIndex, int columnIndex) {
+        return false;
+    }
+}
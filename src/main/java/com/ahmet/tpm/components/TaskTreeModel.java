@@ -0,0 +1,65 @@
+package com.ahmet.tpm.components;
+
+import com.ahmet.tpm.models.TaskTreeNode;
+
+import javax.swing.event.TreeModelListener;
+import javax.swing.tree.TreeModel;
+import javax.swing.tree.TreePath;
+
+/**
+ * Read-only tree model over a subtask tree loaded by TaskDao.findSubtaskTree.
+ *
+ * The JTree asks for a node's children only when that node is expanded, so no
+ * Swing tree nodes are built for collapsed branches; the model just reads the
+ * already loaded TaskTreeNode objects.
+ */
+public class TaskTreeModel implements TreeModel {
+
+    private final TaskTreeNode root;
+
+    public TaskTreeModel(TaskTreeNode root) {
+        this.root = root;
+    }
+
+    @Override
+    public Object getRoot() {
+        return root;
+    }
+
+    @Override
+    public Object getChild(Object parent, int index) {
+        return ((TaskTreeNode) parent).getChildren().get(index);
+    }
+
+    @Override
+    public int getChildCount(Object parent) {
+        return ((TaskTreeNode) parent).getChildren().size();
+    }
+
+    @Override
+    public boolean isLeaf(Object node) {
+        return ((TaskTreeNode) node).isLeaf();
+    }
+
+    @Override
+    public int getIndexOfChild(Object parent, Object child) {
+        if (parent == null || child == null) {
+            return -1;
+        }
+        return ((TaskTreeNode) parent).getChildren().indexOf(child);
+    }
+
+    @Override
+    public void valueForPathChanged(TreePath path, Object newValue) {
+        // Read-only
+    }
+
+    @Override
+    public void addTreeModelListener(TreeModelListener l) {
+        // The tree never changes; reload by setting a new model
+    }
+
+    @Override
+    public void removeTreeModelListener(TreeModelListener l) {
+    }
+}
@@ -6,12 +6,17 @@ import io.github.cdimascio.dotenv.Dotenv;
 
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 
 public class DatabaseConfig {
 
     final private static HikariDataSource dataSource;
 
+    // Run before the pool closes (e.g. flushing queued writes)
+    final private static List<Runnable> closeListeners = new CopyOnWriteArrayList<>();
+
 
     static {
 
@@ -39,6 +44,8 @@ public class DatabaseConfig {
 
             dataSource = new HikariDataSource(config);
 
+            //Close pool (and flush pending work) when the JVM exits
+            Runtime.getRuntime().addShutdownHook(new Thread(DatabaseConfig::closeConnection, "db-pool-shutdown"));
 
         } catch (Exception e) {
             throw new RuntimeException("Failed to initialize database pool ", e);
@@ -48,14 +55,30 @@ public class DatabaseConfig {
     }
 
 
-    //get connection from pool
+    //get connection from pool (or the shared one of the current UnitOfWork)
     public static Connection getConnection() throws SQLException {
+        Connection unitConnection = UnitOfWork.currentConnection();
+        if (unitConnection != null) {
+            return unitConnection;
+        }
         return dataSource.getConnection();
     }
 
-    //close pool
-    public static void closeConnection() {
-        if (dataSource != null) {
+    //register work that must finish while connections are still available
+    public static void addCloseListener(Runnable listener) {
+        closeListeners.add(listener);
+    }
+
+    //close pool (safe to call more than once)
+    public static synchronized void closeConnection() {
+        if (dataSource != null && !dataSource.isClosed()) {
+            for (Runnable listener : closeListeners) {
+                try {
+                    listener.run();
+                } catch (RuntimeException e) {
+                    System.err.println("✗ Error before closing pool: " + e.getMessage());
+                }
+            }
             dataSource.close();
         }
     }
@@ -0,0 +1,236 @@
+package com.ahmet.tpm.config;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Transaction scope that makes several DAO calls share one connection and one commit.
+ *
+ * While a unit of work is open on the current thread, DatabaseConfig.getConnection()
+ * hands every DAO the same pooled connection instead of borrowing a new one. DAO code
+ * does not change: closing the connection, commit(), rollback() and setAutoCommit()
+ * are ignored on the shared connection, and the unit decides the outcome.
+ *
+ * Most DAOs log SQL errors instead of throwing them, so the shared connection also
+ * watches its statements: if any of them fails (or a DAO calls rollback()), the unit
+ * is marked rollback-only and commit() rolls back and throws.
+ *
+ * <pre>
+ * try (UnitOfWork uow = UnitOfWork.begin()) {
+ *     taskDao.update(task);
+ *     taskDependencyDao.replaceDependencies(...);
+ *     uow.commit();
+ * }   // rolled back here if commit() was not reached
+ * </pre>
+ *
+ * A begin() inside an open unit joins it; only the outermost unit commits.
+ */
+public final class UnitOfWork implements AutoCloseable {
+
+    private static final ThreadLocal<Scope> CURRENT = new ThreadLocal<>();
+
+    /**
+     * State shared by the outermost unit and every unit that joined it
+     */
+    private static final class Scope {
+        final Connection connection;
+        final Connection sharedConnection;
+        final List<Runnable> afterCommit = new ArrayList<>();
+        boolean rollbackOnly = false;
+
+        Scope(Connection connection) {
+            this.connection = connection;
+            this.sharedConnection = shareConnection(connection, this);
+        }
+    }
+
+    private final Scope scope;
+    private final boolean outermost;
+    private boolean completed = false;
+
+    private UnitOfWork(Scope scope, boolean outermost) {
+        this.scope = scope;
+        this.outermost = outermost;
+    }
+
+    /**
+     * Open a unit of work on the current thread (or join the one already open)
+     */
+    public static UnitOfWork begin() throws SQLException {
+        Scope current = CURRENT.get();
+        if (current != null) {
+            return new UnitOfWork(current, false);
+        }
+
+        Connection conn = DatabaseConfig.getConnection();
+        try {
+            conn.setAutoCommit(false);
+        } catch (SQLException e) {
+            conn.close();
+            throw e;
+        }
+
+        Scope scope = new Scope(conn);
+        CURRENT.set(scope);
+        return new UnitOfWork(scope, true);
+    }
+
+    /**
+     * True if a unit of work is open on the current thread
+     */
+    public static boolean isActive() {
+        return CURRENT.get() != null;
+    }
+
+    /**
+     * Run an action once the current unit commits, or right away if none is open.
+     * Used for side effects that must not happen for rolled-back work (e.g. waking a relay).
+     */
+    public static void runAfterCommit(Runnable action) {
+        Scope current = CURRENT.get();
+        if (current != null) {
+            current.afterCommit.add(action);
+        } else {
+            action.run();
+        }
+    }
+
+    /**
+     * Mark the whole unit to be rolled back
+     */
+    public void setRollbackOnly() {
+        scope.rollbackOnly = true;
+    }
+
+    /**
+     * Commit the unit. Joined units only record that they finished; the outermost commits.
+     *
+     * @throws SQLException if a step failed (the work is rolled back) or the commit fails
+     */
+    public void commit() throws SQLException {
+        if (completed) {
+            throw new IllegalStateException("Unit of work already completed");
+        }
+        completed = true;
+
+        if (!outermost) {
+            return;
+        }
+
+        try {
+            if (scope.rollbackOnly) {
+                scope.connection.rollback();
+                throw new SQLException("Transaction rolled back: a step in the unit of work failed");
+            }
+            scope.connection.commit();
+        } finally {
+            release();
+        }
+
+        for (Runnable action : scope.afterCommit) {
+            try {
+                action.run();
+            } catch (RuntimeException e) {
+                System.err.println("✗ Error in after-commit action: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Roll back if commit() was not called
+     */
+    @Override
+    public void close() throws SQLException {
+        if (completed) {
+            return;
+        }
+        completed = true;
+        scope.rollbackOnly = true;
+
+        if (!outermost) {
+            return;
+        }
+
+        try {
+            scope.connection.rollback();
+        } finally {
+            release();
+        }
+    }
+
+    /**
+     * Connection of the unit open on the current thread, or null
+     */
+    static Connection currentConnection() {
+        Scope current = CURRENT.get();
+        return current != null ? current.sharedConnection : null;
+    }
+
+    private void release() throws SQLException {
+        CURRENT.remove();
+        try {
+            scope.connection.setAutoCommit(true);
+        } finally {
+            scope.connection.close();
+        }
+    }
+
+    // ==================== SHARED CONNECTION ====================
+
+    private static Connection shareConnection(Connection target, Scope scope) {
+        InvocationHandler handler = (proxy, method, args) -> switch (method.getName()) {
+            // The unit owns the connection and the transaction
+            case "close", "commit", "setAutoCommit" -> null;
+            case "rollback" -> {
+                scope.rollbackOnly = true;
+                yield null;
+            }
+            case "isClosed" -> false;
+            case "getAutoCommit" -> true;
+            default -> {
+                Object result = invoke(method, target, args, scope);
+                yield result instanceof Statement statement
+                        ? watchStatement(statement, scope)
+                        : result;
+            }
+        };
+
+        return (Connection) Proxy.newProxyInstance(
+                UnitOfWork.class.getClassLoader(), new Class<?>[]{Connection.class}, handler);
+    }
+
+    /**
+     * Wrap a statement so that a failed execute marks the unit rollback-only
+     */
+    private static Statement watchStatement(Statement statement, Scope scope) {
+        Class<?> type = statement instanceof CallableStatement ? CallableStatement.class
+                : statement instanceof PreparedStatement ? PreparedStatement.class
+                : Statement.class;
+
+        InvocationHandler handler = (proxy, method, args) -> invoke(method, statement, args,
+                method.getName().startsWith("execute") ? scope : null);
+
+        return (Statement) Proxy.newProxyInstance(
+                UnitOfWork.class.getClassLoader(), new Class<?>[]{type}, handler);
+    }
+
+    private static Object invoke(Method method, Object target, Object[] args, Scope failureScope) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            if (failureScope != null && e.getCause() instanceof SQLException) {
+                failureScope.rollbackOnly = true;
+            }
+            throw e.getCause();
+        }
+    }
+}
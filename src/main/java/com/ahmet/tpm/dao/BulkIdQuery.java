@@ -0,0 +1,128 @@
+package com.ahmet.tpm.dao;
+
+import com.ahmet.tpm.config.DatabaseConfig;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+/**
+ * Runs a query with an "IN (...)" list of integer IDs, any number of them.
+ *
+ * SQL Server accepts at most 2100 parameters per statement, so the IDs are
+ * de-duplicated and sent in chunks of at most {@link #MAX_CHUNK_SIZE}. Each
+ * chunk is padded (by repeating its last ID) to a fixed bucket size, so the
+ * server only ever sees a handful of distinct statement shapes and can reuse
+ * their cached plans.
+ *
+ * The SQL is written with a single {@link #ID_LIST} token where the placeholder
+ * list goes, e.g. {@code "SELECT * FROM Users WHERE user_id IN ({ids})"}. The
+ * token is substituted literally, so the rest of the SQL may contain % (LIKE
+ * patterns, for example). Extra parameters that come before the list are bound
+ * with {@code leadingParams}.
+ */
+final class BulkIdQuery {
+
+    /**
+     * Largest number of IDs sent in one statement (well below the 2100 limit)
+     */
+    static final int MAX_CHUNK_SIZE = 1000;
+
+    /**
+     * Token in the SQL template that is replaced by the "?, ?, ..." placeholder list
+     */
+    static final String ID_LIST = "{ids}";
+
+    private static final int[] CHUNK_BUCKETS = {10, 50, 100, 500, MAX_CHUNK_SIZE};
+
+    /**
+     * Called once per result row, for every chunk
+     */
+    interface RowHandler {
+        void handle(ResultSet rs) throws SQLException;
+    }
+
+    private BulkIdQuery() {}
+
+    /**
+     * Run the query once per chunk of IDs on a new pooled connection
+     */
+    static void forEach(String sqlTemplate, Collection<Integer> ids, RowHandler handler) throws SQLException {
+        List<List<Integer>> chunks = chunk(ids);
+        if (chunks.isEmpty()) {
+            return;
+        }
+
+        try (Connection conn = DatabaseConfig.getConnection()) {
+            forEach(conn, sqlTemplate, chunks, List.of(), handler);
+        }
+    }
+
+    /**
+     * Run the query once per chunk of IDs on the caller's connection
+     */
+    static void forEach(Connection conn, String sqlTemplate, Collection<Integer> ids,
+                        List<Object> leadingParams, RowHandler handler) throws SQLException {
+        forEach(conn, sqlTemplate, chunk(ids), leadingParams, handler);
+    }
+
+    private static void forEach(Connection conn, String sqlTemplate, List<List<Integer>> chunks,
+                                List<Object> leadingParams, RowHandler handler) throws SQLException {
+        if (!sqlTemplate.contains(ID_LIST)) {
+            throw new IllegalArgumentException("SQL template has no " + ID_LIST + " token: " + sqlTemplate);
+        }
+
+        for (List<Integer> chunk : chunks) {
+            int size = bucketSize(chunk.size());
+            String sql = sqlTemplate.replace(ID_LIST, String.join(",", Collections.nCopies(size, "?")));
+
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                int index = 1;
+                for (Object param : leadingParams) {
+                    stmt.setObject(index++, param);
+                }
+
+                // Pad with the last ID; duplicates inside IN do not change the result
+                Integer last = chunk.get(chunk.size() - 1);
+                for (int i = 0; i < size; i++) {
+                    stmt.setInt(index++, i < chunk.size() ? chunk.get(i) : last);
+                }
+
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        handler.handle(rs);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Split IDs into de-duplicated chunks of at most MAX_CHUNK_SIZE, skipping nulls
+     */
+    static List<List<Integer>> chunk(Collection<Integer> ids) {
+        List<Integer> distinct = new ArrayList<>(new LinkedHashSet<>(ids));
+        distinct.removeIf(id -> id == null);
+
+        List<List<Integer>> chunks = new ArrayList<>();
+        for (int from = 0; from < distinct.size(); from += MAX_CHUNK_SIZE) {
+            chunks.add(distinct.subList(from, Math.min(from + MAX_CHUNK_SIZE, distinct.size())));
+        }
+        return chunks;
+    }
+
+    private static int bucketSize(int count) {
+        for (int bucket : CHUNK_BUCKETS) {
+            if (count <= bucket) {
+                return bucket;
+            }
+        }
+        return MAX_CHUNK_SIZE;
+    }
+}
@@ -0,0 +1,58 @@
+package com.ahmet.tpm.dao;
+
+import com.ahmet.tpm.config.DatabaseConfig;
+
+import java.sql.SQLException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Background job that adds comments written before the comment search tables existed
+ * to the search index.
+ *
+ * Runs once per session on a daemon thread, one batch of
+ * {@link TaskCommentDao#BACKFILL_BATCH_SIZE} comments per transaction. The progress is
+ * kept in the database, so once the index is complete each later start costs a single
+ * query, and a build cut short by closing the application resumes on the next start.
+ */
+public final class CommentSearchBackfill {
+
+    private static ExecutorService executor;
+
+    private CommentSearchBackfill() {}
+
+    /**
+     * Start the backfill if it has not been started yet (safe to call more than once)
+     */
+    public static synchronized void start() {
+        if (executor != null) {
+            return;
+        }
+
+        executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "comment-search-backfill");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.execute(CommentSearchBackfill::run);
+        executor.shutdown();
+
+        DatabaseConfig.addCloseListener(CommentSearchBackfill::stop);
+    }
+
+    private static synchronized void stop() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void run() {
+        try {
+            while (!Thread.currentThread().isInterrupted() && TaskCommentDao.backfillSearchIndexBatch()) {
+                // next batch
+            }
+        } catch (SQLException e) {
+            System.err.println("✗ Error building comment search index: " + e.getMessage());
+        }
+    }
+}
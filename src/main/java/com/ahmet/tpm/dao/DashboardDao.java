@@ -0,0 +1,159 @@
+package com.ahmet.tpm.dao;
+
+import com.ahmet.tpm.config.DatabaseConfig;
+import com.ahmet.tpm.models.ProjectDashboardStats;
+import com.ahmet.tpm.models.ProjectWithDetails;
+import com.ahmet.tpm.models.TaskDashboardStats;
+import com.ahmet.tpm.models.TaskWithDetails;
+
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Aggregate queries behind the dashboards
+ * Each dashboard is loaded with a couple of grouped queries on one connection
+ * instead of one query per task or per status
+ */
+public class DashboardDao {
+
+    // ==================== TASK DASHBOARD ====================
+
+    /**
+     * Load the task dashboard for a user: per-status counts, overdue count
+     * and the most recently created tasks assigned to the user
+     *
+     * @param userId      User whose assigned tasks are counted
+     * @param recentLimit Maximum number of recent tasks to return
+     */
+    public TaskDashboardStats getTaskDashboardForUser(int userId, int recentLimit) {
+        String countsSql = """
+            SELECT ts.status_name,
+                   COUNT(*) AS task_count,
+                   SUM(CASE
+                           WHEN t.due_date < CAST(GETDATE() AS DATE)
+                            AND ISNULL(ts.status_name, '') <> 'DONE' THEN 1
+                           ELSE 0
+                       END) AS overdue_count
+            FROM TaskMembers tm
+            JOIN Tasks t ON tm.task_id = t.task_id
+            LEFT JOIN TaskStatus ts ON t.status_id = ts.status_id
+            WHERE tm.user_id = ?
+            GROUP BY ts.status_id, ts.status_name
+            ORDER BY ts.status_id
+            """;
+
+        String recentSql = TaskDao.TASK_DETAILS_SELECT + """
+            WHERE t.task_id IN (SELECT task_id FROM TaskMembers WHERE user_id = ?)
+            ORDER BY t.created_at DESC, t.task_id DESC
+            OFFSET 0 ROWS FETCH NEXT ? ROWS ONLY
+            """;
+
+        TaskDashboardStats stats = new TaskDashboardStats();
+
+        try (Connection conn = DatabaseConfig.getConnection()) {
+
+            // 1) Counts grouped by status
+            try (PreparedStatement stmt = conn.prepareStatement(countsSql)) {
+                stmt.setInt(1, userId);
+                ResultSet rs = stmt.executeQuery();
+
+                Map<String, Integer> countsByStatus = new LinkedHashMap<>();
+                int total = 0;
+                int overdue = 0;
+
+                while (rs.next()) {
+                    int count = rs.getInt("task_count");
+                    countsByStatus.put(rs.getString("status_name"), count);
+                    total += count;
+                    overdue += rs.getInt("overdue_count");
+                }
+
+                stats.setCountsByStatus(countsByStatus);
+                stats.setTotalTasks(total);
+                stats.setOverdueTasks(overdue);
+            }
+
+            // 2) Top-N recent tasks with project, status and priority names
+            try (PreparedStatement stmt = conn.prepareStatement(recentSql)) {
+                stmt.setInt(1, userId);
+                stmt.setInt(2, recentLimit);
+                ResultSet rs = stmt.executeQuery();
+
+                List<TaskWithDetails> recentTasks = new ArrayList<>();
+                while (rs.next()) {
+                    recentTasks.add(TaskDao.extractTaskWithDetailsFromResultSet(rs));
+                }
+                stats.setRecentTasks(recentTasks);
+            }
+
+        } catch (SQLException e) {
+            System.err.println("✗ Error loading task dashboard: " + e.getMessage());
+        }
+
+        return stats;
+    }
+
+    // ==================== PROJECT DASHBOARD ====================
+
+    /**
+     * Load the project dashboard: total, per-status counts and the most
+     * recently created projects
+     *
+     * @param recentLimit Maximum number of recent projects to return
+     */
+    public ProjectDashboardStats getProjectDashboard(int recentLimit) {
+        String countsSql = """
+            SELECT ps.status_id,
+                   COUNT(p.project_id) AS project_count,
+                   (SELECT COUNT(*) FROM Projects) AS total_projects
+            FROM ProjectStatus ps
+            LEFT JOIN Projects p ON p.status_id = ps.status_id
+            GROUP BY ps.status_id
+            ORDER BY ps.status_id
+            """;
+
+        String recentSql = ProjectDao.PROJECT_DETAILS_SELECT + """
+            ORDER BY p.created_at DESC, p.project_id DESC
+            OFFSET 0 ROWS FETCH NEXT ? ROWS ONLY
+            """;
+
+        ProjectDashboardStats stats = new ProjectDashboardStats();
+
+        try (Connection conn = DatabaseConfig.getConnection()) {
+
+            // 1) Counts grouped by status, with the overall total on every row
+            try (PreparedStatement stmt = conn.prepareStatement(countsSql);
+                 ResultSet rs = stmt.executeQuery()) {
+
+                Map<Integer, Integer> countsByStatusId = new LinkedHashMap<>();
+
+                while (rs.next()) {
+                    countsByStatusId.put(rs.getInt("status_id"), rs.getInt("project_count"));
+                    stats.setTotalProjects(rs.getInt("total_projects"));
+                }
+
+                stats.setCountsByStatusId(countsByStatusId);
+            }
+
+            // 2) Top-N recent projects with status and department names
+            try (PreparedStatement stmt = conn.prepareStatement(recentSql)) {
+                stmt.setInt(1, recentLimit);
+                ResultSet rs = stmt.executeQuery();
+
+                List<ProjectWithDetails> recentProjects = new ArrayList<>();
+                while (rs.next()) {
+                    recentProjects.add(ProjectDao.extractProjectWithDetailsFromResultSet(rs));
+                }
+                stats.setRecentProjects(recentProjects);
+            }
+
+        } catch (SQLException e) {
+            System.err.println("✗ Error loading project dashboard: " + e.getMessage());
+        }
+
+        return stats;
+    }
+}
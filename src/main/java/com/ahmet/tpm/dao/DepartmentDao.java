@@ -1,6 +1,7 @@
 package com.ahmet.tpm.dao;
 
 import com.ahmet.tpm.config.DatabaseConfig;
+import com.ahmet.tpm.config.UnitOfWork;
 import com.ahmet.tpm.models.Department;
 
 import java.sql.*;
@@ -9,8 +10,35 @@ import java.util.List;
 
 
 public class DepartmentDao {
+
+    // ==================== CACHE ====================
+    private static final LookupCache<Department> CACHE =
+            new LookupCache<>("Departments", DepartmentDao::loadAll,
+                    Department::getDepartmentId, Department::getDepartmentName);
+
+    private static List<Department> loadAll() throws SQLException {
+        String sql = """
+            SELECT department_id, department_name
+            FROM Departments
+            ORDER BY department_name ASC
+            """;
+
+        List<Department> departments = new ArrayList<>();
+
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql);
+             ResultSet rs = stmt.executeQuery()) {
+
+            while (rs.next()) {
+                departments.add(extractDepartmentFromResultSet(rs));
+            }
+        }
+
+        return departments;
+    }
+
     // ==================== HELPER METHOD ====================
-    private Department extractDepartmentFromResultSet(ResultSet rs) throws SQLException {
+    private static Department extractDepartmentFromResultSet(ResultSet rs) throws SQLException {
         return new Department(
                 rs.getInt("department_id"),
                 rs.getString("department_name")
@@ -29,6 +57,7 @@ public class DepartmentDao {
 
             stmt.setString(1, department.getDepartmentName());
             stmt.executeUpdate();
+            UnitOfWork.runAfterCommit(CACHE::invalidate);
             System.out.println("âœ“ Department inserted successfully!");
 
         } catch (SQLException e) {
@@ -47,6 +76,7 @@ public class DepartmentDao {
 
             stmt.setString(1, department.getDepartmentName());
             int rowsAffected = stmt.executeUpdate();
+            UnitOfWork.runAfterCommit(CACHE::invalidate);
 
             if (rowsAffected > 0) {
                 ResultSet generatedKeys = stmt.getGeneratedKeys();
@@ -66,73 +96,15 @@ public class DepartmentDao {
 
     // ==================== READ ====================
     public Department findById(int id) {
-        String sql = """
-            SELECT department_id, department_name
-            FROM Departments
-            WHERE department_id = ?
-            """;
-
-        try (Connection conn = DatabaseConfig.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-
-            stmt.setInt(1, id);
-            ResultSet rs = stmt.executeQuery();
-
-            if (rs.next()) {
-                return extractDepartmentFromResultSet(rs);
-            }
-
-        } catch (SQLException e) {
-            System.err.println(" Error finding department: " + e.getMessage());
-        }
-        return null;
+        return CACHE.getById(id);
     }
 
     public List<Department> findAll() {
-        String sql = """
-            SELECT department_id, department_name
-            FROM Departments
-            ORDER BY department_name ASC
-            """;
-
-        List<Department> departments = new ArrayList<>();
-
-        try (Connection conn = DatabaseConfig.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql);
-             ResultSet rs = stmt.executeQuery()) {
-
-            while (rs.next()) {
-                departments.add(extractDepartmentFromResultSet(rs));
-            }
-
-        } catch (SQLException e) {
-            System.err.println(" Error finding all departments: " + e.getMessage());
-        }
-
-        return departments;
+        return CACHE.getAll();
     }
 
     public Department findByName(String name) {
-        String sql = """
-            SELECT department_id, department_name
-            FROM Departments
-            WHERE department_name = ?
-            """;
-
-        try (Connection conn = DatabaseConfig.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-
-            stmt.setString(1, name);
-            ResultSet rs = stmt.executeQuery();
-
-            if (rs.next()) {
-                return extractDepartmentFromResultSet(rs);
-            }
-
-        } catch (SQLException e) {
-            System.err.println(" Error finding department by name: " + e.getMessage());
-        }
-        return null;
+        return CACHE.getByName(name);
     }
 
     // ==================== UPDATE ====================
@@ -150,6 +122,7 @@ public class DepartmentDao {
             stmt.setInt(2, department.getDepartmentId());
 
             int rowsUpdated = stmt.executeUpdate();
+            UnitOfWork.runAfterCommit(CACHE::invalidate);
 
             if (rowsUpdated > 0) {
                 System.out.println("âœ“ Department updated successfully!");
@@ -174,6 +147,7 @@ public class DepartmentDao {
 
             stmt.setInt(1, id);
             int rowsDeleted = stmt.executeUpdate();
+            UnitOfWork.runAfterCommit(CACHE::invalidate);
 
             if (rowsDeleted > 0) {
                 System.out.println("âœ“ Department deleted successfully!");
@@ -0,0 +1,179 @@
+package com.ahmet.tpm.dao;
+
+import com.ahmet.tpm.config.DatabaseConfig;
+import com.ahmet.tpm.utils.CsvWriter;
+import com.microsoft.sqlserver.jdbc.ISQLServerStatement;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+
+/**
+ * Streams whole tables to CSV without building lists of model objects.
+ *
+ * Each export runs one forward-only, read-only query and writes every row to the
+ * CsvWriter as soon as it is read. The driver is asked for adaptive response
+ * buffering (rows are pulled from the network as the ResultSet advances instead of
+ * being read into memory up front) with a fetch size of {@link #FETCH_SIZE}, so heap
+ * use does not grow with the number of rows exported.
+ *
+ * Column names in the CSV header are the column labels of the query.
+ */
+public class ExportDao {
+
+    static final int FETCH_SIZE = 2000;
+
+    // ==================== EXPORTS ====================
+
+    /**
+     * Export all tasks with their project, status, priority and creator names
+     *
+     * @return Number of data rows written
+     */
+    public long exportTasks(CsvWriter csv) throws SQLException, IOException {
+        String sql = """
+            SELECT t.task_id AS [Task ID],
+                   t.task_name AS [Task],
+                   t.project_id AS [Project ID],
+                   p.project_name AS [Project],
+                   ts.status_name AS [Status],
+                   tp.priority_name AS [Priority],
+                   t.estimated_hours AS [Estimated Hours],
+                   t.due_date AS [Due Date],
+                   t.parent_task_id AS [Parent Task ID],
+                   u.username AS [Created By],
+                   t.created_at AS [Created At],
+                   t.description AS [Description]
+            FROM Tasks t
+            LEFT JOIN Projects p ON t.project_id = p.project_id
+            LEFT JOIN TaskStatus ts ON t.status_id = ts.status_id
+            LEFT JOIN TaskPriority tp ON t.priority_id = tp.priority_id
+            LEFT JOIN Users u ON t.created_by = u.user_id
+            ORDER BY t.task_id
+            """;
+
+        return stream(sql, csv);
+    }
+
+    /**
+     * Export all projects with their status, department and creator names
+     *
+     * @return Number of data rows written
+     */
+    public long exportProjects(CsvWriter csv) throws SQLException, IOException {
+        String sql = """
+            SELECT p.project_id AS [Project ID],
+                   p.project_name AS [Project],
+                   ps.status_name AS [Status],
+                   d.department_name AS [Department],
+                   p.start_date AS [Start Date],
+                   p.deadline AS [Deadline],
+                   u.username AS [Created By],
+                   p.created_at AS [Created At],
+                   p.description AS [Description]
+            FROM Projects p
+            LEFT JOIN Departments d ON p.department_id = d.department_id
+            LEFT JOIN ProjectStatus ps ON p.status_id = ps.status_id
+            LEFT JOIN Users u ON p.created_by = u.user_id
+            ORDER BY p.project_id
+            """;
+
+        return stream(sql, csv);
+    }
+
+    /**
+     * Export the time entries of a date range (both ends included) with user, task and project names
+     *
+     * @return Number of data rows written
+     */
+    public long exportTimeEntries(LocalDate startDate, LocalDate endDate, CsvWriter csv) throws SQLException, IOException {
+        String sql = """
+            SELECT tt.time_entry_id AS [Entry ID],
+                   tt.work_date AS [Date],
+                   tt.user_id AS [User ID],
+                   u.full_name AS [User],
+                   tt.task_id AS [Task ID],
+                   t.task_name AS [Task],
+                   p.project_name AS [Project],
+                   tt.hours_worked AS [Hours]
+            FROM TimeTracking tt
+            LEFT JOIN Users u ON tt.user_id = u.user_id
+            LEFT JOIN Tasks t ON tt.task_id = t.task_id
+            LEFT JOIN Projects p ON t.project_id = p.project_id
+            WHERE tt.work_date BETWEEN ? AND ?
+            ORDER BY tt.work_date, tt.time_entry_id
+            """;
+
+        return stream(sql, csv, Date.valueOf(startDate), Date.valueOf(endDate));
+    }
+
+    // ==================== STREAMING ====================
+
+    private long stream(String sql, CsvWriter csv, Object... params) throws SQLException, IOException {
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement stmt = prepareStreaming(conn, sql)) {
+
+            for (int i = 0; i < params.length; i++) {
+                stmt.setObject(i + 1, params[i]);
+            }
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                ResultSetMetaData meta = rs.getMetaData();
+                int columns = meta.getColumnCount();
+
+                Object[] values = new Object[columns];
+                for (int c = 0; c < columns; c++) {
+                    values[c] = meta.getColumnLabel(c + 1);
+                }
+                csv.writeRow(values);
+
+                long rows = 0;
+                while (rs.next()) {
+                    for (int c = 0; c < columns; c++) {
+                        values[c] = toCsvValue(rs.getObject(c + 1));
+                    }
+                    csv.writeRow(values);
+                    rows++;
+                }
+
+                csv.flush();
+                return rows;
+            }
+        }
+    }
+
+    /**
+     * Forward-only, read-only statement that pulls rows from the server as they are read
+     */
+    static PreparedStatement prepareStreaming(Connection conn, String sql) throws SQLException {
+        PreparedStatement stmt = conn.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+        stmt.setFetchSize(FETCH_SIZE);
+
+        if (stmt.isWrapperFor(ISQLServerStatement.class)) {
+            stmt.unwrap(ISQLServerStatement.class).setResponseBuffering("adaptive");
+        }
+        return stmt;
+    }
+
+    /**
+     * Dates and timestamps in ISO format, decimals without trailing zeros
+     */
+    private static Object toCsvValue(Object value) {
+        if (value instanceof Timestamp timestamp) {
+            return timestamp.toLocalDateTime();
+        }
+        if (value instanceof Date date) {
+            return date.toLocalDate();
+        }
+        if (value instanceof java.math.BigDecimal decimal) {
+            return decimal.signum() == 0 ? "0" : decimal.stripTrailingZeros().toPlainString();
+        }
+        return value;
+    }
+}
@@ -0,0 +1,126 @@
+package com.ahmet.tpm.dao;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+/**
+ * Process-wide cache for a small lookup table (statuses, priorities, roles, departments).
+ *
+ * The whole table is read once and indexed by id and by name. The owning DAO calls
+ * invalidate() from its insert/update/delete methods, through UnitOfWork.runAfterCommit,
+ * so the next read after the write commits reloads it (and a rolled-back write does not
+ * throw the cache away).
+ * A failed load is not cached; the next read simply tries again.
+ *
+ * @param <T> Lookup model type
+ */
+class LookupCache<T> {
+
+    /**
+     * Reads the whole lookup table from the database
+     */
+    interface Loader<T> {
+        List<T> load() throws SQLException;
+    }
+
+    /**
+     * One loaded copy of the table with its indexes; never modified once built
+     */
+    private record Snapshot<T>(List<T> all, Map<Integer, T> byId, Map<String, T> byName) {}
+
+    private final String tableName;
+    private final Loader<T> loader;
+    private final ToIntFunction<T> idOf;
+    private final Function<T, String> nameOf;
+
+    private volatile Snapshot<T> snapshot;
+
+    LookupCache(String tableName, Loader<T> loader, ToIntFunction<T> idOf, Function<T, String> nameOf) {
+        this.tableName = tableName;
+        this.loader = loader;
+        this.idOf = idOf;
+        this.nameOf = nameOf;
+    }
+
+    T getById(int id) {
+        Snapshot<T> current = snapshot();
+        return current != null ? current.byId().get(id) : null;
+    }
+
+    /**
+     * Name lookup is case-insensitive, like the database's default collation
+     */
+    T getByName(String name) {
+        if (name == null) {
+            return null;
+        }
+        Snapshot<T> current = snapshot();
+        return current != null ? current.byName().get(normalize(name)) : null;
+    }
+
+    /**
+     * All rows in the order the loader returned them (caller gets its own copy)
+     */
+    List<T> getAll() {
+        Snapshot<T> current = snapshot();
+        return current != null ? new ArrayList<>(current.all()) : new ArrayList<>();
+    }
+
+    /**
+     * Drop the cached table; called after every write to it
+     */
+    synchronized void invalidate() {
+        snapshot = null;
+    }
+
+    /**
+     * Current snapshot, loading it first if needed; null if the load failed
+     */
+    private Snapshot<T> snapshot() {
+        Snapshot<T> current = snapshot;
+        if (current != null) {
+            return current;
+        }
+
+        synchronized (this) {
+            if (snapshot != null) {
+                return snapshot;
+            }
+
+            try {
+                List<T> rows = loader.load();
+
+                Map<Integer, T> idIndex = new HashMap<>();
+                Map<String, T> nameIndex = new HashMap<>();
+                for (T row : rows) {
+                    idIndex.put(idOf.applyAsInt(row), row);
+                    String name = nameOf.apply(row);
+                    if (name != null) {
+                        nameIndex.put(normalize(name), row);
+                    }
+                }
+
+                snapshot = new Snapshot<>(
+                        Collections.unmodifiableList(rows),
+                        Collections.unmodifiableMap(idIndex),
+                        Collections.unmodifiableMap(nameIndex));
+                return snapshot;
+
+            } catch (SQLException e) {
+                System.err.println("✗ Error loading " + tableName + " lookup table: " + e.getMessage());
+                return null;
+            }
+        }
+    }
+
+    private static String normalize(String name) {
+        return name.trim().toUpperCase(Locale.ROOT);
+    }
+}
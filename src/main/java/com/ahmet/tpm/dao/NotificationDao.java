@@ -10,34 +10,28 @@ import java.util.List;
 
 public class NotificationDao {
 
+    private static final String INSERT_SQL = "INSERT INTO Notifications (user_id, notification_type, title, message, " +
+            "task_id, project_id, action_url, priority) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    // The same notification for every member of a task / project (excluded user optional)
+    private static final String INSERT_FOR_TASK_MEMBERS_SQL = "INSERT INTO Notifications (user_id, notification_type, title, message, " +
+            "task_id, project_id, action_url, priority) " +
+            "SELECT tm.user_id, ?, ?, ?, ?, ?, ?, ? " +
+            "FROM TaskMembers tm WHERE tm.task_id = ? AND (? IS NULL OR tm.user_id <> ?)";
+
+    private static final String INSERT_FOR_PROJECT_MEMBERS_SQL = "INSERT INTO Notifications (user_id, notification_type, title, message, " +
+            "task_id, project_id, action_url, priority) " +
+            "SELECT pm.user_id, ?, ?, ?, ?, ?, ?, ? " +
+            "FROM ProjectMembers pm WHERE pm.project_id = ? AND (? IS NULL OR pm.user_id <> ?)";
+
     // Create notification
     public int insert(Notification notification) {
-        String sql = "INSERT INTO Notifications (user_id, notification_type, title, message, " +
-                "task_id, project_id, action_url, priority) " +
-                "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
-
         try (Connection conn = DatabaseConfig.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+             PreparedStatement pstmt = conn.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS)) {
 
             pstmt.setInt(1, notification.getUserId());
-            pstmt.setString(2, notification.getNotificationType());
-            pstmt.setString(3, notification.getTitle());
-            pstmt.setString(4, notification.getMessage());
-
-            if (notification.getTaskId() != null) {
-                pstmt.setInt(5, notification.getTaskId());
-            } else {
-                pstmt.setNull(5, Types.INTEGER);
-            }
-
-            if (notification.getProjectId() != null) {
-                pstmt.setInt(6, notification.getProjectId());
-            } else {
-                pstmt.setNull(6, Types.INTEGER);
-            }
-
-            pstmt.setString(7, notification.getActionUrl());
-            pstmt.setString(8, notification.getPriority());
+            setTemplateParameters(pstmt, 2, notification);
 
             pstmt.executeUpdate();
 
@@ -52,6 +46,123 @@ public class NotificationDao {
         return -1;
     }
 
+    /**
+     * Who receives a queued notification: one user, a list of users, or the members
+     * of a task or project (built by the static factories)
+     */
+    public static final class Delivery {
+        private enum Audience { USERS, TASK_MEMBERS, PROJECT_MEMBERS }
+
+        private final Audience audience;
+        private final Notification template;
+        private final List<Integer> userIds;
+        private final int parentId;
+        private final Integer excludeUserId;
+
+        private Delivery(Audience audience, Notification template, List<Integer> userIds,
+                         int parentId, Integer excludeUserId) {
+            this.audience = audience;
+            this.template = template;
+            this.userIds = userIds;
+            this.parentId = parentId;
+            this.excludeUserId = excludeUserId;
+        }
+
+        // The notification's own user_id
+        public static Delivery toUser(Notification notification) {
+            return new Delivery(Audience.USERS, notification, List.of(notification.getUserId()), 0, null);
+        }
+
+        public static Delivery toUsers(List<Integer> userIds, Notification template) {
+            return new Delivery(Audience.USERS, template, List.copyOf(userIds), 0, null);
+        }
+
+        // excludeUserId may be null
+        public static Delivery toTaskMembers(int taskId, Notification template, Integer excludeUserId) {
+            return new Delivery(Audience.TASK_MEMBERS, template, List.of(), taskId, excludeUserId);
+        }
+
+        // excludeUserId may be null
+        public static Delivery toProjectMembers(int projectId, Notification template, Integer excludeUserId) {
+            return new Delivery(Audience.PROJECT_MEMBERS, template, List.of(), projectId, excludeUserId);
+        }
+    }
+
+    // Write queued deliveries on one connection, as at most one JDBC batch per audience type
+    public int insertAll(List<Delivery> deliveries) {
+        if (deliveries.isEmpty()) {
+            return 0;
+        }
+
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement direct = conn.prepareStatement(INSERT_SQL);
+             PreparedStatement taskMembers = conn.prepareStatement(INSERT_FOR_TASK_MEMBERS_SQL);
+             PreparedStatement projectMembers = conn.prepareStatement(INSERT_FOR_PROJECT_MEMBERS_SQL)) {
+
+            for (Delivery delivery : deliveries) {
+                switch (delivery.audience) {
+                    case USERS -> {
+                        for (int userId : delivery.userIds) {
+                            direct.setInt(1, userId);
+                            setTemplateParameters(direct, 2, delivery.template);
+                            direct.addBatch();
+                        }
+                    }
+                    case TASK_MEMBERS -> addMembersBatch(taskMembers, delivery);
+                    case PROJECT_MEMBERS -> addMembersBatch(projectMembers, delivery);
+                }
+            }
+
+            int inserted = 0;
+            for (PreparedStatement pstmt : List.of(direct, taskMembers, projectMembers)) {
+                for (int count : pstmt.executeBatch()) {
+                    inserted += Math.max(count, 0);
+                }
+            }
+            return inserted;
+
+        } catch (SQLException e) {
+            System.err.println("✗ Error writing " + deliveries.size() + " queued notification(s): " + e.getMessage());
+        }
+        return 0;
+    }
+
+    private void addMembersBatch(PreparedStatement pstmt, Delivery delivery) throws SQLException {
+        int index = setTemplateParameters(pstmt, 1, delivery.template);
+        pstmt.setInt(index++, delivery.parentId);
+        if (delivery.excludeUserId != null) {
+            pstmt.setInt(index++, delivery.excludeUserId);
+            pstmt.setInt(index, delivery.excludeUserId);
+        } else {
+            pstmt.setNull(index++, Types.INTEGER);
+            pstmt.setNull(index, Types.INTEGER);
+        }
+        pstmt.addBatch();
+    }
+
+    // Bind every column except user_id, starting at the given index; returns the next index
+    private int setTemplateParameters(PreparedStatement pstmt, int index, Notification template) throws SQLException {
+        pstmt.setString(index++, template.getNotificationType());
+        pstmt.setString(index++, template.getTitle());
+        pstmt.setString(index++, template.getMessage());
+
+        if (template.getTaskId() != null) {
+            pstmt.setInt(index++, template.getTaskId());
+        } else {
+            pstmt.setNull(index++, Types.INTEGER);
+        }
+
+        if (template.getProjectId() != null) {
+            pstmt.setInt(index++, template.getProjectId());
+        } else {
+            pstmt.setNull(index++, Types.INTEGER);
+        }
+
+        pstmt.setString(index++, template.getActionUrl());
+        pstmt.setString(index++, template.getPriority());
+        return index;
+    }
+
     // Get all notifications for a user
     public List<Notification> findByUserId(int userId) {
         List<Notification> notifications = new ArrayList<>();
@@ -317,6 +428,11 @@ public class NotificationDao {
     }
 
     public void createTaskAssignmentNotification(int userId, int taskId) {
+        insert(taskAssignmentNotification(userId, taskId));
+    }
+
+    // Build the generic "you have been assigned" notification (also used by the outbox)
+    static Notification taskAssignmentNotification(int userId, int taskId) {
         Notification notification = new Notification();
 
         notification.setUserId(userId);
@@ -327,6 +443,6 @@ public class NotificationDao {
         notification.setActionUrl("/tasks/" + taskId);
         notification.setPriority("NORMAL");
 
-        insert(notification);
+        return notification;
     }
 }
\ No newline at end of file
@@ -0,0 +1,141 @@
+package com.ahmet.tpm.dao;
+
+import com.ahmet.tpm.config.DatabaseConfig;
+import com.ahmet.tpm.config.UnitOfWork;
+import com.ahmet.tpm.models.Notification;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Transactional outbox for notifications.
+ *
+ * A DAO that must notify someone as part of a write (e.g. a task assignment) adds an
+ * outbox row on its own connection, inside its own transaction, so the write and the
+ * notification commit or roll back together. NotificationOutboxRelay later moves the
+ * rows into Notifications in batches.
+ *
+ * The NotificationOutbox table mirrors the insertable columns of Notifications; it is
+ * created by database/011_notification_outbox.sql.
+ */
+class NotificationOutboxDao {
+
+    // ==================== CREATE ====================
+    /**
+     * Add a notification to the outbox on the caller's connection (and transaction)
+     */
+    void enqueue(Connection conn, Notification notification) throws SQLException {
+        String sql = """
+            INSERT INTO NotificationOutbox (user_id, notification_type, title, message,
+                                            task_id, project_id, action_url, priority)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setInt(1, notification.getUserId());
+            stmt.setString(2, notification.getNotificationType());
+            stmt.setString(3, notification.getTitle());
+            stmt.setString(4, notification.getMessage());
+
+            if (notification.getTaskId() != null) {
+                stmt.setInt(5, notification.getTaskId());
+            } else {
+                stmt.setNull(5, Types.INTEGER);
+            }
+
+            if (notification.getProjectId() != null) {
+                stmt.setInt(6, notification.getProjectId());
+            } else {
+                stmt.setNull(6, Types.INTEGER);
+            }
+
+            stmt.setString(7, notification.getActionUrl());
+            stmt.setString(8, notification.getPriority());
+            stmt.executeUpdate();
+        }
+    }
+
+    // ==================== RELAY ====================
+    /**
+     * Move up to batchSize outbox rows into Notifications, in one transaction:
+     * claim the oldest rows (UPDLOCK keeps them ours until commit, READPAST lets
+     * concurrent relays, one per running application, skip rows another relay holds),
+     * copy them into Notifications, then delete them from the outbox.
+     *
+     * (DELETE ... OUTPUT INTO cannot be used: Notifications has foreign keys.)
+     *
+     * A row can outlive what it points at (the task, project or user was deleted before
+     * it was relayed). A missing task or project is copied as NULL, the way
+     * NotificationDao.clearTaskReferences does it; a row whose user is gone is dropped.
+     * Either way the row leaves the outbox, so it cannot fail every later batch.
+     *
+     * @return Number of outbox rows processed (written or dropped)
+     */
+    int relayBatch(int batchSize) throws SQLException {
+        String claimSql = """
+            SELECT TOP (?) outbox_id
+            FROM NotificationOutbox WITH (UPDLOCK, ROWLOCK, READPAST)
+            ORDER BY outbox_id
+            """;
+
+        // The claimed IDs travel as one JSON array parameter
+        String copySql = """
+            INSERT INTO Notifications (user_id, notification_type, title, message,
+                                       task_id, project_id, action_url, priority)
+            SELECT o.user_id, o.notification_type, o.title, o.message,
+                   t.task_id, p.project_id, o.action_url, o.priority
+            FROM NotificationOutbox o
+            JOIN Users u ON u.user_id = o.user_id
+            LEFT JOIN Tasks t ON t.task_id = o.task_id
+            LEFT JOIN Projects p ON p.project_id = o.project_id
+            WHERE o.outbox_id IN (SELECT CAST([value] AS INT) FROM OPENJSON(?))
+            ORDER BY o.outbox_id
+            """;
+
+        String deleteSql = """
+            DELETE FROM NotificationOutbox
+            WHERE outbox_id IN (SELECT CAST([value] AS INT) FROM OPENJSON(?))
+            """;
+
+        try (UnitOfWork uow = UnitOfWork.begin();
+             Connection conn = DatabaseConfig.getConnection()) {
+
+            List<Integer> claimed = new ArrayList<>();
+            try (PreparedStatement stmt = conn.prepareStatement(claimSql)) {
+                stmt.setInt(1, batchSize);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        claimed.add(rs.getInt("outbox_id"));
+                    }
+                }
+            }
+
+            if (claimed.isEmpty()) {
+                uow.commit();
+                return 0;
+            }
+
+            String ids = claimed.toString();
+            try (PreparedStatement copy = conn.prepareStatement(copySql);
+                 PreparedStatement delete = conn.prepareStatement(deleteSql)) {
+                copy.setString(1, ids);
+                int copied = copy.executeUpdate();
+                if (copied < claimed.size()) {
+                    System.err.println("⚠ Dropped " + (claimed.size() - copied)
+                            + " outbox notification(s) for users that no longer exist");
+                }
+
+                delete.setString(1, ids);
+                delete.executeUpdate();
+            }
+
+            uow.commit();
+            return claimed.size();
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.ahmet.tpm.dao;
+
+import com.ahmet.tpm.config.DatabaseConfig;
+
+import java.sql.SQLException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Background relay that drains NotificationOutbox into Notifications.
+ *
+ * Runs on one daemon thread every {@link #POLL_INTERVAL_MS} ms. A DAO that has just
+ * committed outbox rows calls wakeUp() so they are delivered right away instead of
+ * on the next tick. Any rows left when the pool closes are drained one last time.
+ */
+public final class NotificationOutboxRelay {
+
+    private static final int BATCH_SIZE = 500;
+    private static final long POLL_INTERVAL_MS = 2000;
+
+    private static final NotificationOutboxDao outboxDao = new NotificationOutboxDao();
+
+    private static ScheduledExecutorService executor;
+
+    private NotificationOutboxRelay() {}
+
+    /**
+     * Start the relay if it is not running yet (safe to call more than once)
+     */
+    public static synchronized void start() {
+        if (executor != null) {
+            return;
+        }
+
+        executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "notification-outbox-relay");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleWithFixedDelay(NotificationOutboxRelay::drain,
+                0, POLL_INTERVAL_MS, TimeUnit.MILLISECONDS);
+
+        DatabaseConfig.addCloseListener(NotificationOutboxRelay::stop);
+    }
+
+    /**
+     * Ask the relay to drain now (e.g. right after an outbox row was committed)
+     */
+    public static synchronized void wakeUp() {
+        start();
+        executor.execute(NotificationOutboxRelay::drain);
+    }
+
+    private static synchronized void stop() {
+        if (executor == null) {
+            return;
+        }
+
+        executor.shutdown();
+        try {
+            executor.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        executor = null;
+
+        drain();
+    }
+
+    private static void drain() {
+        try {
+            // Keep moving full batches until the outbox is empty
+            while (outboxDao.relayBatch(BATCH_SIZE) == BATCH_SIZE) {
+                // next batch
+            }
+        } catch (SQLException e) {
+            System.err.println("✗ Error relaying notification outbox: " + e.getMessage());
+        }
+    }
+}
@@ -397,7 +397,7 @@ public class ProjectDao {
     /**
      * Extract ProjectWithDetails from ResultSet (with JOIN data)
      */
-    private ProjectWithDetails extractProjectWithDetailsFromResultSet(ResultSet rs) throws SQLException {
+    static ProjectWithDetails extractProjectWithDetailsFromResultSet(ResultSet rs) throws SQLException {
         return new ProjectWithDetails(
                 rs.getInt("project_id"),
                 rs.getString("project_name"),
@@ -592,15 +592,138 @@ public class ProjectDao {
         return projects;
     }
 
+    // ==================== PAGED WITH DETAILS (KEYSET) ====================
 
+    // Package-private so DashboardDao can reuse the same JOIN
+    static final String PROJECT_DETAILS_SELECT = """
+            SELECT
+                p.project_id,
+                p.project_name,
+                p.description,
+                p.start_date,
+                p.deadline,
+                p.status_id,
+                ps.status_name,
+                p.department_id,
+                d.department_name,
+                p.created_by,
+                u.username as created_by_username,
+                p.created_at
+            FROM Projects p
+            LEFT JOIN Departments d ON p.department_id = d.department_id
+            LEFT JOIN ProjectStatus ps ON p.status_id = ps.status_id
+            LEFT JOIN Users u ON p.created_by = u.user_id
+            """;
+
+    /**
+     * Count projects matching the list filters
+     *
+     * @param nameContains Part of the project name, or null for any
+     * @param statusName   Exact status name, or null for any
+     */
+    public int countWithDetails(String nameContains, String statusName) {
+        List<Object> params = new ArrayList<>();
+        String sql = """
+            SELECT COUNT(*)
+            FROM Projects p
+            LEFT JOIN ProjectStatus ps ON p.status_id = ps.status_id
+            """ + buildListFilter(nameContains, statusName, params);
+
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            SqlParams.bind(stmt, params);
+            ResultSet rs = stmt.executeQuery();
+
+            if (rs.next()) {
+                return rs.getInt(1);
+            }
+
+        } catch (SQLException e) {
+            System.err.println("Error counting projects with details: " + e.getMessage());
+        }
+        return 0;
+    }
 
+    /**
+     * Find the page of projects that directly follows {@code lastRow} (keyset paging).
+     * Projects are ordered by created_at DESC, project_id DESC.
+     *
+     * @param lastRow Last row of the previous page, or null for the first page
+     */
+    public List<ProjectWithDetails> findWithDetailsAfter(String nameContains, String statusName,
+                                                         ProjectWithDetails lastRow, int limit) {
+        List<Object> params = new ArrayList<>();
+        StringBuilder sql = new StringBuilder(PROJECT_DETAILS_SELECT)
+                .append(buildListFilter(nameContains, statusName, params));
+
+        if (lastRow != null) {
+            sql.append("  AND (p.created_at < ? OR (p.created_at = ? AND p.project_id < ?))\n");
+            params.add(Timestamp.valueOf(lastRow.getCreatedAt()));
+            params.add(Timestamp.valueOf(lastRow.getCreatedAt()));
+            params.add(lastRow.getProjectId());
+        }
 
+        sql.append("ORDER BY p.created_at DESC, p.project_id DESC\n")
+                .append("OFFSET 0 ROWS FETCH NEXT ? ROWS ONLY");
+        params.add(limit);
 
+        return findPageWithDetails(sql.toString(), params);
+    }
 
+    /**
+     * Find one page of projects by offset (used when jumping to a page whose
+     * predecessor has not been loaded)
+     */
+    public List<ProjectWithDetails> findWithDetailsPage(String nameContains, String statusName,
+                                                        int pageIndex, int pageSize) {
+        List<Object> params = new ArrayList<>();
+        String sql = PROJECT_DETAILS_SELECT
+                + buildListFilter(nameContains, statusName, params)
+                + "ORDER BY p.created_at DESC, p.project_id DESC\n"
+                + "OFFSET ? ROWS FETCH NEXT ? ROWS ONLY";
+        params.add(pageIndex * pageSize);
+        params.add(pageSize);
+
+        return findPageWithDetails(sql, params);
+    }
 
+    private List<ProjectWithDetails> findPageWithDetails(String sql, List<Object> params) {
+        List<ProjectWithDetails> projects = new ArrayList<>();
 
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
 
+            SqlParams.bind(stmt, params);
+            ResultSet rs = stmt.executeQuery();
 
-}
+            while (rs.next()) {
+                projects.add(extractProjectWithDetailsFromResultSet(rs));
+            }
+
+        } catch (SQLException e) {
+            System.err.println("Error loading project page: " + e.getMessage());
+        }
+
+        return projects;
+    }
 
+    /**
+     * WHERE clause for the project list filters (Projects aliased p, ProjectStatus ps)
+     */
+    private String buildListFilter(String nameContains, String statusName, List<Object> params) {
+        StringBuilder where = new StringBuilder("WHERE 1 = 1\n");
+
+        if (nameContains != null && !nameContains.isBlank()) {
+            where.append("  AND p.project_name LIKE ? ESCAPE '\\'\n");
+            params.add(SqlParams.containsPattern(nameContains.trim()));
+        }
+        if (statusName != null) {
+            where.append("  AND ps.status_name = ?\n");
+            params.add(statusName);
+        }
+
+        return where.toString();
+    }
 
+}
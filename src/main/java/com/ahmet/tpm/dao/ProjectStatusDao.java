@@ -1,6 +1,7 @@
 package com.ahmet.tpm.dao;
 
 import com.ahmet.tpm.config.DatabaseConfig;
+import com.ahmet.tpm.config.UnitOfWork;
 import com.ahmet.tpm.models.ProjectStatus;
 
 import java.sql.*;
@@ -9,8 +10,34 @@ import java.util.List;
 
 public class ProjectStatusDao {
 
+    // ==================== CACHE ====================
+    private static final LookupCache<ProjectStatus> CACHE =
+            new LookupCache<>("ProjectStatus", ProjectStatusDao::loadAll,
+                    ProjectStatus::getStatusId, ProjectStatus::getStatusName);
+
+    private static List<ProjectStatus> loadAll() throws SQLException {
+        String sql = """
+            SELECT status_id, status_name
+            FROM ProjectStatus
+            ORDER BY status_id ASC
+            """;
+
+        List<ProjectStatus> statuses = new ArrayList<>();
+
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql);
+             ResultSet rs = stmt.executeQuery()) {
+
+            while (rs.next()) {
+                statuses.add(extractProjectStatusFromResultSet(rs));
+            }
+        }
+
+        return statuses;
+    }
+
     // ==================== HELPER METHOD ====================
-    private ProjectStatus extractProjectStatusFromResultSet(ResultSet rs) throws SQLException {
+    private static ProjectStatus extractProjectStatusFromResultSet(ResultSet rs) throws SQLException {
         return new ProjectStatus(
                 rs.getInt("status_id"),
                 rs.getString("status_name")
@@ -29,6 +56,7 @@ public class ProjectStatusDao {
 
             stmt.setString(1, status.getStatusName());
             stmt.executeUpdate();
+            UnitOfWork.runAfterCommit(CACHE::invalidate);
             System.out.println("✓ Project status inserted successfully!");
 
         } catch (SQLException e) {
@@ -38,73 +66,15 @@ public class ProjectStatusDao {
 
     // ==================== READ ====================
     public ProjectStatus findById(int id) {
-        String sql = """
-            SELECT status_id, status_name
-            FROM ProjectStatus
-            WHERE status_id = ?
-            """;
-
-        try (Connection conn = DatabaseConfig.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-
-            stmt.setInt(1, id);
-            ResultSet rs = stmt.executeQuery();
-
-            if (rs.next()) {
-                return extractProjectStatusFromResultSet(rs);
-            }
-
-        } catch (SQLException e) {
-            System.err.println("✗ Error finding project status: " + e.getMessage());
-        }
-        return null;
+        return CACHE.getById(id);
     }
 
     public List<ProjectStatus> findAll() {
-        String sql = """
-            SELECT status_id, status_name
-            FROM ProjectStatus
-            ORDER BY status_id ASC
-            """;
-
-        List<ProjectStatus> statuses = new ArrayList<>();
-
-        try (Connection conn = DatabaseConfig.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql);
-             ResultSet rs = stmt.executeQuery()) {
-
-            while (rs.next()) {
-                statuses.add(extractProjectStatusFromResultSet(rs));
-            }
-
-        } catch (SQLException e) {
-            System.err.println("✗ Error finding all project statuses: " + e.getMessage());
-        }
-
-        return statuses;
+        return CACHE.getAll();
     }
 
     public ProjectStatus findByName(String name) {
-        String sql = """
-            SELECT status_id, status_name
-            FROM ProjectStatus
-            WHERE status_name = ?
-            """;
-
-        try (Connection conn = DatabaseConfig.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-
-            stmt.setString(1, name);
-            ResultSet rs = stmt.executeQuery();
-
-            if (rs.next()) {
-                return extractProjectStatusFromResultSet(rs);
-            }
-
-        } catch (SQLException e) {
-            System.err.println("✗ Error finding project status by name: " + e.getMessage());
-        }
-        return null;
+        return CACHE.getByName(name);
     }
 
     // ==================== UPDATE (Admin Only) ====================
@@ -122,6 +92,7 @@ public class ProjectStatusDao {
             stmt.setInt(2, status.getStatusId());
 
             int rowsUpdated = stmt.executeUpdate();
+            UnitOfWork.runAfterCommit(CACHE::invalidate);
 
             if (rowsUpdated > 0) {
                 System.out.println("✓ Project status updated successfully!");
@@ -146,6 +117,7 @@ public class ProjectStatusDao {
 
             stmt.setInt(1, id);
             int rowsDeleted = stmt.executeUpdate();
+            UnitOfWork.runAfterCommit(CACHE::invalidate);
 
             if (rowsDeleted > 0) {
                 System.out.println("✓ Project status deleted successfully!");
@@ -1,5 +1,6 @@
 package com.ahmet.tpm.dao;
 import com.ahmet.tpm.config.DatabaseConfig;
+import com.ahmet.tpm.config.UnitOfWork;
 import com.ahmet.tpm.models.Role;
 
 import java.sql.*;
@@ -9,8 +10,34 @@ import java.util.List;
 
 public class RoleDao {
 
+    // ==================== CACHE ====================
+    private static final LookupCache<Role> CACHE =
+            new LookupCache<>("Roles", RoleDao::loadAll,
+                    Role::getRoleId, Role::getRoleName);
+
+    private static List<Role> loadAll() throws SQLException {
+        String sql = """
+            SELECT role_id, role_name
+            FROM Roles
+            ORDER BY role_name ASC
+            """;
+
+        List<Role> roles = new ArrayList<>();
+
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql);
+             ResultSet rs = stmt.executeQuery()) {
+
+            while (rs.next()) {
+                roles.add(extractRoleFromResultSet(rs));
+            }
+        }
+
+        return roles;
+    }
+
     // ==================== HELPER METHOD ====================
-    private Role extractRoleFromResultSet(ResultSet rs) throws SQLException {
+    private static Role extractRoleFromResultSet(ResultSet rs) throws SQLException {
         return new Role(
                 rs.getInt("role_id"),
                 rs.getString("role_name")
@@ -29,6 +56,7 @@ public class RoleDao {
 
             stmt.setString(1, role.getRoleName());
             stmt.executeUpdate();
+            UnitOfWork.runAfterCommit(CACHE::invalidate);
             System.out.println("✓ Role inserted successfully!");
 
         } catch (SQLException e) {
@@ -38,73 +66,15 @@ public class RoleDao {
 
     // ==================== READ ====================
     public Role findById(int id) {
-        String sql = """
-            SELECT role_id, role_name
-            FROM Roles
-            WHERE role_id = ?
-            """;
-
-        try (Connection conn = DatabaseConfig.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-
-            stmt.setInt(1, id);
-            ResultSet rs = stmt.executeQuery();
-
-            if (rs.next()) {
-                return extractRoleFromResultSet(rs);
-            }
-
-        } catch (SQLException e) {
-            System.err.println("✗ Error finding role: " + e.getMessage());
-        }
-        return null;
+        return CACHE.getById(id);
     }
 
     public List<Role> findAll() {
-        String sql = """
-            SELECT role_id, role_name
-            FROM Roles
-            ORDER BY role_name ASC
-            """;
-
-        List<Role> roles = new ArrayList<>();
-
-        try (Connection conn = DatabaseConfig.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql);
-             ResultSet rs = stmt.executeQuery()) {
-
-            while (rs.next()) {
-                roles.add(extractRoleFromResultSet(rs));
-            }
-
-        } catch (SQLException e) {
-            System.err.println("✗ Error finding all roles: " + e.getMessage());
-        }
-
-        return roles;
+        return CACHE.getAll();
     }
 
     public Role findByName(String name) {
-        String sql = """
-            SELECT role_id, role_name
-            FROM Roles
-            WHERE role_name = ?
-            """;
-
-        try (Connection conn = DatabaseConfig.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-
-            stmt.setString(1, name);
-            ResultSet rs = stmt.executeQuery();
-
-            if (rs.next()) {
-                return extractRoleFromResultSet(rs);
-            }
-
-        } catch (SQLException e) {
-            System.err.println("✗ Error finding role by name: " + e.getMessage());
-        }
-        return null;
+        return CACHE.getByName(name);
     }
 
     // ==================== UPDATE (Admin Only) ====================
@@ -122,6 +92,7 @@ public class RoleDao {
             stmt.setInt(2, role.getRoleId());
 
             int rowsUpdated = stmt.executeUpdate();
+            UnitOfWork.runAfterCommit(CACHE::invalidate);
 
             if (rowsUpdated > 0) {
                 System.out.println("✓ Role updated successfully!");
@@ -146,6 +117,7 @@ public class RoleDao {
 
             stmt.setInt(1, id);
             int rowsDeleted = stmt.executeUpdate();
+            UnitOfWork.runAfterCommit(CACHE::invalidate);
 
             if (rowsDeleted > 0) {
                 System.out.println("✓ Role deleted successfully!");
@@ -0,0 +1,60 @@
+package com.ahmet.tpm.dao;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Splits text into search terms for the in-memory and database search indexes.
+ *
+ * A term is a run of letters and digits, lower-cased with accents removed, so that
+ * "Görev", "gorev" and "GÖREV" all give "gorev" (dotless ı is folded to i as well).
+ * Terms are cut at {@link #MAX_TERM_LENGTH} characters.
+ */
+final class SearchTokenizer {
+
+    static final int MAX_TERM_LENGTH = 40;
+
+    private SearchTokenizer() {}
+
+    /**
+     * All terms of the text in order, repeats included (empty for null or blank text)
+     */
+    static List<String> tokenize(String text) {
+        List<String> terms = new ArrayList<>();
+        if (text == null || text.isBlank()) {
+            return terms;
+        }
+
+        String folded = fold(text);
+        int start = -1;
+        for (int i = 0; i <= folded.length(); i++) {
+            boolean wordChar = i < folded.length() && Character.isLetterOrDigit(folded.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                terms.add(folded.substring(start, Math.min(i, start + MAX_TERM_LENGTH)));
+                start = -1;
+            }
+        }
+        return terms;
+    }
+
+    /**
+     * Lower case without accents (combining marks are dropped after decomposition)
+     */
+    private static String fold(String text) {
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        StringBuilder folded = new StringBuilder(decomposed.length());
+
+        for (int i = 0; i < decomposed.length(); i++) {
+            char c = decomposed.charAt(i);
+            if (Character.getType(c) == Character.NON_SPACING_MARK) {
+                continue;
+            }
+            c = Character.toLowerCase(c);
+            folded.append(c == 'ı' ? 'i' : c);
+        }
+        return folded.toString();
+    }
+}
@@ -0,0 +1,42 @@
+package com.ahmet.tpm.dao;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Helpers for the parameters of the dynamic queries built in this package
+ */
+final class SqlParams {
+
+    /** Escape character used by {@link #containsPattern}; the SQL needs ESCAPE '\' */
+    static final char LIKE_ESCAPE = '\\';
+
+    private SqlParams() {}
+
+    /**
+     * LIKE pattern matching values that contain the text literally. The LIKE
+     * wildcards %, _ and [ (and the escape character itself) are escaped, so the
+     * query must use {@code LIKE ? ESCAPE '\'}.
+     */
+    static String containsPattern(String text) {
+        StringBuilder pattern = new StringBuilder(text.length() + 2).append('%');
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '%' || c == '_' || c == '[' || c == LIKE_ESCAPE) {
+                pattern.append(LIKE_ESCAPE);
+            }
+            pattern.append(c);
+        }
+        return pattern.append('%').toString();
+    }
+
+    /**
+     * Bind positional parameters collected while building the SQL, in order
+     */
+    static void bind(PreparedStatement stmt, List<Object> params) throws SQLException {
+        for (int i = 0; i < params.size(); i++) {
+            stmt.setObject(i + 1, params.get(i));
+        }
+    }
+}
@@ -6,10 +6,27 @@ import com.ahmet.tpm.models.TaskComment;
 import java.sql.*;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
 
 public class TaskCommentDao {
 
+    /** Comments returned by searchByText() (the first page of search()) */
+    public static final int DEFAULT_SEARCH_PAGE_SIZE = 100;
+
+    /** Words of a search query beyond this many are ignored */
+    static final int MAX_SEARCH_WORDS = 8;
+
+    /** Age at which a comment's recency boost has halved */
+    static final double RECENCY_HALF_LIFE_DAYS = 30.0;
+
+    /** Comments indexed per transaction when the search index is first built */
+    static final int BACKFILL_BATCH_SIZE = 2000;
+
     // ==================== HELPER METHOD ====================
     private TaskComment extractTaskCommentFromResultSet(ResultSet rs) throws SQLException {
         return new TaskComment(
@@ -26,53 +43,42 @@ public class TaskCommentDao {
      * Add a comment to a task
      */
     public void insert(TaskComment comment) {
-        String sql = """
-            INSERT INTO TaskComments (task_id, user_id, comment_text)
-            VALUES (?, ?, ?)
-            """;
-
-        try (Connection conn = DatabaseConfig.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-
-            stmt.setInt(1, comment.getTaskId());
-            stmt.setInt(2, comment.getUserId());
-            stmt.setString(3, comment.getCommentText());
-            stmt.executeUpdate();
-            System.out.println("✓ Comment added successfully!");
-
-        } catch (SQLException e) {
-            System.err.println("✗ Error adding comment: " + e.getMessage());
-        }
+        insertAndGetId(comment);
     }
 
+    /**
+     * Add a comment and index its words for search in the same transaction
+     *
+     * @return The new comment ID, or null if the insert failed
+     */
     public Integer insertAndGetId(TaskComment comment) {
         String sql = """
             INSERT INTO TaskComments (task_id, user_id, comment_text)
             VALUES (?, ?, ?)
             """;
 
-        try (Connection conn = DatabaseConfig.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
-
-            stmt.setInt(1, comment.getTaskId());
-            stmt.setInt(2, comment.getUserId());
-            stmt.setString(3, comment.getCommentText());
-            int rowsAffected = stmt.executeUpdate();
+        return Transactions.run("Error adding comment", null, conn -> {
+            try (PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+                stmt.setInt(1, comment.getTaskId());
+                stmt.setInt(2, comment.getUserId());
+                stmt.setString(3, comment.getCommentText());
+                stmt.executeUpdate();
 
-            if (rowsAffected > 0) {
                 ResultSet generatedKeys = stmt.getGeneratedKeys();
-                if (generatedKeys.next()) {
-                    Integer generatedId = generatedKeys.getInt(1);
-                    comment.setCommentId(generatedId);
-                    System.out.println("✓ Comment added with ID: " + generatedId);
-                    return generatedId;
+                if (!generatedKeys.next()) {
+                    return null;
                 }
-            }
 
-        } catch (SQLException e) {
-            System.err.println("✗ Error adding comment: " + e.getMessage());
-        }
-        return null;
+                int generatedId = generatedKeys.getInt(1);
+                TermDeltas terms = new TermDeltas();
+                terms.add(generatedId, comment.getCommentText());
+                terms.apply(conn);
+
+                comment.setCommentId(generatedId);
+                System.out.println("✓ Comment added with ID: " + generatedId);
+                return generatedId;
+            }
+        });
     }
 
     /**
@@ -201,13 +207,13 @@ public class TaskCommentDao {
     }
 
     /**
-     * Search comments by text
+     * Get comments within a date range
      */
-    public List<TaskComment> searchByText(String keyword) {
+    public List<TaskComment> findByDateRange(LocalDateTime startDate, LocalDateTime endDate) {
         String sql = """
             SELECT comment_id, task_id, user_id, comment_text, created_at
             FROM TaskComments
-            WHERE comment_text LIKE ?
+            WHERE created_at BETWEEN ? AND ?
             ORDER BY created_at DESC
             """;
 
@@ -216,7 +222,8 @@ public class TaskCommentDao {
         try (Connection conn = DatabaseConfig.getConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
 
-            stmt.setString(1, "%" + keyword + "%");
+            stmt.setTimestamp(1, Timestamp.valueOf(startDate));
+            stmt.setTimestamp(2, Timestamp.valueOf(endDate));
             ResultSet rs = stmt.executeQuery();
 
             while (rs.next()) {
@@ -224,30 +231,62 @@ public class TaskCommentDao {
             }
 
         } catch (SQLException e) {
-            System.err.println("✗ Error searching comments: " + e.getMessage());
+            System.err.println("✗ Error finding comments by date range: " + e.getMessage());
         }
 
         return comments;
     }
 
+    // ==================== SEARCH ====================
+    // Comment words are kept in TaskCommentTerms (term, comment_id, term_count) with the
+    // number of comments per term in TaskCommentTermStats. Every write above changes them
+    // in the same transaction as the comment, so a search seeks on the words it names
+    // instead of scanning comment_text. The tables come from database/025_comment_search.sql;
+    // comments written before they existed are indexed by CommentSearchBackfill at startup
+    // and are missing from results until it has finished.
+
     /**
-     * Get comments within a date range
+     * Best matches for the keyword (the first page of search())
      */
-    public List<TaskComment> findByDateRange(LocalDateTime startDate, LocalDateTime endDate) {
-        String sql = """
-            SELECT comment_id, task_id, user_id, comment_text, created_at
-            FROM TaskComments
-            WHERE created_at BETWEEN ? AND ?
-            ORDER BY created_at DESC
-            """;
+    public List<TaskComment> searchByText(String keyword) {
+        return search(keyword, 0, DEFAULT_SEARCH_PAGE_SIZE);
+    }
+
+    /**
+     * One page of the comments containing every word of the query as a word prefix,
+     * best first. Relevance weighs how often each word occurs against how rare it is
+     * (tf-idf); recent comments are boosted up to twice, the boost halving every
+     * {@link #RECENCY_HALF_LIFE_DAYS} days.
+     *
+     * @param page Zero-based page index
+     */
+    public List<TaskComment> search(String query, int page, int pageSize) {
+        if (page < 0 || pageSize <= 0) {
+            throw new IllegalArgumentException("Invalid page " + page + " of size " + pageSize);
+        }
 
         List<TaskComment> comments = new ArrayList<>();
+        List<String> words = searchWords(query);
+        if (words.isEmpty()) {
+            return comments;
+        }
+
+        String sql = rankedMatchesSql(words.size()) + """
+            SELECT c.comment_id, c.task_id, c.user_id, c.comment_text, c.created_at
+            FROM ranked r
+            JOIN TaskComments c ON c.comment_id = r.comment_id
+            ORDER BY r.relevance * (1 + POWER(0.5, DATEDIFF(DAY, c.created_at, GETDATE()) / ?)) DESC,
+                     c.created_at DESC, c.comment_id DESC
+            OFFSET ? ROWS FETCH NEXT ? ROWS ONLY
+            """;
 
         try (Connection conn = DatabaseConfig.getConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
 
-            stmt.setTimestamp(1, Timestamp.valueOf(startDate));
-            stmt.setTimestamp(2, Timestamp.valueOf(endDate));
+            int index = bindSearchWords(stmt, words);
+            stmt.setDouble(index++, RECENCY_HALF_LIFE_DAYS);
+            stmt.setInt(index++, page * pageSize);
+            stmt.setInt(index, pageSize);
             ResultSet rs = stmt.executeQuery();
 
             while (rs.next()) {
@@ -255,66 +294,138 @@ public class TaskCommentDao {
             }
 
         } catch (SQLException e) {
-            System.err.println("✗ Error finding comments by date range: " + e.getMessage());
+            System.err.println("✗ Error searching comments: " + e.getMessage());
         }
 
         return comments;
     }
 
-    // ==================== UPDATE ====================
     /**
-     * Update comment text (edit comment)
+     * Number of comments matching the query (for paging)
      */
-    public void update(TaskComment comment) {
-        String sql = """
-            UPDATE TaskComments
-            SET comment_text = ?
-            WHERE comment_id = ?
+    public int countSearchMatches(String query) {
+        List<String> words = searchWords(query);
+        if (words.isEmpty()) {
+            return 0;
+        }
+
+        String sql = rankedMatchesSql(words.size()) + """
+            SELECT COUNT(*)
+            FROM ranked r
+            JOIN TaskComments c ON c.comment_id = r.comment_id
             """;
 
         try (Connection conn = DatabaseConfig.getConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
 
-            stmt.setString(1, comment.getCommentText());
-            stmt.setInt(2, comment.getCommentId());
-
-            int rowsUpdated = stmt.executeUpdate();
+            bindSearchWords(stmt, words);
+            ResultSet rs = stmt.executeQuery();
 
-            if (rowsUpdated > 0) {
-                System.out.println("✓ Comment updated successfully!");
-            } else {
-                System.out.println("⚠ No comment found with ID: " + comment.getCommentId());
+            if (rs.next()) {
+                return rs.getInt(1);
             }
 
         } catch (SQLException e) {
-            System.err.println("✗ Error updating comment: " + e.getMessage());
+            System.err.println("✗ Error counting comment matches: " + e.getMessage());
         }
+        return 0;
+    }
+
+    private static List<String> searchWords(String query) {
+        Set<String> words = new LinkedHashSet<>(SearchTokenizer.tokenize(query));
+        return new ArrayList<>(words).subList(0, Math.min(words.size(), MAX_SEARCH_WORDS));
     }
 
-    // ==================== DELETE ====================
     /**
-     * Delete a specific comment
+     * CTEs ending in ranked(comment_id, relevance): comments matching all words.
+     * The comment total for the idf comes from the table's row count metadata, not a COUNT(*).
      */
-    public void delete(int id) {
+    private static String rankedMatchesSql(int wordCount) {
+        StringBuilder values = new StringBuilder();
+        for (int i = 0; i < wordCount; i++) {
+            values.append(i == 0 ? "" : ", ").append("(?, ?)");
+        }
+
+        return """
+            WITH total AS (
+                SELECT CAST(SUM(p.rows) AS FLOAT) AS comments
+                FROM sys.partitions p
+                WHERE p.object_id = OBJECT_ID('dbo.TaskComments') AND p.index_id IN (0, 1)
+            ), word_matches AS (
+                SELECT ct.comment_id, q.word_no,
+                       SUM((1 + LOG(ct.term_count)) * LOG(1 + total.comments / s.comment_count)) AS weight
+                FROM (VALUES %s) AS q (word_no, pattern)
+                JOIN TaskCommentTerms ct ON ct.term LIKE q.pattern
+                JOIN TaskCommentTermStats s ON s.term = ct.term
+                CROSS JOIN total
+                GROUP BY ct.comment_id, q.word_no
+            ), ranked AS (
+                SELECT comment_id, SUM(weight) AS relevance
+                FROM word_matches
+                GROUP BY comment_id
+                HAVING COUNT(*) = %d
+            )
+            """.formatted(values, wordCount);
+    }
+
+    /**
+     * Bind (word_no, prefix pattern) pairs; words are letters and digits only, so
+     * they need no LIKE escaping
+     *
+     * @return Index of the next parameter
+     */
+    private static int bindSearchWords(PreparedStatement stmt, List<String> words) throws SQLException {
+        int index = 1;
+        for (int i = 0; i < words.size(); i++) {
+            stmt.setInt(index++, i);
+            stmt.setString(index++, words.get(i) + "%");
+        }
+        return index;
+    }
+
+    // ==================== UPDATE ====================
+    /**
+     * Update comment text (edit comment)
+     */
+    public void update(TaskComment comment) {
         String sql = """
-            DELETE FROM TaskComments
+            UPDATE TaskComments
+            SET comment_text = ?
             WHERE comment_id = ?
             """;
 
-        try (Connection conn = DatabaseConfig.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+        Transactions.run("Error updating comment", null, conn -> {
+            TermDeltas terms = new TermDeltas();
+            terms.removeWhere(conn, "WHERE c.comment_id = ?", comment.getCommentId());
 
-            stmt.setInt(1, id);
-            int rowsDeleted = stmt.executeUpdate();
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                stmt.setString(1, comment.getCommentText());
+                stmt.setInt(2, comment.getCommentId());
 
-            if (rowsDeleted > 0) {
-                System.out.println("✓ Comment deleted successfully!");
-            } else {
-                System.out.println("⚠ No comment found with ID: " + id);
+                if (stmt.executeUpdate() > 0) {
+                    terms.add(comment.getCommentId(), comment.getCommentText());
+                    System.out.println("✓ Comment updated successfully!");
+                } else {
+                    System.out.println("⚠ No comment found with ID: " + comment.getCommentId());
+                }
             }
 
-        } catch (SQLException e) {
-            System.err.println("✗ Error deleting comment: " + e.getMessage());
+            terms.apply(conn);
+            return null;
+        });
+    }
+
+    // ==================== DELETE ====================
+    /**
+     * Delete a specific comment
+     */
+    public void delete(int id) {
+        int rowsDeleted = deleteWhere("WHERE c.comment_id = ?", id, "Error deleting comment");
+
+        if (rowsDeleted > 0) {
+            System.out.println("✓ Comment deleted successfully!");
+        } else if (rowsDeleted == 0) {
+            System.out.println("⚠ No comment found with ID: " + id);
         }
     }
 
@@ -322,20 +433,20 @@ public class TaskCommentDao {
      * Delete all comments for a task
      */
     public void deleteAllCommentsForTask(int taskId) {
-        String sql = """
-            DELETE FROM TaskComments
-            WHERE task_id = ?
-            """;
-
-        try (Connection conn = DatabaseConfig.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-
-            stmt.setInt(1, taskId);
-            int rowsDeleted = stmt.executeUpdate();
+        int rowsDeleted = deleteWhere("WHERE c.task_id = ?", taskId, "Error deleting comments for task");
+        if (rowsDeleted >= 0) {
             System.out.println("✓ Deleted " + rowsDeleted + " comments for task");
+        }
+    }
 
-        } catch (SQLException e) {
-            System.err.println("✗ Error deleting comments for task: " + e.getMessage());
+    /**
+     * Delete all comments on the tasks of a project (before the project itself goes)
+     */
+    public void deleteAllCommentsForProject(int projectId) {
+        int rowsDeleted = deleteWhere("WHERE c.task_id IN (SELECT task_id FROM Tasks WHERE project_id = ?)",
+                projectId, "Error deleting comments for project");
+        if (rowsDeleted >= 0) {
+            System.out.println("✓ Deleted " + rowsDeleted + " comments for project");
         }
     }
 
@@ -343,23 +454,34 @@ public class TaskCommentDao {
      * Delete all comments by a user
      */
     public void deleteAllCommentsByUser(int userId) {
-        String sql = """
-            DELETE FROM TaskComments
-            WHERE user_id = ?
-            """;
-
-        try (Connection conn = DatabaseConfig.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-
-            stmt.setInt(1, userId);
-            int rowsDeleted = stmt.executeUpdate();
+        int rowsDeleted = deleteWhere("WHERE c.user_id = ?", userId, "Error deleting comments by user");
+        if (rowsDeleted >= 0) {
             System.out.println("✓ Deleted " + rowsDeleted + " comments by user");
-
-        } catch (SQLException e) {
-            System.err.println("✗ Error deleting comments by user: " + e.getMessage());
         }
     }
 
+    /**
+     * Delete comments and their index entries in one transaction
+     *
+     * @param where WHERE clause on TaskComments (aliased c) with one parameter
+     * @return Comments deleted, or -1 if the delete failed
+     */
+    private int deleteWhere(String where, int param, String errorMessage) {
+        return Transactions.run(errorMessage, -1, conn -> {
+            TermDeltas terms = new TermDeltas();
+            terms.removeWhere(conn, where, param);
+
+            int rowsDeleted;
+            try (PreparedStatement stmt = conn.prepareStatement("DELETE c FROM TaskComments c " + where)) {
+                stmt.setInt(1, param);
+                rowsDeleted = stmt.executeUpdate();
+            }
+
+            terms.apply(conn);
+            return rowsDeleted;
+        });
+    }
+
     // ==================== UTILITY METHODS ====================
     /**
      * Count comments for a task
@@ -450,4 +572,164 @@ public class TaskCommentDao {
         }
         return false;
     }
+
+    // ==================== SEARCH INDEX ====================
+
+    /**
+     * Index the next batch of comments written before the search tables existed, in one
+     * transaction. Progress is recorded in TaskCommentSearchState, so an interrupted
+     * build resumes where it stopped.
+     *
+     * @return false once every comment is indexed
+     */
+    static boolean backfillSearchIndexBatch() throws SQLException {
+        return Transactions.runOrThrow(TaskCommentDao::backfillBatch);
+    }
+
+    private static boolean backfillBatch(Connection conn) throws SQLException {
+        int indexedThrough;
+        try (PreparedStatement stmt = conn.prepareStatement("""
+                SELECT indexed_through, completed
+                FROM TaskCommentSearchState WITH (UPDLOCK)
+                WHERE id = 1
+                """)) {
+            ResultSet rs = stmt.executeQuery();
+            if (!rs.next() || rs.getBoolean("completed")) {
+                return false;
+            }
+            indexedThrough = rs.getInt("indexed_through");
+        }
+
+        TermDeltas terms = new TermDeltas();
+        int lastId = indexedThrough;
+        int count = 0;
+
+        try (PreparedStatement stmt = conn.prepareStatement("""
+                SELECT TOP (?) comment_id, comment_text
+                FROM TaskComments
+                WHERE comment_id > ?
+                ORDER BY comment_id
+                """)) {
+            stmt.setInt(1, BACKFILL_BATCH_SIZE);
+            stmt.setInt(2, indexedThrough);
+            ResultSet rs = stmt.executeQuery();
+
+            while (rs.next()) {
+                lastId = rs.getInt("comment_id");
+                terms.add(lastId, rs.getString("comment_text"));
+                count++;
+            }
+        }
+
+        try (PreparedStatement stmt = conn.prepareStatement(count > 0
+                ? "UPDATE TaskCommentSearchState SET indexed_through = ? WHERE id = 1"
+                : "UPDATE TaskCommentSearchState SET completed = 1 WHERE id = 1")) {
+            if (count > 0) {
+                stmt.setInt(1, lastId);
+            }
+            stmt.executeUpdate();
+        }
+
+        if (count == 0) {
+            System.out.println("✓ Comment search index is complete");
+            return false;
+        }
+
+        // Comments of this range indexed by a write that raced with the build are redone
+        terms.removeWhere(conn, "WHERE c.comment_id > ? AND c.comment_id <= ?", indexedThrough, lastId);
+        terms.apply(conn);
+        System.out.println("✓ Comment search index built through comment " + lastId);
+        return true;
+    }
+
+    /**
+     * Term rows to add and per-term comment count changes caused by one write
+     */
+    private static final class TermDeltas {
+        private record TermRow(String term, int commentId, int termCount) {}
+
+        private final List<TermRow> added = new ArrayList<>();
+        // Sorted, so concurrent writers update the stats rows in the same order
+        private final Map<String, Integer> commentCountDeltas = new TreeMap<>();
+
+        /**
+         * Index the words of a comment
+         */
+        void add(int commentId, String text) {
+            Map<String, Integer> counts = new HashMap<>();
+            for (String term : SearchTokenizer.tokenize(text)) {
+                counts.merge(term, 1, Integer::sum);
+            }
+
+            for (Map.Entry<String, Integer> term : counts.entrySet()) {
+                added.add(new TermRow(term.getKey(), commentId, term.getValue()));
+                commentCountDeltas.merge(term.getKey(), 1, Integer::sum);
+            }
+        }
+
+        /**
+         * Delete the term rows of the comments matching a WHERE clause on TaskComments
+         * (aliased c) right away and remember which counts to lower
+         */
+        void removeWhere(Connection conn, String where, Object... params) throws SQLException {
+            String sql = """
+                DELETE ct
+                OUTPUT DELETED.term
+                FROM TaskCommentTerms ct
+                JOIN TaskComments c ON c.comment_id = ct.comment_id
+                """ + where;
+
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                for (int i = 0; i < params.length; i++) {
+                    stmt.setObject(i + 1, params[i]);
+                }
+                ResultSet rs = stmt.executeQuery();
+                while (rs.next()) {
+                    commentCountDeltas.merge(rs.getString("term"), -1, Integer::sum);
+                }
+            }
+        }
+
+        void apply(Connection conn) throws SQLException {
+            if (!added.isEmpty()) {
+                try (PreparedStatement stmt = conn.prepareStatement(
+                        "INSERT INTO TaskCommentTerms (term, comment_id, term_count) VALUES (?, ?, ?)")) {
+                    for (TermRow row : added) {
+                        stmt.setString(1, row.term());
+                        stmt.setInt(2, row.commentId());
+                        stmt.setInt(3, row.termCount());
+                        stmt.addBatch();
+                    }
+                    stmt.executeBatch();
+                }
+            }
+
+            String statsSql = """
+                MERGE TaskCommentTermStats WITH (HOLDLOCK) AS s
+                USING (SELECT ? AS term, ? AS delta) AS d
+                ON s.term = d.term
+                WHEN MATCHED AND s.comment_count + d.delta <= 0 THEN
+                    DELETE
+                WHEN MATCHED THEN
+                    UPDATE SET comment_count = s.comment_count + d.delta
+                WHEN NOT MATCHED AND d.delta > 0 THEN
+                    INSERT (term, comment_count) VALUES (d.term, d.delta);
+                """;
+
+            boolean pending = false;
+            try (PreparedStatement stmt = conn.prepareStatement(statsSql)) {
+                for (Map.Entry<String, Integer> delta : commentCountDeltas.entrySet()) {
+                    if (delta.getValue() != 0) {
+                        stmt.setString(1, delta.getKey());
+                        stmt.setInt(2, delta.getValue());
+                        stmt.addBatch();
+                        pending = true;
+                    }
+                }
+                if (pending) {
+                    stmt.executeBatch();
+                }
+            }
+        }
+    }
 }
@@ -4,13 +4,19 @@ package com.ahmet.tpm.dao;
 import com.ahmet.tpm.config.DatabaseConfig;
 import com.ahmet.tpm.models.Task;
 import com.ahmet.tpm.models.TaskStatus;
+import com.ahmet.tpm.models.TaskTreeNode;
+import com.ahmet.tpm.models.TaskWithDetails;
 
 import com.ahmet.tpm.dao.TaskStatusDao;
 
 import java.sql.*;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 public class TaskDao {
 
@@ -130,7 +136,7 @@ public class TaskDao {
             """;
 
         try (Connection conn = DatabaseConfig.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+             PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
 
             stmt.setInt(1, task.getProjectId());
             stmt.setString(2, task.getTaskName());
@@ -145,6 +151,13 @@ public class TaskDao {
             stmt.executeUpdate();
             System.out.println("✓ Task inserted successfully!");
 
+            // The search index needs the new ID
+            ResultSet generatedKeys = stmt.getGeneratedKeys();
+            if (generatedKeys.next()) {
+                task.setTaskId(generatedKeys.getInt(1));
+                TaskSearchIndex.putAfterCommit(task.getTaskId(), task.getTaskName(), task.getDescription());
+            }
+
         } catch (SQLException e) {
             System.err.println("✗ Error inserting task: " + e.getMessage());
             System.err.println("  SQL State: " + e.getSQLState());
@@ -180,6 +193,7 @@ public class TaskDao {
                 if (generatedKeys.next()) {
                     Integer generatedId = generatedKeys.getInt(1);
                     task.setTaskId(generatedId);
+                    TaskSearchIndex.putAfterCommit(generatedId, task.getTaskName(), task.getDescription());
                     System.out.println("✓ Task inserted with ID: " + generatedId);
                     return generatedId;
                 }
@@ -414,7 +428,16 @@ public class TaskDao {
         return tasks;
     }
 
+    /**
+     * Tasks whose name contains every word of the keyword as a word prefix.
+     * Answered from TaskSearchIndex when it is loaded, otherwise with LIKE '%keyword%'.
+     */
     public List<Task> searchByName(String keyword) {
+        int[] matchingIds = TaskSearchIndex.search(keyword, false);
+        if (matchingIds != null) {
+            return findByIdsOrderedByName(matchingIds);
+        }
+
         String sql = """
             SELECT task_id, project_id, task_name, description, status_id,
                    priority_id, estimated_hours, due_date, parent_task_id,
@@ -443,6 +466,29 @@ public class TaskDao {
         return tasks;
     }
 
+    private List<Task> findByIdsOrderedByName(int[] taskIds) {
+        List<Integer> ids = new ArrayList<>(taskIds.length);
+        for (int taskId : taskIds) {
+            ids.add(taskId);
+        }
+
+        List<Task> tasks = new ArrayList<>();
+        try {
+            BulkIdQuery.forEach("""
+                    SELECT task_id, project_id, task_name, description, status_id,
+                           priority_id, estimated_hours, due_date, parent_task_id,
+                           created_by, created_at
+                    FROM Tasks
+                    WHERE task_id IN ({ids})
+                    """, ids, rs -> tasks.add(extractTaskFromResultSet(rs)));
+        } catch (SQLException e) {
+            System.err.println("✗ Error searching tasks: " + e.getMessage());
+        }
+
+        tasks.sort(Comparator.comparing(Task::getTaskName, String.CASE_INSENSITIVE_ORDER));
+        return tasks;
+    }
+
     // ==================== UPDATE ====================
     /*public void update(Task task) throws SQLException {
 
@@ -536,6 +582,7 @@ public class TaskDao {
 
             if (rowsUpdated > 0) {
                 conn.commit();  // ⭐ COMMIT the transaction
+                TaskSearchIndex.putAfterCommit(task.getTaskId(), task.getTaskName(), task.getDescription());
                 System.out.println("✓ Task updated successfully!");
             } else {
                 conn.rollback();  // ⭐ ROLLBACK if nothing updated
@@ -603,6 +650,7 @@ public class TaskDao {
             int rowsDeleted = stmt.executeUpdate();
 
             if (rowsDeleted > 0) {
+                TaskSearchIndex.removeAfterCommit(id);
                 System.out.println("✓ Task deleted successfully!");
             } else {
                 System.out.println("⚠ No task found with ID: " + id);
@@ -613,6 +661,38 @@ public class TaskDao {
         }
     }
 
+    /**
+     * Delete every task of a project and drop them from the search index once the
+     * caller's unit commits (a cascade from the project delete would leave them there)
+     */
+    public void deleteAllForProject(int projectId) {
+        int rowsDeleted = Transactions.run("Error deleting tasks for project", -1, conn -> {
+            List<Integer> taskIds = new ArrayList<>();
+            try (PreparedStatement stmt = conn.prepareStatement(
+                    "SELECT task_id FROM Tasks WHERE project_id = ?")) {
+                stmt.setInt(1, projectId);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        taskIds.add(rs.getInt("task_id"));
+                    }
+                }
+            }
+
+            try (PreparedStatement stmt = conn.prepareStatement(
+                    "DELETE FROM Tasks WHERE project_id = ?")) {
+                stmt.setInt(1, projectId);
+                stmt.executeUpdate();
+            }
+
+            taskIds.forEach(TaskSearchIndex::removeAfterCommit);
+            return taskIds.size();
+        });
+
+        if (rowsDeleted >= 0) {
+            System.out.println("✓ Deleted " + rowsDeleted + " tasks for project");
+        }
+    }
+
     // ==================== UTILITY METHODS ====================
     public int count() {
         String sql = "SELECT COUNT(*) FROM Tasks";
@@ -706,6 +786,363 @@ public class TaskDao {
         return false;
     }
 
+    // ==================== WITH DETAILS (JOIN) ====================
+
+    // Package-private so other DAOs (e.g. DashboardDao) can reuse the same JOIN
+    static final String TASK_DETAILS_SELECT = """
+            SELECT
+                t.task_id,
+                t.project_id,
+                p.project_name,
+                t.task_name,
+                t.description,
+                t.status_id,
+                ts.status_name,
+                t.priority_id,
+                tp.priority_name,
+                t.estimated_hours,
+                t.due_date,
+                t.parent_task_id,
+                t.created_by,
+                u.username as created_by_username,
+                t.created_at
+            FROM Tasks t
+            LEFT JOIN Projects p ON t.project_id = p.project_id
+            LEFT JOIN TaskStatus ts ON t.status_id = ts.status_id
+            LEFT JOIN TaskPriority tp ON t.priority_id = tp.priority_id
+            LEFT JOIN Users u ON t.created_by = u.user_id
+            """;
+
+    /**
+     * Extract TaskWithDetails from ResultSet (with JOIN data)
+     */
+    static TaskWithDetails extractTaskWithDetailsFromResultSet(ResultSet rs) throws SQLException {
+        return new TaskWithDetails(
+                rs.getInt("task_id"),
+                rs.getInt("project_id"),
+                rs.getString("project_name"),
+                rs.getString("task_name"),
+                rs.getString("description"),
+                rs.getInt("status_id"),
+                rs.getString("status_name"),
+                rs.getInt("priority_id"),
+                rs.getString("priority_name"),
+                rs.getDouble("estimated_hours"),
+                rs.getDate("due_date") != null ? rs.getDate("due_date").toLocalDate() : null,
+                rs.getObject("parent_task_id", Integer.class),
+                rs.getInt("created_by"),
+                rs.getString("created_by_username"),
+                rs.getTimestamp("created_at").toLocalDateTime()
+        );
+    }
+
+    /**
+     * Find task by ID with project, status and priority names using JOIN
+     */
+    public TaskWithDetails findByIdWithDetails(int taskId) {
+        String sql = TASK_DETAILS_SELECT + "WHERE t.task_id = ?";
+
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setInt(1, taskId);
+            ResultSet rs = stmt.executeQuery();
+
+            if (rs.next()) {
+                return extractTaskWithDetailsFromResultSet(rs);
+            }
+
+        } catch (SQLException e) {
+            System.err.println("✗ Error finding task with details: " + e.getMessage());
+        }
+
+        return null;
+    }
+
+    // ==================== SUBTASK TREE (RECURSIVE CTE) ====================
+
+    /** Deepest subtask level loaded below the root (guards against bad parent data) */
+    public static final int MAX_SUBTASK_DEPTH = 100;
+
+    /**
+     * Load a task and all of its descendants in one recursive query, with
+     * logged hours per task (from TimeTrackingTaskTotals) and estimated/logged totals rolled up at every node.
+     * Children keep the order of findSubtasks (creation time).
+     *
+     * @return the root of the tree, or null if the task does not exist
+     */
+    public TaskTreeNode findSubtaskTree(int rootTaskId) {
+        String sql = """
+                WITH Tree (task_id, depth, path) AS (
+                    SELECT t.task_id, 0,
+                           CAST('/' + CAST(t.task_id AS VARCHAR(20)) + '/' AS VARCHAR(MAX))
+                    FROM Tasks t
+                    WHERE t.task_id = ?
+
+                    UNION ALL
+
+                    SELECT c.task_id, tr.depth + 1,
+                           CAST(tr.path + CAST(c.task_id AS VARCHAR(20)) + '/' AS VARCHAR(MAX))
+                    FROM Tree tr
+                    JOIN Tasks c ON c.parent_task_id = tr.task_id
+                    WHERE tr.depth < ?
+                      AND tr.path NOT LIKE '%/' + CAST(c.task_id AS VARCHAR(20)) + '/%'
+                )
+                SELECT tr.task_id, t.parent_task_id, tr.depth, t.task_name, ts.status_name,
+                       t.estimated_hours, COALESCE(tot.total_hours, 0) AS logged_hours
+                FROM Tree tr
+                JOIN Tasks t ON t.task_id = tr.task_id
+                LEFT JOIN TaskStatus ts ON t.status_id = ts.status_id
+                LEFT JOIN TimeTrackingTaskTotals tot ON tot.task_id = tr.task_id
+                ORDER BY tr.depth, t.created_at, tr.task_id
+                OPTION (MAXRECURSION 0)
+                """;
+
+        List<TaskTreeNode> nodes = new ArrayList<>();
+
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setInt(1, rootTaskId);
+            stmt.setInt(2, MAX_SUBTASK_DEPTH);
+            ResultSet rs = stmt.executeQuery();
+
+            while (rs.next()) {
+                nodes.add(new TaskTreeNode(
+                        rs.getInt("task_id"),
+                        rs.getObject("parent_task_id", Integer.class),
+                        rs.getString("task_name"),
+                        rs.getString("status_name"),
+                        rs.getInt("depth"),
+                        rs.getDouble("estimated_hours"),
+                        rs.getDouble("logged_hours")
+                ));
+            }
+
+        } catch (SQLException e) {
+            System.err.println("✗ Error loading subtask tree: " + e.getMessage());
+        }
+
+        if (nodes.isEmpty()) {
+            return null;
+        }
+
+        // Rows come parents first, so every parent is known before its children
+        Map<Integer, TaskTreeNode> byId = new HashMap<>();
+        for (TaskTreeNode node : nodes) {
+            byId.put(node.getTaskId(), node);
+            if (node.getDepth() > 0) {
+                byId.get(node.getParentTaskId()).addChild(node);
+            }
+        }
+
+        // Deepest rows first, so each subtree is complete before it is added to its parent
+        for (int i = nodes.size() - 1; i > 0; i--) {
+            TaskTreeNode node = nodes.get(i);
+            byId.get(node.getParentTaskId()).rollUp(node);
+        }
+
+        return nodes.get(0);
+    }
+
+    // ==================== SEARCH (FILTERED + PAGED) ====================
 
+    /**
+     * Find one page of tasks matching the query.
+     * Filtering, sorting and paging all happen in SQL Server, so only the
+     * requested page is transferred.
+     *
+     * @param query Search criteria (null fields are ignored)
+     * @param page  Zero-based page index
+     * @return Tasks on that page, with project, status and priority names
+     */
+    public List<TaskWithDetails> search(TaskQuery query, int page) {
+        return search(query, page, query.getPageSize());
+    }
+
+    /**
+     * Find one page of tasks matching the query, with an explicit page size
+     * (the query's own page size is ignored)
+     */
+    public List<TaskWithDetails> search(TaskQuery query, int page, int pageSize) {
+        if (page < 0) {
+            throw new IllegalArgumentException("Page index must not be negative: " + page);
+        }
+
+        List<Object> params = new ArrayList<>();
+        String direction = query.isAscending() ? "ASC" : "DESC";
+
+        String sql = TASK_DETAILS_SELECT
+                + buildWhereClause(query, params)
+                + "ORDER BY " + query.getSortField().getColumn() + " " + direction
+                + ", t.task_id " + direction + "\n"
+                + "OFFSET ? ROWS FETCH NEXT ? ROWS ONLY";
+
+        params.add(page * pageSize);
+        params.add(pageSize);
+
+        List<TaskWithDetails> tasks = new ArrayList<>();
+
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            SqlParams.bind(stmt, params);
+            ResultSet rs = stmt.executeQuery();
+
+            while (rs.next()) {
+                tasks.add(extractTaskWithDetailsFromResultSet(rs));
+            }
+
+        } catch (SQLException e) {
+            System.err.println("✗ Error searching tasks: " + e.getMessage());
+        }
+
+        return tasks;
+    }
+
+    /**
+     * Find the page of tasks that directly follows {@code lastRow} (keyset paging).
+     * Seeks on (sort column, task_id) instead of skipping rows with OFFSET, so
+     * deep pages cost the same as the first one.
+     * Only CREATED_AT and TASK_ID sorting are supported, since those columns are never null.
+     *
+     * @param query   Search criteria; its page size is the row limit
+     * @param lastRow Last row of the previous page, or null for the first page
+     */
+    public List<TaskWithDetails> searchAfter(TaskQuery query, TaskWithDetails lastRow) {
+        return searchAfter(query, lastRow, query.getPageSize());
+    }
+
+    /**
+     * Keyset page following {@code lastRow} with an explicit row limit
+     * (the query's own page size is ignored)
+     */
+    public List<TaskWithDetails> searchAfter(TaskQuery query, TaskWithDetails lastRow, int pageSize) {
+        TaskQuery.SortField sortField = query.getSortField();
+        if (sortField != TaskQuery.SortField.CREATED_AT && sortField != TaskQuery.SortField.TASK_ID) {
+            throw new IllegalArgumentException("Keyset paging is not supported for sort field " + sortField);
+        }
+
+        List<Object> params = new ArrayList<>();
+        String direction = query.isAscending() ? "ASC" : "DESC";
+        String comparator = query.isAscending() ? ">" : "<";
+
+        StringBuilder where = new StringBuilder(buildWhereClause(query, params));
+
+        if (lastRow != null) {
+            if (sortField == TaskQuery.SortField.CREATED_AT) {
+                where.append("  AND (t.created_at ").append(comparator).append(" ?")
+                        .append(" OR (t.created_at = ? AND t.task_id ").append(comparator).append(" ?))\n");
+                params.add(Timestamp.valueOf(lastRow.getCreatedAt()));
+                params.add(Timestamp.valueOf(lastRow.getCreatedAt()));
+                params.add(lastRow.getTaskId());
+            } else {
+                where.append("  AND t.task_id ").append(comparator).append(" ?\n");
+                params.add(lastRow.getTaskId());
+            }
+        }
+
+        String sql = TASK_DETAILS_SELECT
+                + where
+                + "ORDER BY " + sortField.getColumn() + " " + direction
+                + ", t.task_id " + direction + "\n"
+                + "OFFSET 0 ROWS FETCH NEXT ? ROWS ONLY";
+        params.add(pageSize);
+
+        List<TaskWithDetails> tasks = new ArrayList<>();
+
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            SqlParams.bind(stmt, params);
+            ResultSet rs = stmt.executeQuery();
+
+            while (rs.next()) {
+                tasks.add(extractTaskWithDetailsFromResultSet(rs));
+            }
+
+        } catch (SQLException e) {
+            System.err.println("✗ Error loading task page: " + e.getMessage());
+        }
+
+        return tasks;
+    }
+
+    /**
+     * Count all tasks matching the query (ignores sort and paging)
+     */
+    public int countMatching(TaskQuery query) {
+        List<Object> params = new ArrayList<>();
+
+        String sql = """
+            SELECT COUNT(*)
+            FROM Tasks t
+            LEFT JOIN TaskStatus ts ON t.status_id = ts.status_id
+            LEFT JOIN TaskPriority tp ON t.priority_id = tp.priority_id
+            """ + buildWhereClause(query, params);
+
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            SqlParams.bind(stmt, params);
+            ResultSet rs = stmt.executeQuery();
+
+            if (rs.next()) {
+                return rs.getInt(1);
+            }
+
+        } catch (SQLException e) {
+            System.err.println("✗ Error counting matching tasks: " + e.getMessage());
+        }
+        return 0;
+    }
+
+    /**
+     * Build the WHERE clause for a TaskQuery and collect its parameters in order.
+     * Expects the Tasks, TaskStatus and TaskPriority tables aliased as t, ts and tp.
+     */
+    private String buildWhereClause(TaskQuery query, List<Object> params) {
+        StringBuilder where = new StringBuilder("WHERE 1 = 1\n");
+
+        if (query.getNameContains() != null) {
+            where.append("  AND t.task_name LIKE ? ESCAPE '\\'\n");
+            params.add(SqlParams.containsPattern(query.getNameContains()));
+        }
+        if (query.getSearchText() != null) {
+            int[] matchingIds = TaskSearchIndex.search(query.getSearchText(), true);
+            if (matchingIds != null) {
+                // The index already knows the matches; they travel as one JSON array parameter
+                where.append("  AND t.task_id IN (SELECT CAST([value] AS INT) FROM OPENJSON(?))\n");
+                params.add(Arrays.toString(matchingIds));
+            } else {
+                // Index still loading
+                where.append("  AND (t.task_name LIKE ? ESCAPE '\\' OR t.description LIKE ? ESCAPE '\\')\n");
+                params.add(SqlParams.containsPattern(query.getSearchText()));
+                params.add(SqlParams.containsPattern(query.getSearchText()));
+            }
+        }
+        if (query.getProjectId() != null) {
+            where.append("  AND t.project_id = ?\n");
+            params.add(query.getProjectId());
+        }
+        if (query.getStatusId() != null) {
+            where.append("  AND t.status_id = ?\n");
+            params.add(query.getStatusId());
+        }
+        if (query.getStatusName() != null) {
+            where.append("  AND ts.status_name = ?\n");
+            params.add(query.getStatusName());
+        }
+        if (query.getPriorityId() != null) {
+            where.append("  AND t.priority_id = ?\n");
+            params.add(query.getPriorityId());
+        }
+        if (query.getPriorityName() != null) {
+            where.append("  AND tp.priority_name = ?\n");
+            params.add(query.getPriorityName());
+        }
+
+        return where.toString();
+    }
 
 }
@@ -1,16 +1,19 @@
 package com.ahmet.tpm.dao;
 
 import com.ahmet.tpm.config.DatabaseConfig;
+import com.ahmet.tpm.config.UnitOfWork;
 import com.ahmet.tpm.models.TaskDependency;
 
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 
 
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Set;
 import java.util.Map;
-import java.util.Collections;
 
 public class TaskDependencyDao {
 
@@ -27,36 +30,21 @@ public class TaskDependencyDao {
             return result;
         }
 
-        // Build SQL with IN clause
+        // IN clause is sent in chunks (SQL Server allows at most 2100 parameters)
         // Example: WHERE td.task_id IN (?, ?, ?)
-        String placeholders = String.join(",", Collections.nCopies(taskIds.size(), "?"));
-
         String sql = "SELECT td.task_id, t.task_name AS dependency_name " +
                 "FROM TaskDependencies td " +
                 "INNER JOIN Tasks t ON td.depends_on_task_id = t.task_id " +
-                "WHERE td.task_id IN (" + placeholders + ") " +
+                "WHERE td.task_id IN ({ids}) " +
                 "ORDER BY td.task_id, t.task_name";
 
-        try (Connection conn = DatabaseConfig.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-
-            // Set parameters for IN clause
-            for (int i = 0; i < taskIds.size(); i++) {
-                pstmt.setInt(i + 1, taskIds.get(i));
-            }
-
-            ResultSet rs = pstmt.executeQuery();
-
-            while (rs.next()) {
+        try {
+            BulkIdQuery.forEach(sql, taskIds, rs -> {
                 int taskId = rs.getInt("task_id");
                 String dependencyName = rs.getString("dependency_name");
 
                 result.get(taskId).add(dependencyName);
-            }
-
-            rs.close();
-
-            System.out.println("✓ Fetched dependencies for " + taskIds.size() + " tasks in 1 query");
+            });
 
         } catch (SQLException e) {
             System.err.println("Error fetching dependency names: " + e.getMessage());
@@ -68,6 +56,53 @@ public class TaskDependencyDao {
 
 
 
+    /**
+     * Dependency state of one task: how many tasks it depends on and how many of those are not DONE
+     */
+    public record Readiness(int dependencyCount, int incompleteCount) {
+        public static final Readiness NONE = new Readiness(0, 0);
+
+        public boolean isBlocked() {
+            return incompleteCount > 0;
+        }
+    }
+
+    /**
+     * Readiness of many tasks with one grouped query (chunked for large ID lists).
+     * Same rule as TaskDao.areAllDependenciesCompleted; tasks without dependencies map to Readiness.NONE.
+     */
+    public Map<Integer, Readiness> getReadinessForTasks(Collection<Integer> taskIds) {
+        Map<Integer, Readiness> result = new HashMap<>();
+        for (Integer taskId : taskIds) {
+            result.put(taskId, Readiness.NONE);
+        }
+
+        if (taskIds.isEmpty()) {
+            return result;
+        }
+
+        String sql = """
+                SELECT td.task_id,
+                       COUNT(*) AS dependency_count,
+                       SUM(CASE WHEN ts.status_name != 'DONE' THEN 1 ELSE 0 END) AS incomplete_count
+                FROM TaskDependencies td
+                JOIN Tasks t ON td.depends_on_task_id = t.task_id
+                JOIN TaskStatus ts ON t.status_id = ts.status_id
+                WHERE td.task_id IN ({ids})
+                GROUP BY td.task_id
+                """;
+
+        try {
+            BulkIdQuery.forEach(sql, taskIds, rs -> result.put(rs.getInt("task_id"),
+                    new Readiness(rs.getInt("dependency_count"), rs.getInt("incomplete_count"))));
+
+        } catch (SQLException e) {
+            System.err.println("✗ Error computing task readiness: " + e.getMessage());
+        }
+
+        return result;
+    }
+
     // ==================== HELPER METHOD ====================
     private TaskDependency extractTaskDependencyFromResultSet(ResultSet rs) throws SQLException {
         return new TaskDependency(
@@ -80,7 +115,10 @@ public class TaskDependencyDao {
     // ==================== CREATE ====================
 
     /**
-     * Add a dependency: taskId depends on dependsOnTaskId
+     * Add a dependency: taskId depends on dependsOnTaskId.
+     * The stored edges are checked first, in the same transaction as the insert.
+     *
+     * @throws IllegalArgumentException if dependsOnTaskId already (transitively) depends on taskId
      */
     public void insert(TaskDependency dependency) {
         String sql = """
@@ -88,12 +126,25 @@ public class TaskDependencyDao {
                 VALUES (?, ?)
                 """;
 
-        try (Connection conn = DatabaseConfig.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+        int taskId = dependency.getTaskId();
+        int dependsOnTaskId = dependency.getDependsOnTaskId();
 
-            stmt.setInt(1, dependency.getTaskId());
-            stmt.setInt(2, dependency.getDependsOnTaskId());
-            stmt.executeUpdate();
+        try (UnitOfWork uow = UnitOfWork.begin();
+             Connection conn = DatabaseConfig.getConnection()) {
+
+            // Self-dependencies are left to the CHECK constraint
+            if (taskId != dependsOnTaskId && dependsOnTransitively(conn, dependsOnTaskId, taskId)) {
+                throw new IllegalArgumentException("Task " + dependsOnTaskId
+                        + " already depends on task " + taskId + "; this dependency would create a cycle.");
+            }
+
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                stmt.setInt(1, taskId);
+                stmt.setInt(2, dependsOnTaskId);
+                stmt.executeUpdate();
+            }
+
+            uow.commit();
             System.out.println("✓ Task dependency created successfully!");
 
         } catch (SQLException e) {
@@ -106,13 +157,180 @@ public class TaskDependencyDao {
 
     /**
      * Add dependency (convenience method)
+     *
+     * @throws IllegalArgumentException if the dependency would create a cycle
      */
     public void addDependency(int taskId, int dependsOnTaskId) {
         insert(new TaskDependency(taskId, dependsOnTaskId));
     }
 
+    /**
+     * True if taskId directly or indirectly depends on prerequisiteId
+     * (up to MAX_CHAIN_DEPTH levels, see chainCte)
+     */
+    private boolean dependsOnTransitively(Connection conn, int taskId, int prerequisiteId) throws SQLException {
+        String sql = chainCte("task_id", "depends_on_task_id") + """
+                SELECT TOP 1 1
+                FROM chain
+                WHERE task_id = ?
+                OPTION (MAXRECURSION %d)
+                """.formatted(MAX_CHAIN_DEPTH);
+
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setInt(1, taskId);
+            stmt.setInt(2, MAX_CHAIN_DEPTH);
+            stmt.setInt(3, prerequisiteId);
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next();
+            }
+        }
+    }
+
+    /**
+     * Make the dependencies of a task exactly the given set.
+     * Only the difference is written: removed edges in one DELETE batch and new edges
+     * in one INSERT batch, on one connection and in one transaction.
+     * Each new edge is checked against the stored edges in that transaction, like insert().
+     * A task is never made to depend on itself.
+     *
+     * @return true if the change was committed
+     * @throws IllegalArgumentException if a new dependency would create a cycle (nothing is written)
+     */
+    public boolean replaceDependencies(int taskId, Set<Integer> dependsOnTaskIds) {
+        String selectSql = """
+                SELECT depends_on_task_id
+                FROM TaskDependencies
+                WHERE task_id = ?
+                """;
+        String deleteSql = """
+                DELETE FROM TaskDependencies
+                WHERE task_id = ? AND depends_on_task_id = ?
+                """;
+        String insertSql = """
+                INSERT INTO TaskDependencies (task_id, depends_on_task_id)
+                VALUES (?, ?)
+                """;
+
+        Set<Integer> wanted = new HashSet<>(dependsOnTaskIds);
+        wanted.remove(taskId);
+
+        try (UnitOfWork uow = UnitOfWork.begin();
+             Connection conn = DatabaseConfig.getConnection()) {
+
+            // Current edges, read inside the transaction
+            Set<Integer> existing = new HashSet<>();
+            try (PreparedStatement stmt = conn.prepareStatement(selectSql)) {
+                stmt.setInt(1, taskId);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        existing.add(rs.getInt("depends_on_task_id"));
+                    }
+                }
+            }
+
+            Set<Integer> toRemove = new HashSet<>(existing);
+            toRemove.removeAll(wanted);
+            Set<Integer> toAdd = new HashSet<>(wanted);
+            toAdd.removeAll(existing);
+
+            if (!toRemove.isEmpty()) {
+                try (PreparedStatement stmt = conn.prepareStatement(deleteSql)) {
+                    for (int dependsOnTaskId : toRemove) {
+                        stmt.setInt(1, taskId);
+                        stmt.setInt(2, dependsOnTaskId);
+                        stmt.addBatch();
+                    }
+                    stmt.executeBatch();
+                }
+            }
+
+            // Checked after the removals, which can only break cycles. A cycle through a new
+            // edge has to come back to taskId over stored edges, so the new edges need not
+            // be in place for the check.
+            for (int dependsOnTaskId : toAdd) {
+                if (dependsOnTransitively(conn, dependsOnTaskId, taskId)) {
+                    throw new IllegalArgumentException("Task " + dependsOnTaskId
+                            + " already depends on task " + taskId + "; this dependency would create a cycle.");
+                }
+            }
+
+            if (!toAdd.isEmpty()) {
+                try (PreparedStatement stmt = conn.prepareStatement(insertSql)) {
+                    for (int dependsOnTaskId : toAdd) {
+                        stmt.setInt(1, taskId);
+                        stmt.setInt(2, dependsOnTaskId);
+                        stmt.addBatch();
+                    }
+                    stmt.executeBatch();
+                }
+            }
+
+            uow.commit();
+            System.out.println("✓ Dependencies updated: " + toAdd.size() + " added, " + toRemove.size() + " removed");
+            return true;
+
+        } catch (SQLException e) {
+            System.err.println("✗ Error replacing dependencies for task: " + e.getMessage());
+        }
+        return false;
+    }
+
     // ==================== READ ====================
 
+    /**
+     * One row of a project's dependency graph: a task with its completion flag and
+     * estimate and, if it has one, a prerequisite with the same two values.
+     * Tasks without dependencies appear once with a null dependsOnTaskId.
+     */
+    public record GraphRow(int taskId, boolean done, double estimatedHours,
+                           Integer dependsOnTaskId, boolean dependsOnDone, double dependsOnEstimatedHours) {}
+
+    /**
+     * Load every task of a project together with its dependency edges in one query
+     * (input for DependencyGraph). Prerequisites in other projects are included as edges.
+     */
+    public List<GraphRow> findGraphRowsForProject(int projectId) {
+        String sql = """
+                SELECT t.task_id,
+                       CASE WHEN ts.status_name = 'DONE' THEN 1 ELSE 0 END AS is_done,
+                       t.estimated_hours,
+                       td.depends_on_task_id,
+                       CASE WHEN dts.status_name = 'DONE' THEN 1 ELSE 0 END AS depends_on_done,
+                       d.estimated_hours AS depends_on_estimated_hours
+                FROM Tasks t
+                LEFT JOIN TaskStatus ts ON t.status_id = ts.status_id
+                LEFT JOIN TaskDependencies td ON td.task_id = t.task_id
+                LEFT JOIN Tasks d ON td.depends_on_task_id = d.task_id
+                LEFT JOIN TaskStatus dts ON d.status_id = dts.status_id
+                WHERE t.project_id = ?
+                """;
+
+        List<GraphRow> rows = new ArrayList<>();
+
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setInt(1, projectId);
+            ResultSet rs = stmt.executeQuery();
+
+            while (rs.next()) {
+                rows.add(new GraphRow(
+                        rs.getInt("task_id"),
+                        rs.getInt("is_done") == 1,
+                        rs.getDouble("estimated_hours"),
+                        rs.getObject("depends_on_task_id", Integer.class),
+                        rs.getInt("depends_on_done") == 1,
+                        rs.getDouble("depends_on_estimated_hours")
+                ));
+            }
+
+        } catch (SQLException e) {
+            System.err.println("✗ Error loading dependency graph for project: " + e.getMessage());
+        }
+
+        return rows;
+    }
+
     /**
      * Get all tasks that a specific task depends on
      * (What must be completed before this task can start?)
@@ -347,6 +565,97 @@ public class TaskDependencyDao {
         }
     }
 
+    // ==================== TRANSITIVE ====================
+
+    /**
+     * Deepest chain followed by the transitive queries
+     */
+    public static final int MAX_CHAIN_DEPTH = 100;
+
+    /**
+     * A task reached by a transitive query, with its distance (1 = direct edge)
+     */
+    public record ChainLink(int taskId, String taskName, int depth) {}
+
+    /**
+     * Every task that directly or indirectly depends on taskId (the downstream
+     * closure: what slips if this task slips), nearest first
+     *
+     * @param maxDepth How many levels to follow (capped at MAX_CHAIN_DEPTH)
+     */
+    public List<ChainLink> findTransitiveDependents(int taskId, int maxDepth) {
+        return findChain(taskId, maxDepth, "depends_on_task_id", "task_id",
+                "✗ Error finding transitive dependents: ");
+    }
+
+    /**
+     * Every task that taskId directly or indirectly depends on (the upstream closure), nearest first
+     *
+     * @param maxDepth How many levels to follow (capped at MAX_CHAIN_DEPTH)
+     */
+    public List<ChainLink> findTransitivePrerequisites(int taskId, int maxDepth) {
+        return findChain(taskId, maxDepth, "task_id", "depends_on_task_id",
+                "✗ Error finding transitive prerequisites: ");
+    }
+
+    /**
+     * Walk the edges from fromColumn to toColumn in one recursive query. Only the
+     * depth is carried, and each task is reported once at its shortest distance;
+     * a cycle in old data is cut off by the depth limit.
+     */
+    private List<ChainLink> findChain(int taskId, int maxDepth, String fromColumn, String toColumn,
+                                      String errorMessage) {
+        int depthLimit = Math.max(1, Math.min(maxDepth, MAX_CHAIN_DEPTH));
+        String sql = chainCte(fromColumn, toColumn) + """
+                SELECT c.task_id, t.task_name, MIN(c.depth) AS depth
+                FROM chain c
+                JOIN Tasks t ON t.task_id = c.task_id
+                WHERE c.task_id <> ?
+                GROUP BY c.task_id, t.task_name
+                ORDER BY depth, c.task_id
+                OPTION (MAXRECURSION %d)
+                """.formatted(MAX_CHAIN_DEPTH);
+
+        List<ChainLink> chain = new ArrayList<>();
+
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setInt(1, taskId);
+            stmt.setInt(2, depthLimit);
+            stmt.setInt(3, taskId);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    chain.add(new ChainLink(rs.getInt("task_id"), rs.getString("task_name"), rs.getInt("depth")));
+                }
+            }
+
+        } catch (SQLException e) {
+            System.err.println(errorMessage + e.getMessage());
+        }
+
+        return chain;
+    }
+
+    /**
+     * Recursive CTE "chain" (task_id, depth) of the tasks reachable from a start task
+     * over the edges from fromColumn to toColumn. Parameters: start task ID, depth limit.
+     */
+    private static String chainCte(String fromColumn, String toColumn) {
+        return """
+                WITH chain (task_id, depth) AS (
+                    SELECT td.%2$s, 1
+                    FROM TaskDependencies td
+                    WHERE td.%1$s = ?
+                    UNION ALL
+                    SELECT td.%2$s, c.depth + 1
+                    FROM chain c
+                    JOIN TaskDependencies td ON td.%1$s = c.task_id
+                    WHERE c.depth < ?
+                )
+                """.formatted(fromColumn, toColumn);
+    }
+
     // ==================== UTILITY METHODS ====================
 
     /**
@@ -0,0 +1,192 @@
+package com.ahmet.tpm.dao;
+
+import com.ahmet.tpm.config.DatabaseConfig;
+import com.ahmet.tpm.models.Task;
+
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Set-based writes for bulk task imports.
+ *
+ * Every method uses DatabaseConfig.getConnection(), so a caller that opens a
+ * UnitOfWork gets the whole import in one transaction. Errors are thrown, not
+ * logged, so that the unit rolls back.
+ */
+public class TaskImportDao {
+
+    /**
+     * Tasks per INSERT statement (9 parameters each, below SQL Server's 2100 limit)
+     */
+    static final int TASKS_PER_STATEMENT = 200;
+
+    /**
+     * Rows per JDBC batch for the link tables
+     */
+    static final int BATCH_SIZE = 1000;
+
+    /**
+     * Task that already exists in one of the import's projects
+     */
+    public record ExistingTask(int taskId, int projectId, String taskName) {}
+
+    /**
+     * Progress callback for long inserts
+     */
+    public interface Progress {
+        void update(int done);
+    }
+
+    // ==================== READ ====================
+
+    /**
+     * Existing tasks of the given projects (used to resolve parent and dependency names)
+     */
+    public List<ExistingTask> findTasksInProjects(Collection<Integer> projectIds) throws SQLException {
+        List<ExistingTask> tasks = new ArrayList<>();
+
+        BulkIdQuery.forEach("""
+                SELECT task_id, project_id, task_name
+                FROM Tasks
+                WHERE project_id IN ({ids})
+                ORDER BY task_id
+                """, projectIds, rs -> tasks.add(new ExistingTask(
+                        rs.getInt("task_id"),
+                        rs.getInt("project_id"),
+                        rs.getString("task_name")
+                )));
+
+        return tasks;
+    }
+
+    // ==================== CREATE ====================
+
+    /**
+     * Insert tasks (parent_task_id is left empty; see updateParents) and return their
+     * generated IDs in input order.
+     *
+     * Each statement is a MERGE that never matches, which inserts a block of rows and
+     * OUTPUTs each source row number next to its new task_id. Unlike getGeneratedKeys()
+     * after a batch, this maps every key back to its row.
+     *
+     * @param progress Called after each block with the number of tasks inserted so far (may be null)
+     */
+    public int[] insertTasks(List<Task> tasks, Progress progress) throws SQLException {
+        int[] ids = new int[tasks.size()];
+
+        try (Connection conn = DatabaseConfig.getConnection()) {
+            for (int from = 0; from < tasks.size(); from += TASKS_PER_STATEMENT) {
+                int to = Math.min(tasks.size(), from + TASKS_PER_STATEMENT);
+
+                try (PreparedStatement stmt = conn.prepareStatement(insertTasksSql(to - from))) {
+                    int index = 1;
+                    for (int row = from; row < to; row++) {
+                        Task task = tasks.get(row);
+                        stmt.setInt(index++, row);
+                        stmt.setInt(index++, task.getProjectId());
+                        stmt.setString(index++, task.getTaskName());
+                        stmt.setString(index++, task.getDescription());
+                        stmt.setInt(index++, task.getStatusId());
+                        stmt.setInt(index++, task.getPriorityId());
+                        stmt.setDouble(index++, task.getEstimatedHours());
+                        if (task.getDueDate() != null) {
+                            stmt.setDate(index++, Date.valueOf(task.getDueDate()));
+                        } else {
+                            stmt.setNull(index++, Types.DATE);
+                        }
+                        stmt.setInt(index++, task.getCreatedBy());
+                    }
+
+                    try (ResultSet rs = stmt.executeQuery()) {
+                        while (rs.next()) {
+                            int row = rs.getInt("row_no");
+                            ids[row] = rs.getInt("task_id");
+                            Task task = tasks.get(row);
+                            TaskSearchIndex.putAfterCommit(ids[row], task.getTaskName(), task.getDescription());
+                        }
+                    }
+                }
+
+                if (progress != null) {
+                    progress.update(to);
+                }
+            }
+        }
+
+        return ids;
+    }
+
+    private static String insertTasksSql(int rows) {
+        StringBuilder values = new StringBuilder();
+        for (int i = 0; i < rows; i++) {
+            values.append(i == 0 ? "" : ",\n       ").append("(?, ?, ?, ?, ?, ?, ?, ?, ?)");
+        }
+
+        return """
+            MERGE INTO Tasks AS t
+            USING (VALUES %s)
+                AS src (row_no, project_id, task_name, description, status_id,
+                        priority_id, estimated_hours, due_date, created_by)
+            ON 1 = 0
+            WHEN NOT MATCHED THEN
+                INSERT (project_id, task_name, description, status_id,
+                        priority_id, estimated_hours, due_date, created_by)
+                VALUES (src.project_id, src.task_name, src.description, src.status_id,
+                        src.priority_id, src.estimated_hours, src.due_date, src.created_by)
+            OUTPUT src.row_no, INSERTED.task_id;
+            """.formatted(values);
+    }
+
+    /**
+     * Set parent_task_id for pairs of {taskId, parentTaskId}
+     */
+    public void updateParents(List<int[]> taskParentPairs) throws SQLException {
+        runBatch("UPDATE Tasks SET parent_task_id = ? WHERE task_id = ?", taskParentPairs, true);
+    }
+
+    /**
+     * Insert dependencies for pairs of {taskId, dependsOnTaskId}
+     */
+    public void insertDependencies(List<int[]> dependencyPairs) throws SQLException {
+        runBatch("INSERT INTO TaskDependencies (task_id, depends_on_task_id) VALUES (?, ?)", dependencyPairs, false);
+    }
+
+    /**
+     * Insert task assignments for pairs of {taskId, userId}
+     */
+    public void insertAssignments(List<int[]> assignmentPairs) throws SQLException {
+        runBatch("INSERT INTO TaskMembers (task_id, user_id) VALUES (?, ?)", assignmentPairs, false);
+    }
+
+    private void runBatch(String sql, List<int[]> pairs, boolean swapped) throws SQLException {
+        if (pairs.isEmpty()) {
+            return;
+        }
+
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            int pending = 0;
+            for (int[] pair : pairs) {
+                stmt.setInt(1, swapped ? pair[1] : pair[0]);
+                stmt.setInt(2, swapped ? pair[0] : pair[1]);
+                stmt.addBatch();
+
+                if (++pending == BATCH_SIZE) {
+                    stmt.executeBatch();
+                    pending = 0;
+                }
+            }
+            if (pending > 0) {
+                stmt.executeBatch();
+            }
+        }
+    }
+}
@@ -1,8 +1,8 @@
 package com.ahmet.tpm.dao;
 
 import com.ahmet.tpm.config.DatabaseConfig;
+import com.ahmet.tpm.config.UnitOfWork;
 import com.ahmet.tpm.models.TaskMember;
-import com.ahmet.tpm.dao.NotificationDao;
 
 import java.sql.*;
 import java.util.ArrayList;
@@ -10,7 +10,7 @@ import java.util.List;
 
 public class TaskMemberDao{
 
-    NotificationDao notificationDao = new NotificationDao();
+    private final NotificationOutboxDao outboxDao = new NotificationOutboxDao();
 
     // ==================== HELPER METHOD ====================
     private TaskMember extractTaskMemberFromResultSet(ResultSet rs) throws SQLException {
@@ -25,6 +25,8 @@ public class TaskMemberDao{
     // ==================== CREATE ====================
     /**
      * Assign a user to a task
+     * The assignment notification goes to the outbox in the same transaction,
+     * so both are committed together (NotificationOutboxRelay delivers it)
      */
     public void insert(TaskMember member) {
         String sql = """
@@ -32,26 +34,45 @@ public class TaskMemberDao{
             VALUES (?, ?)
             """;
 
-        try (Connection conn = DatabaseConfig.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+        Connection conn = null;
+        try {
+            conn = DatabaseConfig.getConnection();
+            conn.setAutoCommit(false);
 
-            stmt.setInt(1, member.getTaskId());
-            stmt.setInt(2, member.getUserId());
-            stmt.executeUpdate();
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                stmt.setInt(1, member.getTaskId());
+                stmt.setInt(2, member.getUserId());
+                stmt.executeUpdate();
+            }
 
-            notificationDao.createTaskAssignmentNotification(
+            outboxDao.enqueue(conn, NotificationDao.taskAssignmentNotification(
                     member.getUserId(),
                     member.getTaskId()
-            );
+            ));
 
+            conn.commit();
+            UnitOfWork.runAfterCommit(NotificationOutboxRelay::wakeUp);
 
             System.out.println("✓ User assigned to task successfully!");
 
-
-
-
         } catch (SQLException e) {
             System.err.println("✗ Error assigning user to task: " + e.getMessage());
+            try {
+                if (conn != null) {
+                    conn.rollback();
+                }
+            } catch (SQLException ex) {
+                ex.printStackTrace();
+            }
+        } finally {
+            try {
+                if (conn != null) {
+                    conn.setAutoCommit(true);
+                    conn.close();
+                }
+            } catch (SQLException e) {
+                e.printStackTrace();
+            }
         }
     }
 
@@ -1,6 +1,7 @@
 package com.ahmet.tpm.dao;
 
 import com.ahmet.tpm.config.DatabaseConfig;
+import com.ahmet.tpm.config.UnitOfWork;
 import com.ahmet.tpm.models.TaskPriority;
 
 import java.sql.*;
@@ -9,8 +10,34 @@ import java.util.List;
 
 public class TaskPriorityDao {
 
+    // ==================== CACHE ====================
+    private static final LookupCache<TaskPriority> CACHE =
+            new LookupCache<>("TaskPriority", TaskPriorityDao::loadAll,
+                    TaskPriority::getPriorityId, TaskPriority::getPriorityName);
+
+    private static List<TaskPriority> loadAll() throws SQLException {
+        String sql = """
+            SELECT priority_id, priority_name
+            FROM TaskPriority
+            ORDER BY priority_id ASC
+            """;
+
+        List<TaskPriority> priorities = new ArrayList<>();
+
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql);
+             ResultSet rs = stmt.executeQuery()) {
+
+            while (rs.next()) {
+                priorities.add(extractTaskPriorityFromResultSet(rs));
+            }
+        }
+
+        return priorities;
+    }
+
     // ==================== HELPER METHOD ====================
-    private TaskPriority extractTaskPriorityFromResultSet(ResultSet rs) throws SQLException {
+    private static TaskPriority extractTaskPriorityFromResultSet(ResultSet rs) throws SQLException {
         return new TaskPriority(
                 rs.getInt("priority_id"),
                 rs.getString("priority_name")
@@ -29,6 +56,7 @@ public class TaskPriorityDao {
 
             stmt.setString(1, priority.getPriorityName());
             stmt.executeUpdate();
+            UnitOfWork.runAfterCommit(CACHE::invalidate);
             System.out.println("✓ Task priority inserted successfully!");
 
         } catch (SQLException e) {
@@ -38,73 +66,15 @@ public class TaskPriorityDao {
 
     // ==================== READ ====================
     public TaskPriority findById(int id) {
-        String sql = """
-            SELECT priority_id, priority_name
-            FROM TaskPriority
-            WHERE priority_id = ?
-            """;
-
-        try (Connection conn = DatabaseConfig.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-
-            stmt.setInt(1, id);
-            ResultSet rs = stmt.executeQuery();
-
-            if (rs.next()) {
-                return extractTaskPriorityFromResultSet(rs);
-            }
-
-        } catch (SQLException e) {
-            System.err.println("✗ Error finding task priority: " + e.getMessage());
-        }
-        return null;
+        return CACHE.getById(id);
     }
 
     public List<TaskPriority> findAll() {
-        String sql = """
-            SELECT priority_id, priority_name
-            FROM TaskPriority
-            ORDER BY priority_id ASC
-            """;
-
-        List<TaskPriority> priorities = new ArrayList<>();
-
-        try (Connection conn = DatabaseConfig.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql);
-             ResultSet rs = stmt.executeQuery()) {
-
-            while (rs.next()) {
-                priorities.add(extractTaskPriorityFromResultSet(rs));
-            }
-
-        } catch (SQLException e) {
-            System.err.println("✗ Error finding all task priorities: " + e.getMessage());
-        }
-
-        return priorities;
+        return CACHE.getAll();
     }
 
     public TaskPriority findByName(String name) {
-        String sql = """
-            SELECT priority_id, priority_name
-            FROM TaskPriority
-            WHERE priority_name = ?
-            """;
-
-        try (Connection conn = DatabaseConfig.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-
-            stmt.setString(1, name);
-            ResultSet rs = stmt.executeQuery();
-
-            if (rs.next()) {
-                return extractTaskPriorityFromResultSet(rs);
-            }
-
-        } catch (SQLException e) {
-            System.err.println("✗ Error finding task priority by name: " + e.getMessage());
-        }
-        return null;
+        return CACHE.getByName(name);
     }
 
     // ==================== UPDATE (Admin Only) ====================
@@ -122,6 +92,7 @@ public class TaskPriorityDao {
             stmt.setInt(2, priority.getPriorityId());
 
             int rowsUpdated = stmt.executeUpdate();
+            UnitOfWork.runAfterCommit(CACHE::invalidate);
 
             if (rowsUpdated > 0) {
                 System.out.println("✓ Task priority updated successfully!");
@@ -146,6 +117,7 @@ public class TaskPriorityDao {
 
             stmt.setInt(1, id);
             int rowsDeleted = stmt.executeUpdate();
+            UnitOfWork.runAfterCommit(CACHE::invalidate);
 
             if (rowsDeleted > 0) {
                 System.out.println("✓ Task priority deleted successfully!");
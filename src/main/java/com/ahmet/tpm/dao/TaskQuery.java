@@ -0,0 +1,150 @@
+package com.ahmet.tpm.dao;
+
+/**
+ * Search criteria for TaskDao.search()
+ * Every field that is left null is ignored, so an empty query matches all tasks.
+ * Filters, sorting and paging are translated to parameterized SQL by TaskDao.
+ */
+public class TaskQuery {
+
+    /**
+     * Columns a task search can be sorted by.
+     * Only these whitelisted columns ever reach the ORDER BY clause.
+     */
+    public enum SortField {
+        CREATED_AT("t.created_at"),
+        DUE_DATE("t.due_date"),
+        TASK_NAME("t.task_name"),
+        PRIORITY("t.priority_id"),
+        STATUS("t.status_id"),
+        TASK_ID("t.task_id");
+
+        private final String column;
+
+        SortField(String column) {
+            this.column = column;
+        }
+
+        public String getColumn() {
+            return column;
+        }
+    }
+
+    public static final int DEFAULT_PAGE_SIZE = 100;
+
+    private String nameContains;
+    private String searchText;
+    private Integer projectId;
+    private Integer statusId;
+    private String statusName;
+    private Integer priorityId;
+    private String priorityName;
+    private SortField sortField = SortField.CREATED_AT;
+    private boolean ascending = false;
+    private int pageSize = DEFAULT_PAGE_SIZE;
+
+    public TaskQuery() {}
+
+    public String getNameContains() {
+        return nameContains;
+    }
+
+    public void setNameContains(String nameContains) {
+        this.nameContains = nameContains != null && !nameContains.isBlank() ? nameContains.trim() : null;
+    }
+
+    /**
+     * Words to look for in task names and descriptions; each word matches as a word
+     * prefix and all of them must match (answered by TaskSearchIndex once it is loaded)
+     */
+    public String getSearchText() {
+        return searchText;
+    }
+
+    public void setSearchText(String searchText) {
+        this.searchText = searchText != null && !searchText.isBlank() ? searchText.trim() : null;
+    }
+
+    public Integer getProjectId() {
+        return projectId;
+    }
+
+    public void setProjectId(Integer projectId) {
+        this.projectId = projectId;
+    }
+
+    public Integer getStatusId() {
+        return statusId;
+    }
+
+    public void setStatusId(Integer statusId) {
+        this.statusId = statusId;
+    }
+
+    public String getStatusName() {
+        return statusName;
+    }
+
+    public void setStatusName(String statusName) {
+        this.statusName = statusName;
+    }
+
+    public Integer getPriorityId() {
+        return priorityId;
+    }
+
+    public void setPriorityId(Integer priorityId) {
+        this.priorityId = priorityId;
+    }
+
+    public String getPriorityName() {
+        return priorityName;
+    }
+
+    public void setPriorityName(String priorityName) {
+        this.priorityName = priorityName;
+    }
+
+    public SortField getSortField() {
+        return sortField;
+    }
+
+    public void setSortField(SortField sortField) {
+        this.sortField = sortField != null ? sortField : SortField.CREATED_AT;
+    }
+
+    public boolean isAscending() {
+        return ascending;
+    }
+
+    public void setAscending(boolean ascending) {
+        this.ascending = ascending;
+    }
+
+    public int getPageSize() {
+        return pageSize;
+    }
+
+    public void setPageSize(int pageSize) {
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("Page size must be positive: " + pageSize);
+        }
+        this.pageSize = pageSize;
+    }
+
+    @Override
+    public String toString() {
+        return "TaskQuery{" +
+                "nameContains='" + nameContains + '\'' +
+                ", searchText='" + searchText + '\'' +
+                ", projectId=" + projectId +
+                ", statusId=" + statusId +
+                ", statusName='" + statusName + '\'' +
+                ", priorityId=" + priorityId +
+                ", priorityName='" + priorityName + '\'' +
+                ", sortField=" + sortField +
+                ", ascending=" + ascending +
+                ", pageSize=" + pageSize +
+                '}';
+    }
+}
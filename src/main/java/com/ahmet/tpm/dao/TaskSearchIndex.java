@@ -0,0 +1,325 @@
+package com.ahmet.tpm.dao;
+
+import com.ahmet.tpm.config.DatabaseConfig;
+import com.ahmet.tpm.config.UnitOfWork;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index over task names and descriptions, for search-as-you-type.
+ *
+ * Every term (see SearchTokenizer) maps to the sorted IDs of the tasks containing it.
+ * Terms are kept in a sorted map, so a query word matches every term it is a prefix
+ * of with one range scan; the words of a query are ANDed. A query touches only the
+ * terms it names and runs in microseconds, without a round trip to the database.
+ *
+ * The index is loaded on a daemon thread by start() and reloaded every
+ * {@link #REFRESH_INTERVAL_MS} ms to pick up edits from other clients. TaskDao
+ * updates it after each insert, update and delete (after commit inside a UnitOfWork).
+ * Until the first load finishes search() returns null and callers fall back to SQL.
+ */
+public final class TaskSearchIndex {
+
+    private static final long REFRESH_INTERVAL_MS = 5 * 60_000;
+
+    private static final ReentrantReadWriteLock LOCK = new ReentrantReadWriteLock();
+
+    private static FieldIndex names = new FieldIndex();
+    private static FieldIndex descriptions = new FieldIndex();
+    private static volatile boolean ready = false;
+
+    // Writes seen while a reload is reading the table ({name, description}, or null if deleted)
+    private static Map<Integer, String[]> changedDuringLoad;
+
+    private static ScheduledExecutorService executor;
+
+    private TaskSearchIndex() {}
+
+    // ==================== LIFECYCLE ====================
+
+    /**
+     * Start loading the index in the background (safe to call more than once)
+     */
+    public static synchronized void start() {
+        if (executor != null) {
+            return;
+        }
+
+        executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "task-search-index");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleWithFixedDelay(TaskSearchIndex::reload,
+                0, REFRESH_INTERVAL_MS, TimeUnit.MILLISECONDS);
+
+        DatabaseConfig.addCloseListener(TaskSearchIndex::stop);
+    }
+
+    private static synchronized void stop() {
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+    }
+
+    /**
+     * True once the first load has finished
+     */
+    public static boolean isReady() {
+        return ready;
+    }
+
+    // ==================== SEARCH ====================
+
+    /**
+     * IDs of the tasks that contain every word of the query as a word prefix, in ascending order
+     *
+     * @param includeDescriptions Also match words in descriptions, not only in names
+     * @return Matching task IDs, or null if the index is not loaded yet or the query has no words
+     */
+    public static int[] search(String query, boolean includeDescriptions) {
+        Set<String> words = new LinkedHashSet<>(SearchTokenizer.tokenize(query));
+        if (!ready || words.isEmpty()) {
+            return null;
+        }
+
+        LOCK.readLock().lock();
+        try {
+            BitSet result = null;
+            for (String word : words) {
+                BitSet matches = new BitSet();
+                names.collectPrefix(word, matches);
+                if (includeDescriptions) {
+                    descriptions.collectPrefix(word, matches);
+                }
+
+                if (result == null) {
+                    result = matches;
+                } else {
+                    result.and(matches);
+                }
+                if (result.isEmpty()) {
+                    break;
+                }
+            }
+            return result.stream().toArray();
+        } finally {
+            LOCK.readLock().unlock();
+        }
+    }
+
+    // ==================== UPDATES ====================
+
+    /**
+     * Index a saved task once the current unit of work (if any) commits
+     */
+    static void putAfterCommit(int taskId, String name, String description) {
+        UnitOfWork.runAfterCommit(() -> put(taskId, name, description));
+    }
+
+    /**
+     * Drop a deleted task once the current unit of work (if any) commits
+     */
+    static void removeAfterCommit(int taskId) {
+        UnitOfWork.runAfterCommit(() -> remove(taskId));
+    }
+
+    static void put(int taskId, String name, String description) {
+        LOCK.writeLock().lock();
+        try {
+            names.put(taskId, name);
+            descriptions.put(taskId, description);
+            if (changedDuringLoad != null) {
+                changedDuringLoad.put(taskId, new String[]{name, description});
+            }
+        } finally {
+            LOCK.writeLock().unlock();
+        }
+    }
+
+    static void remove(int taskId) {
+        LOCK.writeLock().lock();
+        try {
+            names.remove(taskId);
+            descriptions.remove(taskId);
+            if (changedDuringLoad != null) {
+                changedDuringLoad.put(taskId, null);
+            }
+        } finally {
+            LOCK.writeLock().unlock();
+        }
+    }
+
+    // ==================== LOADING ====================
+
+    /**
+     * Build a fresh index from the Tasks table and swap it in; the old one keeps
+     * answering queries meanwhile
+     */
+    private static void reload() {
+        LOCK.writeLock().lock();
+        try {
+            changedDuringLoad = new HashMap<>();
+        } finally {
+            LOCK.writeLock().unlock();
+        }
+
+        FieldIndex loadedNames = new FieldIndex();
+        FieldIndex loadedDescriptions = new FieldIndex();
+        int count = 0;
+
+        String sql = """
+            SELECT task_id, task_name, description
+            FROM Tasks
+            """;
+
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement stmt = ExportDao.prepareStreaming(conn, sql);
+             ResultSet rs = stmt.executeQuery()) {
+
+            while (rs.next()) {
+                int taskId = rs.getInt("task_id");
+                loadedNames.put(taskId, rs.getString("task_name"));
+                loadedDescriptions.put(taskId, rs.getString("description"));
+                count++;
+            }
+
+        } catch (SQLException e) {
+            System.err.println("✗ Error loading task search index: " + e.getMessage());
+            LOCK.writeLock().lock();
+            try {
+                changedDuringLoad = null;
+            } finally {
+                LOCK.writeLock().unlock();
+            }
+            return;
+        }
+
+        LOCK.writeLock().lock();
+        try {
+            // Writes that raced with the load win over what the load read
+            for (Map.Entry<Integer, String[]> change : changedDuringLoad.entrySet()) {
+                if (change.getValue() != null) {
+                    loadedNames.put(change.getKey(), change.getValue()[0]);
+                    loadedDescriptions.put(change.getKey(), change.getValue()[1]);
+                } else {
+                    loadedNames.remove(change.getKey());
+                    loadedDescriptions.remove(change.getKey());
+                }
+            }
+            changedDuringLoad = null;
+
+            names = loadedNames;
+            descriptions = loadedDescriptions;
+            ready = true;
+        } finally {
+            LOCK.writeLock().unlock();
+        }
+
+        System.out.println("✓ Task search index loaded (" + count + " tasks, "
+                + loadedNames.termCount() + " name terms, " + loadedDescriptions.termCount() + " description terms)");
+    }
+
+    // ==================== INDEX STRUCTURE ====================
+
+    /**
+     * Inverted index of one text field
+     */
+    private static final class FieldIndex {
+        private final TreeMap<String, Postings> postingsByTerm = new TreeMap<>();
+        private final Map<Integer, String[]> termsByTask = new HashMap<>();
+
+        void put(int taskId, String text) {
+            remove(taskId);
+
+            String[] terms = new LinkedHashSet<>(SearchTokenizer.tokenize(text)).toArray(new String[0]);
+            if (terms.length == 0) {
+                return;
+            }
+            for (String term : terms) {
+                postingsByTerm.computeIfAbsent(term, t -> new Postings()).add(taskId);
+            }
+            termsByTask.put(taskId, terms);
+        }
+
+        void remove(int taskId) {
+            String[] terms = termsByTask.remove(taskId);
+            if (terms == null) {
+                return;
+            }
+            for (String term : terms) {
+                Postings postings = postingsByTerm.get(term);
+                if (postings != null && postings.remove(taskId) && postings.size == 0) {
+                    postingsByTerm.remove(term);
+                }
+            }
+        }
+
+        /**
+         * Set the bit of every task that has a term starting with the prefix
+         */
+        void collectPrefix(String prefix, BitSet into) {
+            NavigableMap<String, Postings> range =
+                    postingsByTerm.subMap(prefix, true, prefix + Character.MAX_VALUE, false);
+            for (Postings postings : range.values()) {
+                for (int i = 0; i < postings.size; i++) {
+                    into.set(postings.ids[i]);
+                }
+            }
+        }
+
+        int termCount() {
+            return postingsByTerm.size();
+        }
+    }
+
+    /**
+     * Sorted, duplicate-free task IDs of one term. New tasks get the highest IDs,
+     * so adding them is an append.
+     */
+    private static final class Postings {
+        private int[] ids = new int[4];
+        private int size = 0;
+
+        void add(int taskId) {
+            int pos = Arrays.binarySearch(ids, 0, size, taskId);
+            if (pos >= 0) {
+                return;
+            }
+            pos = -pos - 1;
+
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            System.arraycopy(ids, pos, ids, pos + 1, size - pos);
+            ids[pos] = taskId;
+            size++;
+        }
+
+        boolean remove(int taskId) {
+            int pos = Arrays.binarySearch(ids, 0, size, taskId);
+            if (pos < 0) {
+                return false;
+            }
+            System.arraycopy(ids, pos + 1, ids, pos, size - pos - 1);
+            size--;
+            return true;
+        }
+    }
+}
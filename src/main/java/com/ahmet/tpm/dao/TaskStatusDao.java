@@ -1,6 +1,7 @@
 package com.ahmet.tpm.dao;
 
 import com.ahmet.tpm.config.DatabaseConfig;
+import com.ahmet.tpm.config.UnitOfWork;
 import com.ahmet.tpm.models.TaskStatus;
 
 import java.sql.*;
@@ -9,8 +10,34 @@ import java.util.List;
 
 public class TaskStatusDao {
 
+    // ==================== CACHE ====================
+    private static final LookupCache<TaskStatus> CACHE =
+            new LookupCache<>("TaskStatus", TaskStatusDao::loadAll,
+                    TaskStatus::getStatusId, TaskStatus::getStatusName);
+
+    private static List<TaskStatus> loadAll() throws SQLException {
+        String sql = """
+            SELECT status_id, status_name
+            FROM TaskStatus
+            ORDER BY status_id ASC
+            """;
+
+        List<TaskStatus> statuses = new ArrayList<>();
+
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql);
+             ResultSet rs = stmt.executeQuery()) {
+
+            while (rs.next()) {
+                statuses.add(extractTaskStatusFromResultSet(rs));
+            }
+        }
+
+        return statuses;
+    }
+
     // ==================== HELPER METHOD ====================
-    private TaskStatus extractTaskStatusFromResultSet(ResultSet rs) throws SQLException {
+    private static TaskStatus extractTaskStatusFromResultSet(ResultSet rs) throws SQLException {
         return new TaskStatus(
                 rs.getInt("status_id"),
                 rs.getString("status_name")
@@ -29,6 +56,7 @@ public class TaskStatusDao {
 
             stmt.setString(1, status.getStatusName());
             stmt.executeUpdate();
+            UnitOfWork.runAfterCommit(CACHE::invalidate);
             System.out.println("✓ Task status inserted successfully!");
 
         } catch (SQLException e) {
@@ -38,73 +66,15 @@ public class TaskStatusDao {
 
     // ==================== READ ====================
     public TaskStatus findById(int id) {
-        String sql = """
-            SELECT status_id, status_name
-            FROM TaskStatus
-            WHERE status_id = ?
-            """;
-
-        try (Connection conn = DatabaseConfig.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-
-            stmt.setInt(1, id);
-            ResultSet rs = stmt.executeQuery();
-
-            if (rs.next()) {
-                return extractTaskStatusFromResultSet(rs);
-            }
-
-        } catch (SQLException e) {
-            System.err.println("✗ Error finding task status: " + e.getMessage());
-        }
-        return null;
+        return CACHE.getById(id);
     }
 
     public List<TaskStatus> findAll() {
-        String sql = """
-            SELECT status_id, status_name
-            FROM TaskStatus
-            ORDER BY status_id ASC
-            """;
-
-        List<TaskStatus> statuses = new ArrayList<>();
-
-        try (Connection conn = DatabaseConfig.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql);
-             ResultSet rs = stmt.executeQuery()) {
-
-            while (rs.next()) {
-                statuses.add(extractTaskStatusFromResultSet(rs));
-            }
-
-        } catch (SQLException e) {
-            System.err.println("✗ Error finding all task statuses: " + e.getMessage());
-        }
-
-        return statuses;
+        return CACHE.getAll();
     }
 
     public TaskStatus findByName(String name) {
-        String sql = """
-            SELECT status_id, status_name
-            FROM TaskStatus
-            WHERE status_name = ?
-            """;
-
-        try (Connection conn = DatabaseConfig.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-
-            stmt.setString(1, name);
-            ResultSet rs = stmt.executeQuery();
-
-            if (rs.next()) {
-                return extractTaskStatusFromResultSet(rs);
-            }
-
-        } catch (SQLException e) {
-            System.err.println("✗ Error finding task status by name: " + e.getMessage());
-        }
-        return null;
+        return CACHE.getByName(name);
     }
 
     // ==================== UPDATE (Admin Only) ====================
@@ -122,6 +92,7 @@ public class TaskStatusDao {
             stmt.setInt(2, status.getStatusId());
 
             int rowsUpdated = stmt.executeUpdate();
+            UnitOfWork.runAfterCommit(CACHE::invalidate);
 
             if (rowsUpdated > 0) {
                 System.out.println("✓ Task status updated successfully!");
@@ -146,6 +117,7 @@ public class TaskStatusDao {
 
             stmt.setInt(1, id);
             int rowsDeleted = stmt.executeUpdate();
+            UnitOfWork.runAfterCommit(CACHE::invalidate);
 
             if (rowsDeleted > 0) {
                 System.out.println("✓ Task status deleted successfully!");
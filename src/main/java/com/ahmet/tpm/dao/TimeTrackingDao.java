@@ -6,7 +6,9 @@ import com.ahmet.tpm.models.TimeTracking;
 import java.sql.*;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 public class TimeTrackingDao {
 
@@ -26,24 +28,7 @@ public class TimeTrackingDao {
      * Log time worked on a task
      */
     public void insert(TimeTracking timeEntry) {
-        String sql = """
-            INSERT INTO TimeTracking (task_id, user_id, work_date, hours_worked)
-            VALUES (?, ?, ?, ?)
-            """;
-
-        try (Connection conn = DatabaseConfig.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-
-            stmt.setInt(1, timeEntry.getTaskId());
-            stmt.setInt(2, timeEntry.getUserId());
-            stmt.setDate(3, Date.valueOf(timeEntry.getWorkDate()));
-            stmt.setDouble(4, timeEntry.getHoursWorked());
-            stmt.executeUpdate();
-            System.out.println(" Time entry logged successfully!");
-
-        } catch (SQLException e) {
-            System.err.println(" Error logging time entry: " + e.getMessage());
-        }
+        insertAndGetId(timeEntry);
     }
 
     public Integer insertAndGetId(TimeTracking timeEntry) {
@@ -52,29 +37,31 @@ public class TimeTrackingDao {
             VALUES (?, ?, ?, ?)
             """;
 
-        try (Connection conn = DatabaseConfig.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+        return Transactions.run("Error logging time entry", null, conn -> {
+            Integer generatedId = null;
 
-            stmt.setInt(1, timeEntry.getTaskId());
-            stmt.setInt(2, timeEntry.getUserId());
-            stmt.setDate(3, Date.valueOf(timeEntry.getWorkDate()));
-            stmt.setDouble(4, timeEntry.getHoursWorked());
-            int rowsAffected = stmt.executeUpdate();
+            try (PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+                stmt.setInt(1, timeEntry.getTaskId());
+                stmt.setInt(2, timeEntry.getUserId());
+                stmt.setDate(3, Date.valueOf(timeEntry.getWorkDate()));
+                stmt.setDouble(4, timeEntry.getHoursWorked());
+                stmt.executeUpdate();
 
-            if (rowsAffected > 0) {
                 ResultSet generatedKeys = stmt.getGeneratedKeys();
                 if (generatedKeys.next()) {
-                    Integer generatedId = generatedKeys.getInt(1);
+                    generatedId = generatedKeys.getInt(1);
                     timeEntry.setTimeEntryId(generatedId);
-                    System.out.println(" Time entry logged with ID: " + generatedId);
-                    return generatedId;
                 }
             }
 
-        } catch (SQLException e) {
-            System.err.println(" Error logging time entry: " + e.getMessage());
-        }
-        return null;
+            AggregateDeltas deltas = new AggregateDeltas();
+            deltas.add(timeEntry.getTaskId(), timeEntry.getUserId(), timeEntry.getWorkDate(),
+                    timeEntry.getHoursWorked(), 1);
+            deltas.apply(conn);
+
+            System.out.println(" Time entry logged with ID: " + generatedId);
+            return generatedId;
+        });
     }
 
     /**
@@ -276,29 +263,39 @@ public class TimeTrackingDao {
                 user_id = ?,
                 work_date = ?,
                 hours_worked = ?
+            OUTPUT DELETED.task_id, DELETED.user_id, DELETED.work_date, DELETED.hours_worked,
+                   INSERTED.task_id AS new_task_id, INSERTED.user_id AS new_user_id,
+                   INSERTED.work_date AS new_work_date, INSERTED.hours_worked AS new_hours_worked
             WHERE time_entry_id = ?
             """;
 
-        try (Connection conn = DatabaseConfig.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-
-            stmt.setInt(1, timeEntry.getTaskId());
-            stmt.setInt(2, timeEntry.getUserId());
-            stmt.setDate(3, Date.valueOf(timeEntry.getWorkDate()));
-            stmt.setDouble(4, timeEntry.getHoursWorked());
-            stmt.setInt(5, timeEntry.getTimeEntryId());
-
-            int rowsUpdated = stmt.executeUpdate();
+        Transactions.run("Error updating time entry", null, conn -> {
+            AggregateDeltas deltas = new AggregateDeltas();
+
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                stmt.setInt(1, timeEntry.getTaskId());
+                stmt.setInt(2, timeEntry.getUserId());
+                stmt.setDate(3, Date.valueOf(timeEntry.getWorkDate()));
+                stmt.setDouble(4, timeEntry.getHoursWorked());
+                stmt.setInt(5, timeEntry.getTimeEntryId());
+
+                ResultSet rs = stmt.executeQuery();
+                while (rs.next()) {
+                    deltas.remove(rs);
+                    deltas.add(rs.getInt("new_task_id"), rs.getInt("new_user_id"),
+                            rs.getDate("new_work_date").toLocalDate(), rs.getDouble("new_hours_worked"), 1);
+                }
+            }
 
-            if (rowsUpdated > 0) {
-                System.out.println(" Time entry updated successfully!");
-            } else {
+            if (deltas.isEmpty()) {
                 System.out.println(" No time entry found with ID: " + timeEntry.getTimeEntryId());
+                return null;
             }
 
-        } catch (SQLException e) {
-            System.err.println(" Error updating time entry: " + e.getMessage());
-        }
+            deltas.apply(conn);
+            System.out.println(" Time entry updated successfully!");
+            return null;
+        });
     }
 
     /**
@@ -308,26 +305,33 @@ public class TimeTrackingDao {
         String sql = """
             UPDATE TimeTracking
             SET hours_worked = ?
+            OUTPUT DELETED.task_id, DELETED.user_id, DELETED.work_date, DELETED.hours_worked
             WHERE time_entry_id = ?
             """;
 
-        try (Connection conn = DatabaseConfig.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+        Transactions.run("Error updating hours", null, conn -> {
+            AggregateDeltas deltas = new AggregateDeltas();
 
-            stmt.setDouble(1, newHours);
-            stmt.setInt(2, timeEntryId);
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                stmt.setDouble(1, newHours);
+                stmt.setInt(2, timeEntryId);
 
-            int rowsUpdated = stmt.executeUpdate();
+                ResultSet rs = stmt.executeQuery();
+                while (rs.next()) {
+                    deltas.add(rs.getInt("task_id"), rs.getInt("user_id"), rs.getDate("work_date").toLocalDate(),
+                            newHours - rs.getDouble("hours_worked"), 0);
+                }
+            }
 
-            if (rowsUpdated > 0) {
-                System.out.println(" Hours updated successfully!");
-            } else {
+            if (deltas.isEmpty()) {
                 System.out.println(" No time entry found with ID: " + timeEntryId);
+                return null;
             }
 
-        } catch (SQLException e) {
-            System.err.println(" Error updating hours: " + e.getMessage());
-        }
+            deltas.apply(conn);
+            System.out.println(" Hours updated successfully!");
+            return null;
+        });
     }
 
     // ==================== DELETE ====================
@@ -335,25 +339,12 @@ public class TimeTrackingDao {
      * Delete a time entry
      */
     public void delete(int id) {
-        String sql = """
-            DELETE FROM TimeTracking
-            WHERE time_entry_id = ?
-            """;
+        int rowsDeleted = deleteWhere("time_entry_id = ?", id, "Error deleting time entry");
 
-        try (Connection conn = DatabaseConfig.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-
-            stmt.setInt(1, id);
-            int rowsDeleted = stmt.executeUpdate();
-
-            if (rowsDeleted > 0) {
-                System.out.println(" Time entry deleted successfully!");
-            } else {
-                System.out.println(" No time entry found with ID: " + id);
-            }
-
-        } catch (SQLException e) {
-            System.err.println(" Error deleting time entry: " + e.getMessage());
+        if (rowsDeleted > 0) {
+            System.out.println(" Time entry deleted successfully!");
+        } else {
+            System.out.println(" No time entry found with ID: " + id);
         }
     }
 
@@ -361,41 +352,141 @@ public class TimeTrackingDao {
      * Delete all time entries for a task
      */
     public void deleteAllEntriesForTask(int taskId) {
-        String sql = """
-            DELETE FROM TimeTracking
-            WHERE task_id = ?
-            """;
-
-        try (Connection conn = DatabaseConfig.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-
-            stmt.setInt(1, taskId);
-            int rowsDeleted = stmt.executeUpdate();
-            System.out.println(" Deleted " + rowsDeleted + " time entries for task");
+        int rowsDeleted = deleteWhere("task_id = ?", taskId, "Error deleting time entries for task");
+        System.out.println(" Deleted " + rowsDeleted + " time entries for task");
+    }
 
-        } catch (SQLException e) {
-            System.err.println(" Error deleting time entries for task: " + e.getMessage());
-        }
+    /**
+     * Delete all time entries for the tasks of a project (before the project itself goes)
+     */
+    public void deleteAllEntriesForProject(int projectId) {
+        int rowsDeleted = deleteWhere("task_id IN (SELECT task_id FROM Tasks WHERE project_id = ?)", projectId,
+                "Error deleting time entries for project");
+        System.out.println(" Deleted " + rowsDeleted + " time entries for project");
     }
 
     /**
      * Delete all time entries by a user
      */
     public void deleteAllEntriesByUser(int userId) {
+        int rowsDeleted = deleteWhere("user_id = ?", userId, "Error deleting time entries by user");
+        System.out.println(" Deleted " + rowsDeleted + " time entries by user");
+    }
+
+    /**
+     * Delete the matching entries and take them out of the aggregates in the same transaction
+     *
+     * @return Number of entries deleted
+     */
+    private int deleteWhere(String condition, int id, String errorMessage) {
         String sql = """
             DELETE FROM TimeTracking
-            WHERE user_id = ?
-            """;
+            OUTPUT DELETED.task_id, DELETED.user_id, DELETED.work_date, DELETED.hours_worked
+            WHERE %s
+            """.formatted(condition);
 
-        try (Connection conn = DatabaseConfig.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+        return Transactions.run(errorMessage, 0, conn -> {
+            AggregateDeltas deltas = new AggregateDeltas();
+            int rowsDeleted = 0;
 
-            stmt.setInt(1, userId);
-            int rowsDeleted = stmt.executeUpdate();
-            System.out.println(" Deleted " + rowsDeleted + " time entries by user");
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                stmt.setInt(1, id);
 
-        } catch (SQLException e) {
-            System.err.println(" Error deleting time entries by user: " + e.getMessage());
+                ResultSet rs = stmt.executeQuery();
+                while (rs.next()) {
+                    deltas.remove(rs);
+                    rowsDeleted++;
+                }
+            }
+
+            deltas.apply(conn);
+            return rowsDeleted;
+        });
+    }
+
+    // ==================== AGGREGATES ====================
+    // TimeTrackingTaskTotals (per task) and TimeTrackingUserDailyTotals (per user and day)
+    // hold running sums of TimeTracking. Every write above changes them in the same
+    // transaction as the entries, so the totals below are key lookups instead of scans.
+    // The tables are created and backfilled by database/020_time_tracking_totals.sql.
+
+    /**
+     * Changes to the aggregates caused by one write, summed per key
+     */
+    private static final class AggregateDeltas {
+        private record UserDay(int userId, LocalDate workDate) {}
+
+        // [hours, entries]
+        private final Map<Integer, double[]> byTask = new HashMap<>();
+        private final Map<UserDay, double[]> byUserDay = new HashMap<>();
+
+        void add(int taskId, int userId, LocalDate workDate, double hours, int entries) {
+            accumulate(byTask.computeIfAbsent(taskId, k -> new double[2]), hours, entries);
+            accumulate(byUserDay.computeIfAbsent(new UserDay(userId, workDate), k -> new double[2]), hours, entries);
+        }
+
+        /**
+         * Take out an entry read from an OUTPUT DELETED row
+         */
+        void remove(ResultSet rs) throws SQLException {
+            add(rs.getInt("task_id"), rs.getInt("user_id"), rs.getDate("work_date").toLocalDate(),
+                    -rs.getDouble("hours_worked"), -1);
+        }
+
+        boolean isEmpty() {
+            return byTask.isEmpty();
+        }
+
+        void apply(Connection conn) throws SQLException {
+            if (isEmpty()) {
+                return;
+            }
+
+            String taskSql = """
+                MERGE TimeTrackingTaskTotals WITH (HOLDLOCK) AS t
+                USING (SELECT ? AS task_id, ? AS hours, ? AS entries) AS d
+                ON t.task_id = d.task_id
+                WHEN MATCHED THEN
+                    UPDATE SET total_hours = t.total_hours + d.hours, entry_count = t.entry_count + d.entries
+                WHEN NOT MATCHED THEN
+                    INSERT (task_id, total_hours, entry_count) VALUES (d.task_id, d.hours, d.entries);
+                """;
+
+            String userDaySql = """
+                MERGE TimeTrackingUserDailyTotals WITH (HOLDLOCK) AS t
+                USING (SELECT ? AS user_id, ? AS work_date, ? AS hours, ? AS entries) AS d
+                ON t.user_id = d.user_id AND t.work_date = d.work_date
+                WHEN MATCHED THEN
+                    UPDATE SET total_hours = t.total_hours + d.hours, entry_count = t.entry_count + d.entries
+                WHEN NOT MATCHED THEN
+                    INSERT (user_id, work_date, total_hours, entry_count) VALUES (d.user_id, d.work_date, d.hours, d.entries);
+                """;
+
+            try (PreparedStatement stmt = conn.prepareStatement(taskSql)) {
+                for (Map.Entry<Integer, double[]> delta : byTask.entrySet()) {
+                    stmt.setInt(1, delta.getKey());
+                    stmt.setDouble(2, delta.getValue()[0]);
+                    stmt.setInt(3, (int) delta.getValue()[1]);
+                    stmt.addBatch();
+                }
+                stmt.executeBatch();
+            }
+
+            try (PreparedStatement stmt = conn.prepareStatement(userDaySql)) {
+                for (Map.Entry<UserDay, double[]> delta : byUserDay.entrySet()) {
+                    stmt.setInt(1, delta.getKey().userId());
+                    stmt.setDate(2, Date.valueOf(delta.getKey().workDate()));
+                    stmt.setDouble(3, delta.getValue()[0]);
+                    stmt.setInt(4, (int) delta.getValue()[1]);
+                    stmt.addBatch();
+                }
+                stmt.executeBatch();
+            }
+        }
+
+        private static void accumulate(double[] totals, double hours, int entries) {
+            totals[0] += hours;
+            totals[1] += entries;
         }
     }
 
@@ -405,25 +496,12 @@ public class TimeTrackingDao {
      */
     public double getTotalHoursForTask(int taskId) {
         String sql = """
-            SELECT SUM(hours_worked) as total_hours
-            FROM TimeTracking
+            SELECT total_hours
+            FROM TimeTrackingTaskTotals
             WHERE task_id = ?
             """;
 
-        try (Connection conn = DatabaseConfig.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-
-            stmt.setInt(1, taskId);
-            ResultSet rs = stmt.executeQuery();
-
-            if (rs.next()) {
-                return rs.getDouble("total_hours");
-            }
-
-        } catch (SQLException e) {
-            System.err.println(" Error getting total hours for task: " + e.getMessage());
-        }
-        return 0.0;
+        return queryTotal(sql, "Error getting total hours for task", taskId);
     }
 
     /**
@@ -431,29 +509,17 @@ public class TimeTrackingDao {
      */
     public double getTotalHoursForUser(int userId) {
         String sql = """
-            SELECT SUM(hours_worked) as total_hours
-            FROM TimeTracking
+            SELECT SUM(total_hours) as total_hours
+            FROM TimeTrackingUserDailyTotals
             WHERE user_id = ?
             """;
 
-        try (Connection conn = DatabaseConfig.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-
-            stmt.setInt(1, userId);
-            ResultSet rs = stmt.executeQuery();
-
-            if (rs.next()) {
-                return rs.getDouble("total_hours");
-            }
-
-        } catch (SQLException e) {
-            System.err.println(" Error getting total hours for user: " + e.getMessage());
-        }
-        return 0.0;
+        return queryTotal(sql, "Error getting total hours for user", userId);
     }
 
     /**
      * Get total hours for a user on a task
+     * (not pre-aggregated; reads only the entries of that task)
      */
     public double getTotalHoursForUserOnTask(int userId, int taskId) {
         String sql = """
@@ -462,21 +528,7 @@ public class TimeTrackingDao {
             WHERE user_id = ? AND task_id = ?
             """;
 
-        try (Connection conn = DatabaseConfig.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-
-            stmt.setInt(1, userId);
-            stmt.setInt(2, taskId);
-            ResultSet rs = stmt.executeQuery();
-
-            if (rs.next()) {
-                return rs.getDouble("total_hours");
-            }
-
-        } catch (SQLException e) {
-            System.err.println(" Error getting total hours for user on task: " + e.getMessage());
-        }
-        return 0.0;
+        return queryTotal(sql, "Error getting total hours for user on task", userId, taskId);
     }
 
     /**
@@ -484,26 +536,13 @@ public class TimeTrackingDao {
      */
     public double getTotalHoursByDateRange(LocalDate startDate, LocalDate endDate) {
         String sql = """
-            SELECT SUM(hours_worked) as total_hours
-            FROM TimeTracking
+            SELECT SUM(total_hours) as total_hours
+            FROM TimeTrackingUserDailyTotals
             WHERE work_date BETWEEN ? AND ?
             """;
 
-        try (Connection conn = DatabaseConfig.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-
-            stmt.setDate(1, Date.valueOf(startDate));
-            stmt.setDate(2, Date.valueOf(endDate));
-            ResultSet rs = stmt.executeQuery();
-
-            if (rs.next()) {
-                return rs.getDouble("total_hours");
-            }
-
-        } catch (SQLException e) {
-            System.err.println(" Error getting total hours by date range: " + e.getMessage());
-        }
-        return 0.0;
+        return queryTotal(sql, "Error getting total hours by date range",
+                Date.valueOf(startDate), Date.valueOf(endDate));
     }
 
     /**
@@ -511,70 +550,91 @@ public class TimeTrackingDao {
      */
     public double getTotalHoursForUserByDateRange(int userId, LocalDate startDate, LocalDate endDate) {
         String sql = """
-            SELECT SUM(hours_worked) as total_hours
-            FROM TimeTracking
+            SELECT SUM(total_hours) as total_hours
+            FROM TimeTrackingUserDailyTotals
             WHERE user_id = ? AND work_date BETWEEN ? AND ?
             """;
 
-        try (Connection conn = DatabaseConfig.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-
-            stmt.setInt(1, userId);
-            stmt.setDate(2, Date.valueOf(startDate));
-            stmt.setDate(3, Date.valueOf(endDate));
-            ResultSet rs = stmt.executeQuery();
-
-            if (rs.next()) {
-                return rs.getDouble("total_hours");
-            }
-
-        } catch (SQLException e) {
-            System.err.println(" Error getting total hours for user by date range: " + e.getMessage());
-        }
-        return 0.0;
+        return queryTotal(sql, "Error getting total hours for user by date range",
+                userId, Date.valueOf(startDate), Date.valueOf(endDate));
     }
 
     /**
      * Count time entries for a task
      */
     public int countEntriesForTask(int taskId) {
-        String sql = "SELECT COUNT(*) FROM TimeTracking WHERE task_id = ?";
+        String sql = "SELECT entry_count FROM TimeTrackingTaskTotals WHERE task_id = ?";
+
+        return (int) queryTotal(sql, "Error counting time entries for task", taskId);
+    }
 
+    /**
+     * Count time entries by a user
+     */
+    public int countEntriesForUser(int userId) {
+        String sql = "SELECT SUM(entry_count) FROM TimeTrackingUserDailyTotals WHERE user_id = ?";
+
+        return (int) queryTotal(sql, "Error counting time entries for user", userId);
+    }
+
+    /**
+     * Run a single-value total query (0 if there is no row)
+     */
+    private double queryTotal(String sql, String errorMessage, Object... params) {
         try (Connection conn = DatabaseConfig.getConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
 
-            stmt.setInt(1, taskId);
+            for (int i = 0; i < params.length; i++) {
+                stmt.setObject(i + 1, params[i]);
+            }
             ResultSet rs = stmt.executeQuery();
 
             if (rs.next()) {
-                return rs.getInt(1);
+                return rs.getDouble(1);
             }
 
         } catch (SQLException e) {
-            System.err.println(" Error counting time entries for task: " + e.getMessage());
+            System.err.println(" " + errorMessage + ": " + e.getMessage());
         }
-        return 0;
+        return 0.0;
     }
 
     /**
-     * Count time entries by a user
+     * Estimated vs. logged hours of one finished task
      */
-    public int countEntriesForUser(int userId) {
-        String sql = "SELECT COUNT(*) FROM TimeTracking WHERE user_id = ?";
+    public record EstimateActual(int taskId, double estimatedHours, double actualHours) {}
+
+    /**
+     * Estimated and logged hours of every DONE task that has both
+     * (history used to calibrate delivery forecasts)
+     */
+    public List<EstimateActual> findEstimateActualsForDoneTasks() {
+        String sql = """
+            SELECT t.task_id, t.estimated_hours, tot.total_hours AS actual_hours
+            FROM Tasks t
+            JOIN TaskStatus ts ON t.status_id = ts.status_id
+            JOIN TimeTrackingTaskTotals tot ON tot.task_id = t.task_id
+            WHERE ts.status_name = 'DONE' AND t.estimated_hours > 0 AND tot.total_hours > 0
+            """;
+
+        List<EstimateActual> rows = new ArrayList<>();
 
         try (Connection conn = DatabaseConfig.getConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
 
-            stmt.setInt(1, userId);
             ResultSet rs = stmt.executeQuery();
 
-            if (rs.next()) {
-                return rs.getInt(1);
+            while (rs.next()) {
+                rows.add(new EstimateActual(
+                        rs.getInt("task_id"),
+                        rs.getDouble("estimated_hours"),
+                        rs.getDouble("actual_hours")
+                ));
             }
 
         } catch (SQLException e) {
-            System.err.println(" Error counting time entries for user: " + e.getMessage());
+            System.err.println(" Error loading estimate history: " + e.getMessage());
         }
-        return 0;
+        return rows;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,62 @@
+package com.ahmet.tpm.dao;
+
+import com.ahmet.tpm.config.DatabaseConfig;
+
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.function.Consumer;
+
+/**
+ * Read side of timesheets: hours per user, project and day over a date range,
+ * summed by the database in one grouped query and handed out row by row.
+ */
+public class TimesheetDao {
+
+    /**
+     * Hours one user logged on one project on one day (projectId is null for tasks without a project)
+     */
+    public record TimesheetCell(int userId, String userName, Integer projectId, String projectName,
+                                LocalDate workDate, double hours) {}
+
+    /**
+     * Stream the grouped hours of a date range (both ends included), ordered by
+     * user, then project, then day, without collecting them in a list
+     */
+    public void forEachCell(LocalDate startDate, LocalDate endDate, Consumer<TimesheetCell> handler) throws SQLException {
+        String sql = """
+            SELECT tt.user_id, u.full_name, t.project_id, p.project_name, tt.work_date,
+                   SUM(tt.hours_worked) AS hours
+            FROM TimeTracking tt
+            JOIN Users u ON u.user_id = tt.user_id
+            JOIN Tasks t ON t.task_id = tt.task_id
+            LEFT JOIN Projects p ON p.project_id = t.project_id
+            WHERE tt.work_date BETWEEN ? AND ?
+            GROUP BY tt.user_id, u.full_name, t.project_id, p.project_name, tt.work_date
+            ORDER BY u.full_name, tt.user_id, p.project_name, t.project_id, tt.work_date
+            """;
+
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement stmt = ExportDao.prepareStreaming(conn, sql)) {
+
+            stmt.setDate(1, Date.valueOf(startDate));
+            stmt.setDate(2, Date.valueOf(endDate));
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    handler.accept(new TimesheetCell(
+                            rs.getInt("user_id"),
+                            rs.getString("full_name"),
+                            rs.getObject("project_id", Integer.class),
+                            rs.getString("project_name"),
+                            rs.getDate("work_date").toLocalDate(),
+                            rs.getDouble("hours")
+                    ));
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.ahmet.tpm.dao;
+
+import com.ahmet.tpm.config.DatabaseConfig;
+import com.ahmet.tpm.config.UnitOfWork;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Runs a DAO write together with the derived rows it keeps in step (aggregates,
+ * search terms) in one UnitOfWork, joining the caller's unit if one is open
+ */
+final class Transactions {
+
+    interface Work<T> {
+        T run(Connection conn) throws SQLException;
+    }
+
+    private Transactions() {}
+
+    /**
+     * Run the work and commit; on failure log the error and return the fallback
+     * (the unit is rolled back, or marked rollback-only if it was joined)
+     */
+    static <T> T run(String errorMessage, T fallback, Work<T> work) {
+        try {
+            return runOrThrow(work);
+        } catch (SQLException e) {
+            System.err.println("✗ " + errorMessage + ": " + e.getMessage());
+            return fallback;
+        }
+    }
+
+    /**
+     * Run the work and commit, passing failures on to the caller
+     */
+    static <T> T runOrThrow(Work<T> work) throws SQLException {
+        try (UnitOfWork uow = UnitOfWork.begin();
+             Connection conn = DatabaseConfig.getConnection()) {
+
+            T result = work.run(conn);
+
+            uow.commit();
+            return result;
+        }
+    }
+}
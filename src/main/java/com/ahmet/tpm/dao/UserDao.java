@@ -1,15 +1,42 @@
 package com.ahmet.tpm.dao;
 
 import com.ahmet.tpm.config.DatabaseConfig;
+import com.ahmet.tpm.config.UnitOfWork;
 import com.ahmet.tpm.models.User;
 
 import java.sql.*;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 public class UserDao {
 
+    // ==================== IDENTITY MAP ====================
+    // Users already loaded in this session, keyed by user_id (LRU, bounded)
+    private static final int IDENTITY_MAP_SIZE = 1000;
+
+    private static final Map<Integer, User> IDENTITY_MAP = Collections.synchronizedMap(
+            new LinkedHashMap<>(64, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Integer, User> eldest) {
+                    return size() > IDENTITY_MAP_SIZE;
+                }
+            });
+
+    /**
+     * Forget all users loaded in this session (call on logout)
+     */
+    public static void clearIdentityMap() {
+        IDENTITY_MAP.clear();
+    }
+
     public int insert(User user) throws SQLException {
         String sql = "INSERT INTO Users (username, password, email, full_name, department_id) " +
                 "VALUES (?, ?, ?, ?, ?)";
@@ -43,6 +70,11 @@ public class UserDao {
     }
 
     public User findById(int userId) throws SQLException {
+        User cached = IDENTITY_MAP.get(userId);
+        if (cached != null) {
+            return cached;
+        }
+
         String sql = "SELECT * FROM Users WHERE user_id = ?";
 
         try (Connection conn = DatabaseConfig.getConnection();
@@ -52,13 +84,51 @@ public class UserDao {
 
             try (ResultSet rs = stmt.executeQuery()) {
                 if (rs.next()) {
-                    return extractUserFromResultSet(rs);
+                    User user = extractUserFromResultSet(rs);
+                    IDENTITY_MAP.put(user.getUserId(), user);
+                    return user;
                 }
             }
         }
         return null;  // User not found
     }
 
+    // READ - Get many users by ID in one query
+    /**
+     * Load several users at once. Users already in the session identity map are
+     * not queried again; the rest are fetched with chunked IN queries.
+     *
+     * @return Map of user_id to User (IDs that do not exist are absent)
+     */
+    public Map<Integer, User> findByIds(Collection<Integer> userIds) throws SQLException {
+        Map<Integer, User> result = new HashMap<>();
+        Set<Integer> missing = new LinkedHashSet<>();
+
+        for (Integer userId : userIds) {
+            if (userId == null) {
+                continue;
+            }
+            User cached = IDENTITY_MAP.get(userId);
+            if (cached != null) {
+                result.put(userId, cached);
+            } else {
+                missing.add(userId);
+            }
+        }
+
+        if (missing.isEmpty()) {
+            return result;
+        }
+
+        BulkIdQuery.forEach("SELECT * FROM Users WHERE user_id IN ({ids})", missing, rs -> {
+            User user = extractUserFromResultSet(rs);
+            IDENTITY_MAP.put(user.getUserId(), user);
+            result.put(user.getUserId(), user);
+        });
+
+        return result;
+    }
+
     public User findByEmail(String email) throws SQLException {
         String sql = "SELECT * FROM Users WHERE email = ?";
 
@@ -112,6 +182,8 @@ public class UserDao {
 
     // UPDATE - Update user information
     public boolean update(User user) throws SQLException {
+        IDENTITY_MAP.remove(user.getUserId());
+
         String sql = "UPDATE Users SET username = ?, password = ?, email = ?, " +
                 "full_name = ?, department_id = ? WHERE user_id = ?";
 
@@ -138,14 +210,25 @@ public class UserDao {
 
     // DELETE - Delete user by ID
     public boolean delete(int userId) throws SQLException {
+        IDENTITY_MAP.remove(userId);
+
         String sql = "DELETE FROM Users WHERE user_id = ?";
 
-        try (Connection conn = DatabaseConfig.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+        // The user's time entries and comments go through their DAOs so the time totals
+        // and the comment search index stay in step
+        try (UnitOfWork uow = UnitOfWork.begin();
+             Connection conn = DatabaseConfig.getConnection()) {
 
-            stmt.setInt(1, userId);
+            new TimeTrackingDao().deleteAllEntriesByUser(userId);
+            new TaskCommentDao().deleteAllCommentsByUser(userId);
 
-            int affectedRows = stmt.executeUpdate();
+            int affectedRows;
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                stmt.setInt(1, userId);
+                affectedRows = stmt.executeUpdate();
+            }
+
+            uow.commit();
             return affectedRows > 0;
         }
     }
@@ -0,0 +1,61 @@
+package com.ahmet.tpm.models;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * DTO for the project dashboard
+ * Holds the project total, the per-status counts and the most recent projects,
+ * as returned by DashboardDao
+ */
+public class ProjectDashboardStats {
+    private int totalProjects;
+    private Map<Integer, Integer> countsByStatusId = new LinkedHashMap<>();
+    private List<ProjectWithDetails> recentProjects = new ArrayList<>();
+
+    public ProjectDashboardStats() {}
+
+    // Getters
+    public int getTotalProjects() {
+        return totalProjects;
+    }
+
+    /**
+     * Project count per status id, in status order (statuses without projects map to 0)
+     */
+    public Map<Integer, Integer> getCountsByStatusId() {
+        return countsByStatusId;
+    }
+
+    public int getCountForStatus(int statusId) {
+        return countsByStatusId.getOrDefault(statusId, 0);
+    }
+
+    public List<ProjectWithDetails> getRecentProjects() {
+        return recentProjects;
+    }
+
+    // Setters
+    public void setTotalProjects(int totalProjects) {
+        this.totalProjects = totalProjects;
+    }
+
+    public void setCountsByStatusId(Map<Integer, Integer> countsByStatusId) {
+        this.countsByStatusId = countsByStatusId;
+    }
+
+    public void setRecentProjects(List<ProjectWithDetails> recentProjects) {
+        this.recentProjects = recentProjects;
+    }
+
+    @Override
+    public String toString() {
+        return "ProjectDashboardStats{" +
+                "totalProjects=" + totalProjects +
+                ", countsByStatusId=" + countsByStatusId +
+                ", recentProjects=" + recentProjects.size() +
+                '}';
+    }
+}
@@ -0,0 +1,79 @@
+package com.ahmet.tpm.models;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * DTO for the task dashboard of one user
+ * Holds the per-status counts, the overdue count and the most recent tasks
+ * assigned to the user, as returned by DashboardDao
+ */
+public class TaskDashboardStats {
+    private int totalTasks;
+    private int overdueTasks;
+    private Map<String, Integer> countsByStatus = new LinkedHashMap<>();
+    private List<TaskWithDetails> recentTasks = new ArrayList<>();
+
+    public TaskDashboardStats() {}
+
+    // Getters
+    public int getTotalTasks() {
+        return totalTasks;
+    }
+
+    public int getOverdueTasks() {
+        return overdueTasks;
+    }
+
+    /**
+     * Task count per status name, in status order
+     */
+    public Map<String, Integer> getCountsByStatus() {
+        return countsByStatus;
+    }
+
+    /**
+     * Task count for a status name (case-insensitive), 0 if the user has none
+     */
+    public int getCountForStatus(String statusName) {
+        for (Map.Entry<String, Integer> entry : countsByStatus.entrySet()) {
+            if (entry.getKey() != null && entry.getKey().equalsIgnoreCase(statusName)) {
+                return entry.getValue();
+            }
+        }
+        return 0;
+    }
+
+    public List<TaskWithDetails> getRecentTasks() {
+        return recentTasks;
+    }
+
+    // Setters
+    public void setTotalTasks(int totalTasks) {
+        this.totalTasks = totalTasks;
+    }
+
+    public void setOverdueTasks(int overdueTasks) {
+        this.overdueTasks = overdueTasks;
+    }
+
+    public void setCountsByStatus(Map<String, Integer> countsByStatus) {
+        this.countsByStatus = countsByStatus;
+    }
+
+    public void setRecentTasks(List<TaskWithDetails> recentTasks) {
+        this.recentTasks = recentTasks;
+    }
+
+    @Override
+    public String toString() {
+        return "TaskDashboardStats{" +
+                "totalTasks=" + totalTasks +
+                ", overdueTasks=" + overdueTasks +
+                ", countsByStatus=" + countsByStatus +
+                ", recentTasks=" + recentTasks.size() +
+                '}';
+    }
+}
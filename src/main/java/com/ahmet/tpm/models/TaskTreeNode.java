@@ -0,0 +1,159 @@
+package com.ahmet.tpm.models;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * DTO for one task in a subtask tree, as returned by TaskDao.findSubtaskTree
+ * Holds the task's own estimated and logged hours plus the totals of its whole
+ * subtree (the task itself and all of its descendants)
+ */
+public class TaskTreeNode {
+    private int taskId;
+    private Integer parentTaskId;
+    private String taskName;
+    private String statusName;
+    private int depth;
+    private double estimatedHours;
+    private double loggedHours;
+    private double totalEstimatedHours;
+    private double totalLoggedHours;
+    private int descendantCount;
+    private List<TaskTreeNode> children = new ArrayList<>();
+
+    public TaskTreeNode() {}
+
+    public TaskTreeNode(int taskId, Integer parentTaskId, String taskName, String statusName,
+                        int depth, double estimatedHours, double loggedHours) {
+        this.taskId = taskId;
+        this.parentTaskId = parentTaskId;
+        this.taskName = taskName;
+        this.statusName = statusName;
+        this.depth = depth;
+        this.estimatedHours = estimatedHours;
+        this.loggedHours = loggedHours;
+        this.totalEstimatedHours = estimatedHours;
+        this.totalLoggedHours = loggedHours;
+    }
+
+    // Getters
+    public int getTaskId() {
+        return taskId;
+    }
+
+    public Integer getParentTaskId() {
+        return parentTaskId;
+    }
+
+    public String getTaskName() {
+        return taskName;
+    }
+
+    public String getStatusName() {
+        return statusName;
+    }
+
+    /**
+     * Distance from the root of the loaded tree (the root is 0)
+     */
+    public int getDepth() {
+        return depth;
+    }
+
+    public double getEstimatedHours() {
+        return estimatedHours;
+    }
+
+    public double getLoggedHours() {
+        return loggedHours;
+    }
+
+    /**
+     * Estimated hours of this task and all of its descendants
+     */
+    public double getTotalEstimatedHours() {
+        return totalEstimatedHours;
+    }
+
+    /**
+     * Logged hours of this task and all of its descendants
+     */
+    public double getTotalLoggedHours() {
+        return totalLoggedHours;
+    }
+
+    public int getDescendantCount() {
+        return descendantCount;
+    }
+
+    public List<TaskTreeNode> getChildren() {
+        return children;
+    }
+
+    public boolean isLeaf() {
+        return children.isEmpty();
+    }
+
+    // Setters
+    public void setTaskId(int taskId) {
+        this.taskId = taskId;
+    }
+
+    public void setParentTaskId(Integer parentTaskId) {
+        this.parentTaskId = parentTaskId;
+    }
+
+    public void setTaskName(String taskName) {
+        this.taskName = taskName;
+    }
+
+    public void setStatusName(String statusName) {
+        this.statusName = statusName;
+    }
+
+    public void setDepth(int depth) {
+        this.depth = depth;
+    }
+
+    public void setEstimatedHours(double estimatedHours) {
+        this.estimatedHours = estimatedHours;
+    }
+
+    public void setLoggedHours(double loggedHours) {
+        this.loggedHours = loggedHours;
+    }
+
+    public void setTotalEstimatedHours(double totalEstimatedHours) {
+        this.totalEstimatedHours = totalEstimatedHours;
+    }
+
+    public void setTotalLoggedHours(double totalLoggedHours) {
+        this.totalLoggedHours = totalLoggedHours;
+    }
+
+    public void setDescendantCount(int descendantCount) {
+        this.descendantCount = descendantCount;
+    }
+
+    public void setChildren(List<TaskTreeNode> children) {
+        this.children = children;
+    }
+
+    public void addChild(TaskTreeNode child) {
+        children.add(child);
+    }
+
+    /**
+     * Add a finished child subtree to this node's totals
+     */
+    public void rollUp(TaskTreeNode child) {
+        totalEstimatedHours += child.totalEstimatedHours;
+        totalLoggedHours += child.totalLoggedHours;
+        descendantCount += child.descendantCount + 1;
+    }
+
+    @Override
+    public String toString() {
+        return taskName;
+    }
+}
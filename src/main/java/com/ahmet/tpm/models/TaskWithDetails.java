@@ -0,0 +1,185 @@
+package com.ahmet.tpm.models;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * DTO class for Task with Project, Status and Priority details
+ * Used when fetching tasks with JOIN queries
+ */
+public class TaskWithDetails {
+    private int taskId;
+    private int projectId;
+    private String projectName;
+    private String taskName;
+    private String description;
+    private int statusId;
+    private String statusName;
+    private int priorityId;
+    private String priorityName;
+    private double estimatedHours;
+    private LocalDate dueDate;
+    private Integer parentTaskId;
+    private int createdBy;
+    private String createdByUsername;
+    private LocalDateTime createdAt;
+
+    // Constructor
+    public TaskWithDetails(int taskId, int projectId, String projectName,
+                           String taskName, String description,
+                           int statusId, String statusName,
+                           int priorityId, String priorityName,
+                           double estimatedHours, LocalDate dueDate,
+                           Integer parentTaskId,
+                           int createdBy, String createdByUsername,
+                           LocalDateTime createdAt) {
+        this.taskId = taskId;
+        this.projectId = projectId;
+        this.projectName = projectName;
+        this.taskName = taskName;
+        this.description = description;
+        this.statusId = statusId;
+        this.statusName = statusName;
+        this.priorityId = priorityId;
+        this.priorityName = priorityName;
+        this.estimatedHours = estimatedHours;
+        this.dueDate = dueDate;
+        this.parentTaskId = parentTaskId;
+        this.createdBy = createdBy;
+        this.createdByUsername = createdByUsername;
+        this.createdAt = createdAt;
+    }
+
+    // Getters
+    public int getTaskId() {
+        return taskId;
+    }
+
+    public int getProjectId() {
+        return projectId;
+    }
+
+    public String getProjectName() {
+        return projectName;
+    }
+
+    public String getTaskName() {
+        return taskName;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public int getStatusId() {
+        return statusId;
+    }
+
+    public String getStatusName() {
+        return statusName;
+    }
+
+    public int getPriorityId() {
+        return priorityId;
+    }
+
+    public String getPriorityName() {
+        return priorityName;
+    }
+
+    public double getEstimatedHours() {
+        return estimatedHours;
+    }
+
+    public LocalDate getDueDate() {
+        return dueDate;
+    }
+
+    public Integer getParentTaskId() {
+        return parentTaskId;
+    }
+
+    public int getCreatedBy() {
+        return createdBy;
+    }
+
+    public String getCreatedByUsername() {
+        return createdByUsername;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    // Setters
+    public void setTaskId(int taskId) {
+        this.taskId = taskId;
+    }
+
+    public void setProjectId(int projectId) {
+        this.projectId = projectId;
+    }
+
+    public void setProjectName(String projectName) {
+        this.projectName = projectName;
+    }
+
+    public void setTaskName(String taskName) {
+        this.taskName = taskName;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    public void setStatusId(int statusId) {
+        this.statusId = statusId;
+    }
+
+    public void setStatusName(String statusName) {
+        this.statusName = statusName;
+    }
+
+    public void setPriorityId(int priorityId) {
+        this.priorityId = priorityId;
+    }
+
+    public void setPriorityName(String priorityName) {
+        this.priorityName = priorityName;
+    }
+
+    public void setEstimatedHours(double estimatedHours) {
+        this.estimatedHours = estimatedHours;
+    }
+
+    public void setDueDate(LocalDate dueDate) {
+        this.dueDate = dueDate;
+    }
+
+    public void setParentTaskId(Integer parentTaskId) {
+        this.parentTaskId = parentTaskId;
+    }
+
+    public void setCreatedBy(int createdBy) {
+        this.createdBy = createdBy;
+    }
+
+    public void setCreatedByUsername(String createdByUsername) {
+        this.createdByUsername = createdByUsername;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    @Override
+    public String toString() {
+        return "TaskWithDetails{" +
+                "taskId=" + taskId +
+                ", taskName='" + taskName + '\'' +
+                ", projectName='" + projectName + '\'' +
+                ", statusName='" + statusName + '\'' +
+                ", priorityName='" + priorityName + '\'' +
+                '}';
+    }
+}
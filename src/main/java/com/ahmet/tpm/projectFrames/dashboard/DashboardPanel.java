@@ -1,10 +1,11 @@
 package com.ahmet.tpm.projectFrames.dashboard;
 
-import com.ahmet.tpm.dao.ProjectDao;
+import com.ahmet.tpm.dao.DashboardDao;
 import com.ahmet.tpm.dao.ProjectMemberDao;
 import com.ahmet.tpm.dao.ProjectStatusDao;
-import com.ahmet.tpm.models.Project;
+import com.ahmet.tpm.models.ProjectDashboardStats;
 import com.ahmet.tpm.models.ProjectStatus;
+import com.ahmet.tpm.models.ProjectWithDetails;
 import com.ahmet.tpm.projectFrames.MainFrame;
 import com.ahmet.tpm.utils.ComponentFactory;
 import com.ahmet.tpm.utils.StyleUtil;
@@ -27,10 +28,12 @@ public class DashboardPanel extends JPanel {
     private MainFrame mainFrame;
 
     // DAOs
-    private ProjectDao projectDao;
+    private DashboardDao dashboardDao;
     private ProjectStatusDao statusDao;
     private ProjectMemberDao memberDao;
 
+    private static final int RECENT_PROJECT_LIMIT = 5;
+
     // UI Components for Summary Cards (A)
     private JLabel lblTotalProjects;
     private JLabel lblActiveProjects;
@@ -46,7 +49,7 @@ public class DashboardPanel extends JPanel {
 
     public DashboardPanel(MainFrame mainFrame) {
         this.mainFrame = mainFrame;
-        this.projectDao = new ProjectDao();
+        this.dashboardDao = new DashboardDao();
         this.statusDao = new ProjectStatusDao();
         this.memberDao = new ProjectMemberDao();
 
@@ -342,14 +345,17 @@ public class DashboardPanel extends JPanel {
      */
     public void loadDashboardData() {
         try {
+            // Counts, total and recent projects in one aggregate call
+            ProjectDashboardStats stats = dashboardDao.getProjectDashboard(RECENT_PROJECT_LIMIT);
+
             // A. Load Summary Card Data
-            loadSummaryData();
+            loadSummaryData(stats);
 
             // B. Load Recent Projects
-            loadRecentProjects();
+            loadRecentProjects(stats);
 
             // C. Load Status Distribution
-            loadStatusDistribution();
+            loadStatusDistribution(stats);
 
         } catch (Exception e) {
             JOptionPane.showMessageDialog(this,
@@ -363,17 +369,17 @@ public class DashboardPanel extends JPanel {
     /**
      * Load data for summary cards (A)
      */
-    private void loadSummaryData() {
+    private void loadSummaryData(ProjectDashboardStats stats) {
         // Total Projects
-        int totalProjects = projectDao.count();
+        int totalProjects = stats.getTotalProjects();
         lblTotalProjects.setText(String.valueOf(totalProjects));
 
         // Active Projects (status_id = 2 for "In Progress")
-        int activeProjects = projectDao.countByStatus(2);
+        int activeProjects = stats.getCountForStatus(2);
         lblActiveProjects.setText(String.valueOf(activeProjects));
 
         // Completed Projects (status_id = 3 for "Completed")
-        int completedProjects = projectDao.countByStatus(3);
+        int completedProjects = stats.getCountForStatus(3);
         lblCompletedProjects.setText(String.valueOf(completedProjects));
 
         // Total Members (count all unique project members)
@@ -386,22 +392,14 @@ public class DashboardPanel extends JPanel {
     /**
      * Load recent projects for table (B)
      */
-    private void loadRecentProjects() {
+    private void loadRecentProjects(ProjectDashboardStats stats) {
         tableModel.setRowCount(0); // Clear existing rows
 
-        List<Project> allProjects = projectDao.findAll();
+        // Already limited to the most recent projects (by created_at)
+        for (ProjectWithDetails project : stats.getRecentProjects()) {
 
-        // Take first 5 projects (most recent by created_at)
-        int limit = Math.min(5, allProjects.size());
-        for (int i = 0; i < limit; i++) {
-            Project project = allProjects.get(i);
-
-            // Get status name
-            String statusName = "Unknown";
-            ProjectStatus status = statusDao.findById(project.getStatusId());
-            if (status != null) {
-                statusName = status.getStatusName();
-            }
+            // Status name comes from the JOIN
+            String statusName = project.getStatusName() != null ? project.getStatusName() : "Unknown";
 
             // Format dates
             String startDate = project.getStartDate() != null ?
@@ -410,7 +408,7 @@ public class DashboardPanel extends JPanel {
                     project.getDeadline().toLocalDate().toString() : "-";
 
             // Calculate progress (placeholder - can be improved)
-            String progress = calculateProgress(project);
+            String progress = calculateProgress(project.getStatusId());
 
             Object[] row = {
                     project.getProjectName(),
@@ -427,9 +425,9 @@ public class DashboardPanel extends JPanel {
      * Calculate project progress (simplified)
      * In real scenario, you would calculate based on tasks
      */
-    private String calculateProgress(Project project) {
+    private String calculateProgress(int statusId) {
         // Simple logic: Use status as indicator
-        switch (project.getStatusId()) {
+        switch (statusId) {
             case 1: // Planning
                 return "10%";
             case 2: // In Progress
@@ -446,27 +444,19 @@ public class DashboardPanel extends JPanel {
     /**
      * Load status distribution (C)
      */
-    private void loadStatusDistribution() {
+    private void loadStatusDistribution(ProjectDashboardStats stats) {
         statusDistributionPanel.removeAll(); // Clear existing bars
 
+        // Status names come from the lookup cache, counts from the aggregate query
         List<ProjectStatus> allStatuses = statusDao.findAll();
-        int totalProjects = projectDao.count();
-
-        // Find max count for scaling bars
-        int maxCount = 0;
-        for (ProjectStatus status : allStatuses) {
-            int count = projectDao.countByStatus(status.getStatusId());
-            if (count > maxCount) {
-                maxCount = count;
-            }
-        }
+        int totalProjects = stats.getTotalProjects();
 
         // Create a bar for each status
         Color[] colors = {StyleUtil.INFO, StyleUtil.WARNING, StyleUtil.SUCCESS, StyleUtil.DANGER};
         int colorIndex = 0;
 
         for (ProjectStatus status : allStatuses) {
-            int count = projectDao.countByStatus(status.getStatusId());
+            int count = stats.getCountForStatus(status.getStatusId());
             Color color = colors[colorIndex % colors.length];
 
             JPanel statusBar = createStatusBar(
@@ -15,7 +15,9 @@ import javax.swing.*;
 import javax.swing.table.DefaultTableModel;
 import java.awt.*;
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 public class ManageMembersDialog extends JDialog {
 
@@ -279,9 +281,16 @@ public class ManageMembersDialog extends JDialog {
 
         List<ProjectMember> members = projectMemberDao.findByProject(projectId);
 
-        for (ProjectMember member : members) {
-            try {
-                User user = userDao.findById(member.getUserId());
+        try {
+            // Load all member users in one query
+            List<Integer> userIds = new ArrayList<>();
+            for (ProjectMember member : members) {
+                userIds.add(member.getUserId());
+            }
+            Map<Integer, User> users = userDao.findByIds(userIds);
+
+            for (ProjectMember member : members) {
+                User user = users.get(member.getUserId());
                 if (user != null) {
                     Object[] row = {
                             member.getProjectMemberId(),
@@ -291,9 +300,9 @@ public class ManageMembersDialog extends JDialog {
                     };
                     tableModel.addRow(row);
                 }
-            } catch (SQLException e) {
-                System.err.println("Error loading user: " + e.getMessage());
             }
+        } catch (SQLException e) {
+            System.err.println("Error loading users: " + e.getMessage());
         }
 
         // Update count
@@ -1,11 +1,17 @@
 package com.ahmet.tpm.projectFrames.projects;
 
+import com.ahmet.tpm.config.UnitOfWork;
+import com.ahmet.tpm.dao.NotificationDao;
 import com.ahmet.tpm.dao.ProjectDao;
+import com.ahmet.tpm.dao.TaskCommentDao;
 import com.ahmet.tpm.dao.TaskDao;
 import com.ahmet.tpm.dao.ProjectMemberDao;
+import com.ahmet.tpm.dao.TimeTrackingDao;
 import com.ahmet.tpm.projectFrames.MainFrame;
 import com.ahmet.tpm.models.Project;
 import com.ahmet.tpm.models.ProjectWithDetails;
+import com.ahmet.tpm.service.DeliveryForecastService;
+import com.ahmet.tpm.service.DeliveryForecaster;
 import com.ahmet.tpm.utils.ComponentFactory;
 import com.ahmet.tpm.utils.StyleUtil;
 import com.ahmet.tpm.utils.UIHelper;
@@ -23,6 +29,10 @@ public class ProjectDetailsPanel extends JPanel {
     private ProjectDao projectDao;
     private TaskDao taskDao;
     private ProjectMemberDao projectMemberDao;
+    private NotificationDao notificationDao;
+    private TimeTrackingDao timeTrackingDao;
+    private TaskCommentDao taskCommentDao;
+    private DeliveryForecastService deliveryForecastService;
 
     // Current project
     private Project currentProject;
@@ -48,6 +58,10 @@ public class ProjectDetailsPanel extends JPanel {
         this.projectDao = new ProjectDao();
         this.taskDao = new TaskDao();
         this.projectMemberDao = new ProjectMemberDao();
+        this.notificationDao = new NotificationDao();
+        this.timeTrackingDao = new TimeTrackingDao();
+        this.taskCommentDao = new TaskCommentDao();
+        this.deliveryForecastService = new DeliveryForecastService();
 
         setLayout(new BorderLayout());
         setBackground(StyleUtil.BACKGROUND);
@@ -91,11 +105,15 @@ public class ProjectDetailsPanel extends JPanel {
         JButton btnMembers = ComponentFactory.createSecondaryButton("Members");
         btnMembers.addActionListener(e -> manageMembers());
 
+        JButton btnForecast = ComponentFactory.createSecondaryButton("Forecast");
+        btnForecast.addActionListener(e -> showForecast());
+
         JButton btnDelete = ComponentFactory.createDangerButton("Delete");
         btnDelete.addActionListener(e -> deleteProject());
 
         actionPanel.add(btnEdit);
         actionPanel.add(btnMembers);
+        actionPanel.add(btnForecast);
         actionPanel.add(btnDelete);
 
         panel.add(actionPanel, BorderLayout.EAST);
@@ -349,6 +367,47 @@ public class ProjectDetailsPanel extends JPanel {
         }
     }
 
+    private void showForecast() {
+        if (currentProject == null) return;
+
+        // The simulation takes a noticeable moment on large projects; keep the EDT free
+        Project project = currentProject;
+        UIHelper.runInBackground(mainFrame,
+                () -> deliveryForecastService.forecast(project.getProjectId()),
+                forecast -> showForecastResult(project, forecast),
+                "Cannot forecast: ");
+    }
+
+    private void showForecastResult(Project project, DeliveryForecastService.DeliveryForecast forecast) {
+        if (forecast == null) {
+            UIHelper.showError(mainFrame, "Project not found.");
+            return;
+        }
+
+        StringBuilder message = new StringBuilder();
+        message.append(String.format("Simulated %,d runs over %d tasks%n%n",
+                forecast.iterations(), forecast.taskCount()));
+        message.append(String.format("50%% likely done by: %s (%.0f h)%n", forecast.p50Date(), forecast.p50Hours()));
+        message.append(String.format("85%% likely done by: %s (%.0f h)%n", forecast.p85Date(), forecast.p85Hours()));
+        message.append(String.format("95%% likely done by: %s (%.0f h)%n%n", forecast.p95Date(), forecast.p95Hours()));
+
+        if (forecast.hasDeadline()) {
+            message.append(String.format("Deadline: %s (%.0f%% chance to make it)%n",
+                    forecast.deadline(), forecast.onTimeProbability() * 100));
+        } else {
+            message.append("Deadline: Not set\n");
+        }
+
+        DeliveryForecaster.Calibration calibration = forecast.calibration();
+        message.append(calibration.sampleCount() > 0
+                ? String.format("Estimates calibrated on %d finished tasks (typically x%.2f)",
+                        calibration.sampleCount(), calibration.getMedianFactor())
+                : "Not enough finished tasks with logged time yet; using default spread");
+
+        JOptionPane.showMessageDialog(mainFrame, message.toString(),
+                "Delivery Forecast - " + project.getProjectName(), JOptionPane.INFORMATION_MESSAGE);
+    }
+
     private void deleteProject() {
         if (currentProject == null) return;
 
@@ -360,7 +419,20 @@ public class ProjectDetailsPanel extends JPanel {
 
         if (confirm) {
             try {
-                projectDao.delete(currentProject.getProjectId());
+                int projectId = currentProject.getProjectId();
+
+                // Member cleanup and the delete itself succeed or fail together; time entries,
+                // comments and tasks go through their DAOs so the time totals and the
+                // comment and task search indexes stay in step
+                try (UnitOfWork uow = UnitOfWork.begin()) {
+                    timeTrackingDao.deleteAllEntriesForProject(projectId);
+                    taskCommentDao.deleteAllCommentsForProject(projectId);
+                    notificationDao.clearProjectReferences(projectId);
+                    projectMemberDao.deleteAllMembersFromProject(projectId);
+                    taskDao.deleteAllForProject(projectId);
+                    projectDao.delete(projectId);
+                    uow.commit();
+                }
                 UIHelper.showSuccess(mainFrame, "Project deleted successfully!");
                 parentModule.showProjectList();
             } catch (Exception e) {
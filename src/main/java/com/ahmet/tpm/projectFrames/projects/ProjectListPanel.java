@@ -1,15 +1,18 @@
 package com.ahmet.tpm.projectFrames.projects;
 
+import com.ahmet.tpm.components.PagedTableModel;
 import com.ahmet.tpm.dao.ProjectDao;
 import com.ahmet.tpm.projectFrames.MainFrame;
 import com.ahmet.tpm.models.Project;
 import com.ahmet.tpm.models.ProjectWithDetails;
+import com.ahmet.tpm.service.ExportService;
 import com.ahmet.tpm.utils.ComponentFactory;
 import com.ahmet.tpm.utils.StyleUtil;
+import com.ahmet.tpm.utils.UIHelper;
 
 import javax.swing.*;
-import javax.swing.table.DefaultTableModel;
 import java.awt.*;
+import java.nio.file.Path;
 import java.util.List;
 
 public class ProjectListPanel extends JPanel {
@@ -19,17 +22,23 @@ public class ProjectListPanel extends JPanel {
 
     // DAOs
     private ProjectDao projectDao;
+    private ExportService exportService;
 
     // UI Components
     private JTable projectTable;
-    private DefaultTableModel tableModel;
+    private PagedTableModel<ProjectWithDetails> tableModel;
     private JTextField searchField;
     private JComboBox<String> statusFilter;
 
+    // Rows are fetched lazily, PAGE_SIZE at a time, keeping at most MAX_CACHED_PAGES in memory
+    private static final int PAGE_SIZE = 100;
+    private static final int MAX_CACHED_PAGES = 10;
+
     public ProjectListPanel(ProjectsModulePanel parentModule, MainFrame mainFrame) {
         this.parentModule = parentModule;
         this.mainFrame = mainFrame;
         this.projectDao = new ProjectDao();
+        this.exportService = new ExportService();
 
         setLayout(new BorderLayout());
         setBackground(StyleUtil.BACKGROUND);
@@ -77,6 +86,11 @@ public class ProjectListPanel extends JPanel {
         btnRefresh.addActionListener(e -> refreshData());
         toolbar.add(btnRefresh);
 
+        // Export button
+        JButton btnExport = ComponentFactory.createSecondaryButton("Export CSV");
+        btnExport.addActionListener(e -> exportProjects());
+        toolbar.add(btnExport);
+
         toolbar.add(Box.createHorizontalStrut(20));
 
         // Search field
@@ -114,12 +128,7 @@ public class ProjectListPanel extends JPanel {
 
         // Table model - Updated columns (removed Code and Budget)
         String[] columnNames = {"ID", "Project Name", "Status", "Start Date", "Deadline", "Department"};
-        tableModel = new DefaultTableModel(columnNames, 0) {
-            @Override
-            public boolean isCellEditable(int row, int column) {
-                return false;  // Read-only table
-            }
-        };
+        tableModel = new PagedTableModel<>(columnNames, this::getColumnValue, PAGE_SIZE, MAX_CACHED_PAGES);
 
         projectTable = new JTable(tableModel);
         projectTable.setFont(StyleUtil.FONT_BODY);
@@ -146,10 +155,9 @@ public class ProjectListPanel extends JPanel {
             @Override
             public void mouseClicked(java.awt.event.MouseEvent e) {
                 if (e.getClickCount() == 2) {
-                    int row = projectTable.getSelectedRow();
-                    if (row != -1) {
-                        int projectId = (int) tableModel.getValueAt(row, 0);
-                        parentModule.showProjectDetails(projectId);
+                    ProjectWithDetails project = tableModel.getRow(projectTable.getSelectedRow());
+                    if (project != null) {
+                        parentModule.showProjectDetails(project.getProjectId());
                     }
                 }
             }
@@ -178,63 +186,52 @@ public class ProjectListPanel extends JPanel {
     }
 
     private void loadProjects() {
-        tableModel.setRowCount(0);  // Clear table
-
-        List<ProjectWithDetails> projects = projectDao.findAllWithDetails();
-
-        for (ProjectWithDetails project : projects) {
-            Object[] row = {
-                    project.getProjectId(),
-                    project.getProjectName(),
-                    project.getStatusName() != null ? project.getStatusName() : "Unknown",
-                    project.getStartDate() != null ? project.getStartDate().toLocalDate().toString() : "-",
-                    project.getDeadline() != null ? project.getDeadline().toLocalDate().toString() : "-",
-                    project.getDepartmentName() != null ? project.getDepartmentName() : "-"
-            };
-            tableModel.addRow(row);
-        }
-
-        updateStats(projects.size());
+        showProjects(null, null);
     }
 
     private void filterProjects() {
-        String searchText = searchField.getText().trim().toLowerCase();
+        String searchText = searchField.getText().trim();
         String selectedStatus = (String) statusFilter.getSelectedItem();
 
-        tableModel.setRowCount(0);
+        showProjects(searchText,
+                selectedStatus == null || selectedStatus.equals("All Status") ? null : selectedStatus);
+    }
 
-        List<ProjectWithDetails> projects = projectDao.findAllWithDetails();
-        int count = 0;
+    /**
+     * Point the table at the projects matching the filters.
+     * Only the count and the visible pages are queried.
+     */
+    private void showProjects(String nameContains, String statusName) {
+        tableModel.setSource(new PagedTableModel.PageSource<>() {
+            @Override
+            public int count() {
+                return projectDao.countWithDetails(nameContains, statusName);
+            }
 
-        for (ProjectWithDetails project : projects) {
-            // Filter by search text
-            if (!searchText.isEmpty()) {
-                if (!project.getProjectName().toLowerCase().contains(searchText)) {
-                    continue;
-                }
+            @Override
+            public List<ProjectWithDetails> fetchAfter(ProjectWithDetails lastRow, int pageSize) {
+                return projectDao.findWithDetailsAfter(nameContains, statusName, lastRow, pageSize);
             }
 
-            // Filter by status
-            if (!selectedStatus.equals("All Status")) {
-                String projectStatus = project.getStatusName() != null ? project.getStatusName() : "Unknown";
-                if (!projectStatus.equals(selectedStatus)) {
-                    continue;
-                }
+            @Override
+            public List<ProjectWithDetails> fetchPage(int pageIndex, int pageSize) {
+                return projectDao.findWithDetailsPage(nameContains, statusName, pageIndex, pageSize);
             }
+        });
 
-            Object[] row = {
-                    project.getProjectId(),
-                    project.getProjectName(),
-                    project.getStatusName() != null ? project.getStatusName() : "Unknown",
-                    project.getStartDate() != null ? project.getStartDate().toLocalDate().toString() : "-",
-                    project.getDeadline() != null ? project.getDeadline().toLocalDate().toString() : "-",
-                    project.getDepartmentName() != null ? project.getDepartmentName() : "-"
-            };
-            tableModel.addRow(row);
-            count++;
-        }
+        updateStats(tableModel.getRowCount());
+    }
 
-        updateStats(count);
+    private Object getColumnValue(ProjectWithDetails project, int column) {
+        return switch (column) {
+            case 0 -> project.getProjectId();
+            case 1 -> project.getProjectName();
+            case 2 -> project.getStatusName() != null ? project.getStatusName() : "Unknown";
+            case 3 -> project.getStartDate() != null ? project.getStartDate().toLocalDate().toString() : "-";
+            case 4 -> project.getDeadline() != null ? project.getDeadline().toLocalDate().toString() : "-";
+            case 5 -> project.getDepartmentName() != null ? project.getDepartmentName() : "-";
+            default -> null;
+        };
     }
 
     private void viewSelectedProject() {
@@ -247,8 +244,10 @@ public class ProjectListPanel extends JPanel {
             return;
         }
 
-        int projectId = (int) tableModel.getValueAt(row, 0);
-        parentModule.showProjectDetails(projectId);
+        ProjectWithDetails project = tableModel.getRow(row);
+        if (project != null) {
+            parentModule.showProjectDetails(project.getProjectId());
+        }
     }
 
     private void updateStats(int count) {
@@ -269,6 +268,18 @@ public class ProjectListPanel extends JPanel {
         loadProjects();
     }
 
+    /**
+     * Export all projects to CSV (streamed, runs in the background)
+     */
+    private void exportProjects() {
+        Path file = UIHelper.chooseCsvFile(mainFrame, "projects.csv");
+        if (file == null) return;
+
+        UIHelper.runInBackground(mainFrame, () -> exportService.exportProjects(file),
+                rows -> UIHelper.showSuccess(mainFrame, "Exported " + rows + " projects to\n" + file),
+                "Export failed: ");
+    }
+
     /**
      * Show database connection error message
      */
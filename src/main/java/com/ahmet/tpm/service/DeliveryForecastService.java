@@ -0,0 +1,125 @@
+package com.ahmet.tpm.service;
+
+import com.ahmet.tpm.dao.ProjectDao;
+import com.ahmet.tpm.dao.TimeTrackingDao;
+import com.ahmet.tpm.models.Project;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+
+/**
+ * Service layer for delivery forecasts
+ * Simulates the remaining work of a project with DeliveryForecaster and turns the
+ * resulting hours into calendar dates (8-hour working days, Monday to Friday),
+ * compared against the project's deadline.
+ */
+public class DeliveryForecastService {
+
+    private static final double HOURS_PER_DAY = 8.0;
+    private static final double EPSILON = 1e-9;
+
+    /**
+     * Forecast of one project. Dates are when the remaining work is done with 50/85/95%
+     * confidence; onTimeProbability is null when the project has no deadline.
+     */
+    public record DeliveryForecast(int projectId, int iterations, int taskCount,
+                                   DeliveryForecaster.Calibration calibration,
+                                   double p50Hours, double p85Hours, double p95Hours,
+                                   LocalDate p50Date, LocalDate p85Date, LocalDate p95Date,
+                                   LocalDate deadline, Double onTimeProbability) {
+
+        public boolean hasDeadline() {
+            return deadline != null;
+        }
+    }
+
+    private ProjectDao projectDao;
+    private TimeTrackingDao timeTrackingDao;
+    private DependencyGraphService dependencyGraphService;
+
+    public DeliveryForecastService() {
+        this.projectDao = new ProjectDao();
+        this.timeTrackingDao = new TimeTrackingDao();
+        this.dependencyGraphService = new DependencyGraphService();
+    }
+
+    /**
+     * Forecast a project with the default number of runs
+     *
+     * @return the forecast, or null if the project does not exist
+     * @throws IllegalStateException if the project's dependencies contain a cycle
+     */
+    public DeliveryForecast forecast(int projectId) {
+        return forecast(projectId, DeliveryForecaster.DEFAULT_ITERATIONS, System.nanoTime());
+    }
+
+    public DeliveryForecast forecast(int projectId, int iterations, long seed) {
+        Project project = projectDao.findById(projectId);
+        if (project == null) {
+            return null;
+        }
+
+        DeliveryForecaster.Calibration calibration =
+                DeliveryForecaster.Calibration.fromHistory(timeTrackingDao.findEstimateActualsForDoneTasks());
+        DeliveryForecaster forecaster = dependencyGraphService.getForecaster(projectId, calibration);
+        double[] hours = forecaster.simulate(iterations, seed);
+
+        // Remaining work starts today, or at the project start if that is still ahead
+        LocalDate start = LocalDate.now();
+        if (project.getStartDate() != null && project.getStartDate().toLocalDate().isAfter(start)) {
+            start = project.getStartDate().toLocalDate();
+        }
+
+        double p50 = DeliveryForecaster.percentile(hours, 0.50);
+        double p85 = DeliveryForecaster.percentile(hours, 0.85);
+        double p95 = DeliveryForecaster.percentile(hours, 0.95);
+
+        LocalDate deadline = project.getDeadline() != null ? project.getDeadline().toLocalDate() : null;
+        Double onTimeProbability = deadline != null
+                ? DeliveryForecaster.fractionWithin(hours, workingDaysThrough(start, deadline) * HOURS_PER_DAY)
+                : null;
+
+        return new DeliveryForecast(projectId, iterations, forecaster.getTaskCount(), calibration,
+                p50, p85, p95,
+                finishDate(start, p50), finishDate(start, p85), finishDate(start, p95),
+                deadline, onTimeProbability);
+    }
+
+    // ==================== CALENDAR ====================
+
+    /**
+     * Working day on which the given number of hours, started on 'start', is finished
+     */
+    static LocalDate finishDate(LocalDate start, double hours) {
+        long days = (long) Math.ceil(hours / HOURS_PER_DAY - EPSILON);
+        if (days <= 0) {
+            return start;
+        }
+
+        LocalDate date = start;
+        while (true) {
+            if (isWorkingDay(date) && --days == 0) {
+                return date;
+            }
+            date = date.plusDays(1);
+        }
+    }
+
+    /**
+     * Number of working days from start to end, both included
+     */
+    static long workingDaysThrough(LocalDate start, LocalDate end) {
+        long days = 0;
+        for (LocalDate date = start; !date.isAfter(end); date = date.plusDays(1)) {
+            if (isWorkingDay(date)) {
+                days++;
+            }
+        }
+        return days;
+    }
+
+    private static boolean isWorkingDay(LocalDate date) {
+        DayOfWeek day = date.getDayOfWeek();
+        return day != DayOfWeek.SATURDAY && day != DayOfWeek.SUNDAY;
+    }
+}
@@ -0,0 +1,210 @@
+package com.ahmet.tpm.service;
+
+import com.ahmet.tpm.dao.TimeTrackingDao;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+/**
+ * Monte Carlo simulation of a project's remaining duration over its dependency graph.
+ *
+ * Each run draws a duration for every open task from a lognormal distribution around
+ * its estimated hours (shifted and widened by how past estimates compared to the hours
+ * actually logged), then takes the longest path through the DAG like ScheduleEngine's
+ * forward pass. DONE tasks take no time.
+ *
+ * The graph is copied into flat arrays in topological order when the forecaster is
+ * created, so simulate() does not touch the graph and can spread its runs over the
+ * common fork-join pool. Each chunk of runs has its own random generator and scratch
+ * array, which keeps the result reproducible for a given seed.
+ */
+public class DeliveryForecaster {
+
+    public static final int DEFAULT_ITERATIONS = 20_000;
+
+    private static final int CHUNK_SIZE = 250;
+
+    // Draws of the lognormal factor made up front; runs pick from them at random,
+    // which replaces a Gaussian sample and an exp() per task with an array read
+    private static final int FACTOR_TABLE_SIZE = 1 << 16;
+
+    /**
+     * Spread of actual/estimated hours, as the mean and standard deviation of its logarithm
+     */
+    public record Calibration(double logMean, double logStdDev, int sampleCount) {
+
+        /** Used until enough tasks have been finished with time logged */
+        public static final Calibration DEFAULT = new Calibration(0, 0.35, 0);
+
+        private static final int MIN_SAMPLES = 5;
+        private static final double MIN_STD_DEV = 0.05;
+        private static final double MAX_STD_DEV = 1.5;
+
+        public static Calibration fromHistory(List<TimeTrackingDao.EstimateActual> history) {
+            if (history.size() < MIN_SAMPLES) {
+                return DEFAULT;
+            }
+
+            double sum = 0;
+            double sumOfSquares = 0;
+            for (TimeTrackingDao.EstimateActual row : history) {
+                double logRatio = Math.log(row.actualHours() / row.estimatedHours());
+                sum += logRatio;
+                sumOfSquares += logRatio * logRatio;
+            }
+
+            int n = history.size();
+            double mean = sum / n;
+            double variance = Math.max(0, (sumOfSquares - n * mean * mean) / (n - 1));
+            double stdDev = Math.min(MAX_STD_DEV, Math.max(MIN_STD_DEV, Math.sqrt(variance)));
+
+            return new Calibration(mean, stdDev, n);
+        }
+
+        /**
+         * Median factor applied to estimates (e.g. 1.2 = tasks usually take 20% longer)
+         */
+        public double getMedianFactor() {
+            return Math.exp(logMean);
+        }
+    }
+
+    private final Calibration calibration;
+    private final int size;
+    private final double[] medianHours;
+    private final int[] prerequisiteStart;
+    private final int[] prerequisitePositions;
+
+    /**
+     * Snapshot the graph; the caller must hold whatever guards the graph
+     *
+     * @throws IllegalStateException if the graph contains a cycle
+     */
+    DeliveryForecaster(DependencyGraph graph, Calibration calibration) {
+        this.calibration = calibration;
+
+        int[] order = graph.topologicalNodes();
+        this.size = order.length;
+
+        int[] position = new int[size];
+        int edgeCount = 0;
+        for (int pos = 0; pos < size; pos++) {
+            position[order[pos]] = pos;
+            edgeCount += graph.prerequisiteCountAt(order[pos]);
+        }
+
+        this.medianHours = new double[size];
+        this.prerequisiteStart = new int[size + 1];
+        this.prerequisitePositions = new int[edgeCount];
+
+        double medianFactor = calibration.getMedianFactor();
+        int edge = 0;
+        for (int pos = 0; pos < size; pos++) {
+            int node = order[pos];
+            medianHours[pos] = graph.isDoneAt(node) ? 0 : Math.max(0, graph.estimatedHoursAt(node)) * medianFactor;
+
+            prerequisiteStart[pos] = edge;
+            int[] prerequisites = graph.prerequisitesAt(node);
+            for (int i = 0; i < graph.prerequisiteCountAt(node); i++) {
+                prerequisitePositions[edge++] = position[prerequisites[i]];
+            }
+        }
+        prerequisiteStart[size] = edge;
+    }
+
+    public Calibration getCalibration() {
+        return calibration;
+    }
+
+    public int getTaskCount() {
+        return size;
+    }
+
+    // ==================== SIMULATION ====================
+
+    /**
+     * Run the simulation in parallel
+     *
+     * @return remaining project duration in hours of every run, sorted ascending
+     */
+    public double[] simulate(int iterations, long seed) {
+        double[] results = new double[iterations];
+        int chunks = (iterations + CHUNK_SIZE - 1) / CHUNK_SIZE;
+
+        SplittableRandom root = new SplittableRandom(seed);
+
+        double[] factors = new double[FACTOR_TABLE_SIZE];
+        for (int i = 0; i < FACTOR_TABLE_SIZE; i++) {
+            factors[i] = Math.exp(calibration.logStdDev() * root.nextGaussian());
+        }
+
+        SplittableRandom[] randoms = new SplittableRandom[chunks];
+        for (int c = 0; c < chunks; c++) {
+            randoms[c] = root.split();
+        }
+
+        IntStream.range(0, chunks).parallel().forEach(c -> {
+            double[] finish = new double[size];
+            int end = Math.min(iterations, (c + 1) * CHUNK_SIZE);
+            for (int run = c * CHUNK_SIZE; run < end; run++) {
+                results[run] = runOnce(finish, factors, randoms[c]);
+            }
+        });
+
+        Arrays.sort(results);
+        return results;
+    }
+
+    private double runOnce(double[] finish, double[] factors, SplittableRandom random) {
+        double projectFinish = 0;
+
+        for (int pos = 0; pos < size; pos++) {
+            double start = 0;
+            for (int e = prerequisiteStart[pos]; e < prerequisiteStart[pos + 1]; e++) {
+                start = Math.max(start, finish[prerequisitePositions[e]]);
+            }
+
+            double median = medianHours[pos];
+            double duration = median > 0 ? median * factors[random.nextInt(FACTOR_TABLE_SIZE)] : 0;
+
+            finish[pos] = start + duration;
+            projectFinish = Math.max(projectFinish, finish[pos]);
+        }
+        return projectFinish;
+    }
+
+    // ==================== RESULTS ====================
+
+    /**
+     * Value below which the given fraction of sorted results falls (nearest rank)
+     */
+    public static double percentile(double[] sorted, double fraction) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(fraction * sorted.length);
+        return sorted[Math.min(sorted.length, Math.max(1, rank)) - 1];
+    }
+
+    /**
+     * Fraction of sorted results that are at most the given number of hours
+     */
+    public static double fractionWithin(double[] sorted, double hours) {
+        if (sorted.length == 0) {
+            return 1;
+        }
+        int low = 0;
+        int high = sorted.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sorted[mid] <= hours) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return (double) low / sorted.length;
+    }
+}
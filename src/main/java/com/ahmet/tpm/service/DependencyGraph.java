@@ -0,0 +1,458 @@
+package com.ahmet.tpm.service;
+
+import com.ahmet.tpm.dao.TaskDependencyDao;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * In-memory dependency graph of one project's tasks.
+ *
+ * Tasks are stored as dense node indexes; the edges in both directions are kept in
+ * primitive int adjacency arrays, so traversals do not box. An edge "A depends on B"
+ * is stored as B in A's prerequisites and A in B's dependents.
+ *
+ * Every query (topological order, ready/blocked sets, cycle check) is O(V + E).
+ * Edges and completion flags can be changed in place, so the owner keeps the graph
+ * in step with the database instead of reloading it after each edit.
+ *
+ * Not thread-safe; DependencyGraphService hands out graphs for use on one thread.
+ */
+public class DependencyGraph {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final Map<Integer, Integer> indexOf = new HashMap<>();
+
+    private int size = 0;
+    private int structureVersion = 0;
+    private int[] taskIds = new int[INITIAL_CAPACITY];
+    private boolean[] done = new boolean[INITIAL_CAPACITY];
+    private double[] estimatedHours = new double[INITIAL_CAPACITY];
+    private int[][] prerequisites = new int[INITIAL_CAPACITY][];
+    private int[] prerequisiteCount = new int[INITIAL_CAPACITY];
+    private int[][] dependents = new int[INITIAL_CAPACITY][];
+    private int[] dependentCount = new int[INITIAL_CAPACITY];
+
+    public DependencyGraph() {}
+
+    /**
+     * Build a graph from the rows of TaskDependencyDao.findGraphRowsForProject.
+     * Stored edges are taken as they are, even if old data already contains a cycle.
+     */
+    public static DependencyGraph fromRows(List<TaskDependencyDao.GraphRow> rows) {
+        DependencyGraph graph = new DependencyGraph();
+
+        for (TaskDependencyDao.GraphRow row : rows) {
+            int task = graph.addNode(row.taskId(), row.done());
+            graph.estimatedHours[task] = row.estimatedHours();
+            if (row.dependsOnTaskId() != null) {
+                int prerequisite = graph.addNode(row.dependsOnTaskId(), row.dependsOnDone());
+                graph.estimatedHours[prerequisite] = row.dependsOnEstimatedHours();
+                graph.addEdge(task, prerequisite);
+            }
+        }
+
+        return graph;
+    }
+
+    // ==================== TASKS ====================
+
+    public int size() {
+        return size;
+    }
+
+    public boolean containsTask(int taskId) {
+        return indexOf.containsKey(taskId);
+    }
+
+    /**
+     * Add a task (or update its completion flag if it is already in the graph)
+     */
+    public void addTask(int taskId, boolean isDone) {
+        // addNode may grow the arrays, so index into 'done' only after it returns
+        int index = addNode(taskId, isDone);
+        done[index] = isDone;
+    }
+
+    public void setDone(int taskId, boolean isDone) {
+        Integer index = indexOf.get(taskId);
+        if (index != null) {
+            done[index] = isDone;
+        }
+    }
+
+    public boolean isDone(int taskId) {
+        Integer index = indexOf.get(taskId);
+        return index != null && done[index];
+    }
+
+    public double getEstimatedHours(int taskId) {
+        Integer index = indexOf.get(taskId);
+        return index != null ? estimatedHours[index] : 0;
+    }
+
+    public void setEstimatedHours(int taskId, double hours) {
+        Integer index = indexOf.get(taskId);
+        if (index != null) {
+            estimatedHours[index] = hours;
+        }
+    }
+
+    // ==================== EDGES ====================
+
+    /**
+     * IDs of the tasks that taskId depends on
+     */
+    public List<Integer> getDependencies(int taskId) {
+        Integer index = indexOf.get(taskId);
+        return index != null ? toTaskIds(prerequisites[index], prerequisiteCount[index]) : new ArrayList<>();
+    }
+
+    /**
+     * IDs of the tasks that depend on taskId
+     */
+    public List<Integer> getDependents(int taskId) {
+        Integer index = indexOf.get(taskId);
+        return index != null ? toTaskIds(dependents[index], dependentCount[index]) : new ArrayList<>();
+    }
+
+    /**
+     * True if making taskId depend on dependsOnTaskId would close a cycle
+     */
+    public boolean wouldCreateCycle(int taskId, int dependsOnTaskId) {
+        return wouldCreateCycle(taskId, List.of(dependsOnTaskId));
+    }
+
+    /**
+     * True if making taskId depend on any of the given tasks would close a cycle,
+     * i.e. taskId is reachable from one of them through prerequisite edges
+     */
+    public boolean wouldCreateCycle(int taskId, Collection<Integer> dependsOnTaskIds) {
+        Integer target = indexOf.get(taskId);
+        if (target == null) {
+            // A task with no edges yet cannot be anyone's prerequisite
+            return dependsOnTaskIds.contains(taskId);
+        }
+
+        boolean[] visited = new boolean[size];
+        int[] stack = new int[size];
+        int top = 0;
+
+        for (Integer id : dependsOnTaskIds) {
+            Integer start = id != null ? indexOf.get(id) : null;
+            if (start != null && !visited[start]) {
+                visited[start] = true;
+                stack[top++] = start;
+            }
+        }
+
+        while (top > 0) {
+            int node = stack[--top];
+            if (node == target) {
+                return true;
+            }
+            int[] next = prerequisites[node];
+            for (int i = 0; i < prerequisiteCount[node]; i++) {
+                if (!visited[next[i]]) {
+                    visited[next[i]] = true;
+                    stack[top++] = next[i];
+                }
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Make taskId depend on dependsOnTaskId. Unknown tasks are added as not done.
+     *
+     * @throws IllegalArgumentException if the edge would create a cycle
+     */
+    public void addDependency(int taskId, int dependsOnTaskId) {
+        if (wouldCreateCycle(taskId, dependsOnTaskId)) {
+            throw new IllegalArgumentException(
+                    "Task " + taskId + " cannot depend on task " + dependsOnTaskId + ": this would create a cycle");
+        }
+        addEdge(addNode(taskId, false), addNode(dependsOnTaskId, false));
+    }
+
+    public void removeDependency(int taskId, int dependsOnTaskId) {
+        Integer task = indexOf.get(taskId);
+        Integer prerequisite = indexOf.get(dependsOnTaskId);
+        if (task != null && prerequisite != null) {
+            removeEdge(task, prerequisite);
+        }
+    }
+
+    /**
+     * Make the dependencies of taskId exactly the given set
+     *
+     * @throws IllegalArgumentException if the new set would create a cycle (graph unchanged)
+     */
+    public void replaceDependencies(int taskId, Collection<Integer> dependsOnTaskIds) {
+        if (wouldCreateCycle(taskId, dependsOnTaskIds)) {
+            throw new IllegalArgumentException(
+                    "The dependencies of task " + taskId + " would create a cycle");
+        }
+
+        int task = addNode(taskId, false);
+        while (prerequisiteCount[task] > 0) {
+            removeEdge(task, prerequisites[task][prerequisiteCount[task] - 1]);
+        }
+        for (Integer id : dependsOnTaskIds) {
+            if (id != null) {
+                addEdge(task, addNode(id, false));
+            }
+        }
+    }
+
+    // ==================== QUERIES ====================
+
+    /**
+     * All tasks ordered so that every task comes after the tasks it depends on (Kahn's algorithm)
+     *
+     * @throws IllegalStateException if the stored edges contain a cycle
+     */
+    public List<Integer> topologicalOrder() {
+        int[] order = topologicalNodes();
+        return toTaskIds(order, order.length);
+    }
+
+    /**
+     * Node indexes in topological order
+     *
+     * @throws IllegalStateException if the stored edges contain a cycle
+     */
+    int[] topologicalNodes() {
+        int[] remaining = Arrays.copyOf(prerequisiteCount, size);
+        int[] queue = new int[size];
+        int head = 0;
+        int tail = 0;
+
+        for (int node = 0; node < size; node++) {
+            if (remaining[node] == 0) {
+                queue[tail++] = node;
+            }
+        }
+
+        while (head < tail) {
+            int node = queue[head++];
+            int[] next = dependents[node];
+            for (int i = 0; i < dependentCount[node]; i++) {
+                if (--remaining[next[i]] == 0) {
+                    queue[tail++] = next[i];
+                }
+            }
+        }
+
+        if (tail < size) {
+            List<Integer> inCycle = new ArrayList<>();
+            for (int node = 0; node < size; node++) {
+                if (remaining[node] > 0) {
+                    inCycle.add(taskIds[node]);
+                }
+            }
+            throw new IllegalStateException("Dependency cycle between tasks " + inCycle);
+        }
+
+        return queue;
+    }
+
+    /**
+     * True if the task is not done and everything it depends on is done
+     */
+    public boolean isReady(int taskId) {
+        Integer index = indexOf.get(taskId);
+        return index != null && !done[index] && openPrerequisites(index) == 0;
+    }
+
+    /**
+     * True if the task is not done and waits for at least one unfinished task
+     */
+    public boolean isBlocked(int taskId) {
+        Integer index = indexOf.get(taskId);
+        return index != null && !done[index] && openPrerequisites(index) > 0;
+    }
+
+    /**
+     * Tasks that are not done and have no unfinished prerequisite
+     */
+    public Set<Integer> readyTasks() {
+        Set<Integer> ready = new LinkedHashSet<>();
+        for (int node = 0; node < size; node++) {
+            if (!done[node] && openPrerequisites(node) == 0) {
+                ready.add(taskIds[node]);
+            }
+        }
+        return ready;
+    }
+
+    /**
+     * Tasks that are not done and wait for at least one unfinished prerequisite
+     */
+    public Set<Integer> blockedTasks() {
+        Set<Integer> blocked = new LinkedHashSet<>();
+        for (int node = 0; node < size; node++) {
+            if (!done[node] && openPrerequisites(node) > 0) {
+                blocked.add(taskIds[node]);
+            }
+        }
+        return blocked;
+    }
+
+    /**
+     * IDs of the unfinished tasks that taskId depends on
+     */
+    public List<Integer> getOpenDependencies(int taskId) {
+        List<Integer> open = new ArrayList<>();
+        Integer index = indexOf.get(taskId);
+        if (index != null) {
+            int[] next = prerequisites[index];
+            for (int i = 0; i < prerequisiteCount[index]; i++) {
+                if (!done[next[i]]) {
+                    open.add(taskIds[next[i]]);
+                }
+            }
+        }
+        return open;
+    }
+
+    // ==================== NODE ACCESS (for ScheduleEngine) ====================
+
+    /**
+     * Changes whenever a task or an edge is added or removed
+     */
+    int structureVersion() {
+        return structureVersion;
+    }
+
+    int nodeIndex(int taskId) {
+        Integer index = indexOf.get(taskId);
+        return index != null ? index : -1;
+    }
+
+    int taskIdAt(int node) {
+        return taskIds[node];
+    }
+
+    boolean isDoneAt(int node) {
+        return done[node];
+    }
+
+    double estimatedHoursAt(int node) {
+        return estimatedHours[node];
+    }
+
+    int[] prerequisitesAt(int node) {
+        return prerequisites[node];
+    }
+
+    int prerequisiteCountAt(int node) {
+        return prerequisiteCount[node];
+    }
+
+    int[] dependentsAt(int node) {
+        return dependents[node];
+    }
+
+    int dependentCountAt(int node) {
+        return dependentCount[node];
+    }
+
+    // ==================== INTERNALS ====================
+
+    private int openPrerequisites(int node) {
+        int open = 0;
+        int[] next = prerequisites[node];
+        for (int i = 0; i < prerequisiteCount[node]; i++) {
+            if (!done[next[i]]) {
+                open++;
+            }
+        }
+        return open;
+    }
+
+    private int addNode(int taskId, boolean isDone) {
+        Integer existing = indexOf.get(taskId);
+        if (existing != null) {
+            return existing;
+        }
+
+        if (size == taskIds.length) {
+            int capacity = size * 2;
+            taskIds = Arrays.copyOf(taskIds, capacity);
+            done = Arrays.copyOf(done, capacity);
+            estimatedHours = Arrays.copyOf(estimatedHours, capacity);
+            prerequisites = Arrays.copyOf(prerequisites, capacity);
+            prerequisiteCount = Arrays.copyOf(prerequisiteCount, capacity);
+            dependents = Arrays.copyOf(dependents, capacity);
+            dependentCount = Arrays.copyOf(dependentCount, capacity);
+        }
+
+        int index = size++;
+        taskIds[index] = taskId;
+        done[index] = isDone;
+        prerequisites[index] = new int[2];
+        dependents[index] = new int[2];
+        indexOf.put(taskId, index);
+        structureVersion++;
+        return index;
+    }
+
+    private void addEdge(int task, int prerequisite) {
+        if (indexIn(prerequisites[task], prerequisiteCount[task], prerequisite) >= 0) {
+            return;
+        }
+        prerequisites[task] = append(prerequisites[task], prerequisiteCount[task]++, prerequisite);
+        dependents[prerequisite] = append(dependents[prerequisite], dependentCount[prerequisite]++, task);
+        structureVersion++;
+    }
+
+    private void removeEdge(int task, int prerequisite) {
+        prerequisiteCount[task] = remove(prerequisites[task], prerequisiteCount[task], prerequisite);
+        dependentCount[prerequisite] = remove(dependents[prerequisite], dependentCount[prerequisite], task);
+        structureVersion++;
+    }
+
+    private static int[] append(int[] values, int count, int value) {
+        int[] target = count == values.length ? Arrays.copyOf(values, Math.max(2, count * 2)) : values;
+        target[count] = value;
+        return target;
+    }
+
+    /**
+     * Swap-remove; order of adjacency entries is not significant
+     */
+    private static int remove(int[] values, int count, int value) {
+        int position = indexIn(values, count, value);
+        if (position < 0) {
+            return count;
+        }
+        values[position] = values[count - 1];
+        return count - 1;
+    }
+
+    private static int indexIn(int[] values, int count, int value) {
+        for (int i = 0; i < count; i++) {
+            if (values[i] == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private List<Integer> toTaskIds(int[] nodes, int count) {
+        List<Integer> ids = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            ids.add(taskIds[nodes[i]]);
+        }
+        return ids;
+    }
+}
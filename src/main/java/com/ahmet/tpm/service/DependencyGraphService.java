@@ -0,0 +1,154 @@
+package com.ahmet.tpm.service;
+
+import com.ahmet.tpm.config.UnitOfWork;
+import com.ahmet.tpm.dao.TaskDependencyDao;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Service layer for task dependencies
+ * Keeps one DependencyGraph per project in memory and uses it to reject cycles
+ * before anything is written. Graphs are loaded with a single query and then
+ * updated in place after each successful write; a graph older than
+ * {@link #MAX_GRAPH_AGE_MS} is reloaded to pick up edits from other clients.
+ */
+public class DependencyGraphService {
+
+    private static final long MAX_GRAPH_AGE_MS = 60_000;
+
+    private static final class CachedGraph {
+        final DependencyGraph graph;
+        final long loadedAt;
+        ScheduleEngine schedule;
+
+        CachedGraph(DependencyGraph graph, long loadedAt) {
+            this.graph = graph;
+            this.loadedAt = loadedAt;
+        }
+    }
+
+    // Shared by all service instances (the Swing UI uses them from the EDT)
+    private static final Map<Integer, CachedGraph> GRAPHS = new HashMap<>();
+
+    private TaskDependencyDao taskDependencyDao;
+
+    public DependencyGraphService() {
+        this.taskDependencyDao = new TaskDependencyDao();
+    }
+
+    /**
+     * Dependency graph of a project, loaded on first use
+     */
+    public DependencyGraph getGraph(int projectId) {
+        synchronized (GRAPHS) {
+            return getCached(projectId).graph;
+        }
+    }
+
+    /**
+     * Critical-path schedule of a project. The engine behind it is built on first use,
+     * kept up to date in place and only touched under the cache lock; callers get an
+     * immutable snapshot (safe to use off the EDT).
+     *
+     * @throws IllegalStateException if the stored dependencies contain a cycle
+     */
+    public ScheduleEngine.Snapshot getSchedule(int projectId) {
+        synchronized (GRAPHS) {
+            CachedGraph cached = getCached(projectId);
+            if (cached.schedule == null) {
+                cached.schedule = new ScheduleEngine(cached.graph);
+            }
+            return cached.schedule.snapshot();
+        }
+    }
+
+    /**
+     * Monte Carlo forecaster over a snapshot of the project's graph (safe to run off the EDT)
+     *
+     * @throws IllegalStateException if the stored dependencies contain a cycle
+     */
+    public DeliveryForecaster getForecaster(int projectId, DeliveryForecaster.Calibration calibration) {
+        synchronized (GRAPHS) {
+            return new DeliveryForecaster(getCached(projectId).graph, calibration);
+        }
+    }
+
+    private CachedGraph getCached(int projectId) {
+        CachedGraph cached = GRAPHS.get(projectId);
+        long now = System.currentTimeMillis();
+
+        if (cached == null || now - cached.loadedAt > MAX_GRAPH_AGE_MS) {
+            DependencyGraph graph = DependencyGraph.fromRows(taskDependencyDao.findGraphRowsForProject(projectId));
+            cached = new CachedGraph(graph, now);
+            GRAPHS.put(projectId, cached);
+        }
+        return cached;
+    }
+
+    /**
+     * True if making taskId depend on the given tasks would create a cycle
+     */
+    public boolean wouldCreateCycle(int projectId, int taskId, Collection<Integer> dependsOnTaskIds) {
+        synchronized (GRAPHS) {
+            return getGraph(projectId).wouldCreateCycle(taskId, dependsOnTaskIds);
+        }
+    }
+
+    /**
+     * Replace the dependencies of a task after checking the new set for cycles.
+     * The cached graph only covers this project and can be up to MAX_GRAPH_AGE_MS old,
+     * so its check is an early rejection; the DAO checks the stored edges again in the
+     * same transaction as the write.
+     *
+     * @return true if saved
+     * @throws IllegalArgumentException if the new dependencies would create a cycle
+     */
+    public boolean replaceDependencies(int projectId, int taskId, Set<Integer> dependsOnTaskIds) {
+        synchronized (GRAPHS) {
+            DependencyGraph graph = getGraph(projectId);
+            if (graph.wouldCreateCycle(taskId, dependsOnTaskIds)) {
+                throw new IllegalArgumentException(
+                        "These dependencies would create a cycle: a selected task already depends on this task.");
+            }
+
+            boolean saved = taskDependencyDao.replaceDependencies(taskId, dependsOnTaskIds);
+            if (saved) {
+                // Inside a UnitOfWork the edges only count once the unit commits
+                UnitOfWork.runAfterCommit(() -> {
+                    synchronized (GRAPHS) {
+                        graph.replaceDependencies(taskId, dependsOnTaskIds);
+                    }
+                });
+            }
+            return saved;
+        }
+    }
+
+    /**
+     * Keep the cached graph (and schedule) in step when a task's status or estimate changes
+     */
+    public void onTaskUpdated(int projectId, int taskId, boolean isDone, double estimatedHours) {
+        synchronized (GRAPHS) {
+            CachedGraph cached = GRAPHS.get(projectId);
+            if (cached != null) {
+                cached.graph.addTask(taskId, isDone);
+                cached.graph.setEstimatedHours(taskId, estimatedHours);
+                if (cached.schedule != null) {
+                    cached.schedule.onTaskChanged(taskId);
+                }
+            }
+        }
+    }
+
+    /**
+     * Drop the cached graph of a project (e.g. after tasks were moved or deleted)
+     */
+    public void invalidate(int projectId) {
+        synchronized (GRAPHS) {
+            GRAPHS.remove(projectId);
+        }
+    }
+}
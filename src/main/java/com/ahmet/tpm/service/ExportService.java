@@ -0,0 +1,77 @@
+package com.ahmet.tpm.service;
+
+import com.ahmet.tpm.dao.ExportDao;
+import com.ahmet.tpm.utils.CsvWriter;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.SQLException;
+import java.time.LocalDate;
+
+/**
+ * Service layer for CSV exports
+ * Streams tasks, projects, time entries and timesheets to files. Each file is
+ * written next to its target under a temporary name and moved into place only
+ * when the export succeeds, so a failed export never leaves a half-written file.
+ */
+public class ExportService {
+
+    private interface CsvExport {
+        long writeTo(CsvWriter csv) throws SQLException, IOException;
+    }
+
+    private ExportDao exportDao;
+    private TimesheetService timesheetService;
+
+    public ExportService() {
+        this.exportDao = new ExportDao();
+        this.timesheetService = new TimesheetService();
+    }
+
+    /**
+     * @return Number of tasks exported
+     */
+    public long exportTasks(Path file) throws SQLException, IOException {
+        return writeFile(file, exportDao::exportTasks);
+    }
+
+    /**
+     * @return Number of projects exported
+     */
+    public long exportProjects(Path file) throws SQLException, IOException {
+        return writeFile(file, exportDao::exportProjects);
+    }
+
+    /**
+     * @return Number of time entries exported
+     */
+    public long exportTimeEntries(LocalDate startDate, LocalDate endDate, Path file) throws SQLException, IOException {
+        return writeFile(file, csv -> exportDao.exportTimeEntries(startDate, endDate, csv));
+    }
+
+    /**
+     * @return Number of user/project rows exported
+     */
+    public long exportTimesheet(LocalDate startDate, LocalDate endDate, Path file) throws SQLException, IOException {
+        return writeFile(file, csv -> timesheetService.writeCsv(startDate, endDate, csv));
+    }
+
+    private long writeFile(Path file, CsvExport export) throws SQLException, IOException {
+        Path target = file.toAbsolutePath();
+        Path temp = Files.createTempFile(target.getParent(), ".export-", ".csv.tmp");
+
+        try {
+            long rows;
+            try (CsvWriter csv = CsvWriter.open(temp)) {
+                rows = export.writeTo(csv);
+            }
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+            System.out.println("✓ Exported " + rows + " rows to " + target);
+            return rows;
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.ahmet.tpm.service;
+
+import com.ahmet.tpm.config.DatabaseConfig;
+import com.ahmet.tpm.dao.NotificationDao;
+import com.ahmet.tpm.dao.NotificationDao.Delivery;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Background queue that writes notifications off the caller's (usually the Swing EDT) thread.
+ *
+ * NotificationService submits one Delivery (a notification and its recipients) per notify*
+ * call. A single daemon worker drains up to {@link #MAX_BATCH_SIZE} deliveries at a time and
+ * writes them with NotificationDao.insertAll, i.e. one connection and one JDBC batch.
+ *
+ * The queue is bounded. When it is full, submit() waits briefly and then writes the delivery
+ * on the caller's thread, so a burst slows the caller down instead of losing notifications.
+ *
+ * The queue is flushed before the connection pool closes (DatabaseConfig.closeConnection).
+ */
+public final class NotificationDispatcher {
+
+    private static final int QUEUE_CAPACITY = 1000;
+    private static final int MAX_BATCH_SIZE = 50;
+    private static final long OFFER_TIMEOUT_MS = 200;
+    private static final long POLL_INTERVAL_MS = 250;
+    private static final long FLUSH_TIMEOUT_MS = 5000;
+
+    private static final NotificationDispatcher INSTANCE = new NotificationDispatcher();
+
+    private final BlockingQueue<Delivery> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+    private final NotificationDao notificationDao = new NotificationDao();
+    private final Thread worker;
+
+    // Guards accepting together with enqueueing, so nothing is queued after flush() starts
+    private final Object submitLock = new Object();
+    private volatile boolean accepting = true;
+
+    private NotificationDispatcher() {
+        worker = new Thread(this::runWorker, "notification-dispatcher");
+        worker.setDaemon(true);
+        worker.start();
+
+        DatabaseConfig.addCloseListener(() -> flush(FLUSH_TIMEOUT_MS));
+    }
+
+    public static NotificationDispatcher getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Queue a delivery; writes it inline if the queue stays full or is shut down
+     */
+    public void submit(Delivery delivery) {
+        synchronized (submitLock) {
+            if (accepting) {
+                try {
+                    if (queue.offer(delivery, OFFER_TIMEOUT_MS, TimeUnit.MILLISECONDS)) {
+                        return;
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+
+        // Backpressure (or shutdown in progress): do the work on the caller's thread
+        writeSafely(List.of(delivery));
+    }
+
+    /**
+     * Stop accepting jobs and wait until the queued ones are written
+     *
+     * @return true if the queue was fully drained within the timeout
+     */
+    public boolean flush(long timeoutMs) {
+        synchronized (submitLock) {
+            accepting = false;
+        }
+
+        try {
+            worker.join(timeoutMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        if (worker.isAlive() || !queue.isEmpty()) {
+            System.err.println("✗ Notification queue not fully flushed: " + queue.size() + " delivery(ies) left");
+            return false;
+        }
+        return true;
+    }
+
+    private void runWorker() {
+        List<Delivery> batch = new ArrayList<>(MAX_BATCH_SIZE);
+
+        // Keep going after flush() until everything queued so far is written
+        while (accepting || !queue.isEmpty()) {
+            try {
+                Delivery first = queue.poll(POLL_INTERVAL_MS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+            } catch (InterruptedException e) {
+                return;
+            }
+
+            queue.drainTo(batch, MAX_BATCH_SIZE - 1);
+            writeSafely(batch);
+            batch.clear();
+        }
+    }
+
+    private void writeSafely(List<Delivery> deliveries) {
+        try {
+            notificationDao.insertAll(deliveries);
+        } catch (RuntimeException e) {
+            System.err.println("✗ Error dispatching notification: " + e.getMessage());
+        }
+    }
+}
@@ -1,8 +1,8 @@
 package com.ahmet.tpm.service;
 
 import com.ahmet.tpm.dao.NotificationDao;
-import com.ahmet.tpm.dao.ProjectMemberDao;
-import com.ahmet.tpm.dao.TaskMemberDao;
+import com.ahmet.tpm.dao.NotificationDao.Delivery;
+import com.ahmet.tpm.dao.NotificationOutboxRelay;
 import com.ahmet.tpm.models.Notification;
 
 import java.util.List;
@@ -10,17 +10,19 @@ import java.util.List;
 /**
  * Service layer for notification operations
  * Handles business logic for creating and managing notifications
+ * Notifications are written in the background by NotificationDispatcher; reads are synchronous
  */
 public class NotificationService {
 
     private NotificationDao notificationDao;
-    private TaskMemberDao taskMemberDao;
-    private ProjectMemberDao projectMemberDao;
+    private NotificationDispatcher dispatcher;
 
     public NotificationService() {
         this.notificationDao = new NotificationDao();
-        this.taskMemberDao = new TaskMemberDao();
-        this.projectMemberDao = new ProjectMemberDao();
+        this.dispatcher = NotificationDispatcher.getInstance();
+
+        // Deliver outbox rows left over from earlier sessions
+        NotificationOutboxRelay.start();
     }
 
     // ==================== TASK NOTIFICATIONS ====================
@@ -37,102 +39,57 @@ public class NotificationService {
         );
         notification.setTaskId(taskId);
         notification.setPriority("NORMAL");
-        notificationDao.insert(notification);
+        dispatcher.submit(Delivery.toUser(notification));
     }
 
     /**
      * Notify all task members when task is updated
      */
     public void notifyTaskUpdate(int taskId, String taskName, String updaterName, String updateType) {
-        List<Integer> memberIds = taskMemberDao.getUserIdsForTask(taskId);
-
-        for (int userId : memberIds) {
-            Notification notification = new Notification(
-                    userId,
-                    "TASK_UPDATED",
-                    "Task Updated",
-                    updaterName + " updated " + updateType + " in task: " + taskName
-            );
-            notification.setTaskId(taskId);
-            notification.setPriority("LOW");
-            notificationDao.insert(notification);
-        }
+        Notification notification = fanOutTemplate("TASK_UPDATED", "Task Updated",
+                updaterName + " updated " + updateType + " in task: " + taskName, "LOW");
+        notification.setTaskId(taskId);
+        dispatcher.submit(Delivery.toTaskMembers(taskId, notification, null));
     }
 
     /**
      * Notify when task status changes
      */
     public void notifyTaskStatusChange(int taskId, String taskName, String newStatus, String changerName) {
-        List<Integer> memberIds = taskMemberDao.getUserIdsForTask(taskId);
-
-        for (int userId : memberIds) {
-            Notification notification = new Notification(
-                    userId,
-                    "TASK_STATUS_CHANGED",
-                    "Task Status Changed",
-                    changerName + " changed status of '" + taskName + "' to " + newStatus
-            );
-            notification.setTaskId(taskId);
-            notification.setPriority("NORMAL");
-            notificationDao.insert(notification);
-        }
+        Notification notification = fanOutTemplate("TASK_STATUS_CHANGED", "Task Status Changed",
+                changerName + " changed status of '" + taskName + "' to " + newStatus, "NORMAL");
+        notification.setTaskId(taskId);
+        dispatcher.submit(Delivery.toTaskMembers(taskId, notification, null));
     }
 
     /**
      * Notify when task is overdue
      */
     public void notifyTaskOverdue(int taskId, String taskName, List<Integer> assigneeIds) {
-        for (int userId : assigneeIds) {
-            Notification notification = new Notification(
-                    userId,
-                    "TASK_OVERDUE",
-                    "Task Overdue",
-                    "Task '" + taskName + "' is now overdue!"
-            );
-            notification.setTaskId(taskId);
-            notification.setPriority("URGENT");
-            notificationDao.insert(notification);
-        }
+        Notification notification = fanOutTemplate("TASK_OVERDUE", "Task Overdue",
+                "Task '" + taskName + "' is now overdue!", "URGENT");
+        notification.setTaskId(taskId);
+        dispatcher.submit(Delivery.toUsers(assigneeIds, notification));
     }
 
     /**
      * Notify when task is completed
      */
     public void notifyTaskCompletion(int taskId, String taskName, String completerName) {
-        List<Integer> memberIds = taskMemberDao.getUserIdsForTask(taskId);
-
-        for (int userId : memberIds) {
-            Notification notification = new Notification(
-                    userId,
-                    "TASK_COMPLETED",
-                    "Task Completed",
-                    completerName + " marked task '" + taskName + "' as complete"
-            );
-            notification.setTaskId(taskId);
-            notification.setPriority("LOW");
-            notificationDao.insert(notification);
-        }
+        Notification notification = fanOutTemplate("TASK_COMPLETED", "Task Completed",
+                completerName + " marked task '" + taskName + "' as complete", "LOW");
+        notification.setTaskId(taskId);
+        dispatcher.submit(Delivery.toTaskMembers(taskId, notification, null));
     }
 
     /**
      * Notify when comment is added to task
      */
     public void notifyTaskComment(int taskId, String taskName, String commenterName, int commentOwnerId) {
-        List<Integer> memberIds = taskMemberDao.getUserIdsForTask(taskId);
-
-        for (int userId : memberIds) {
-            if (userId != commentOwnerId) { // Don't notify the commenter
-                Notification notification = new Notification(
-                        userId,
-                        "TASK_COMMENT",
-                        "New Comment",
-                        commenterName + " commented on task: " + taskName
-                );
-                notification.setTaskId(taskId);
-                notification.setPriority("LOW");
-                notificationDao.insert(notification);
-            }
-        }
+        Notification notification = fanOutTemplate("TASK_COMMENT", "New Comment",
+                commenterName + " commented on task: " + taskName, "LOW");
+        notification.setTaskId(taskId);
+        dispatcher.submit(Delivery.toTaskMembers(taskId, notification, commentOwnerId)); // Don't notify the commenter
     }
 
     // ==================== PROJECT NOTIFICATIONS ====================
@@ -149,45 +106,27 @@ public class NotificationService {
         );
         notification.setProjectId(projectId);
         notification.setPriority("NORMAL");
-        notificationDao.insert(notification);
+        dispatcher.submit(Delivery.toUser(notification));
     }
 
     /**
      * Notify all project members when project is updated
      */
     public void notifyProjectUpdate(int projectId, String projectName, String updaterName, String updateType) {
-        List<Integer> memberIds = projectMemberDao.getUserIdsForProject(projectId);
-
-        for (int userId : memberIds) {
-            Notification notification = new Notification(
-                    userId,
-                    "PROJECT_UPDATED",
-                    "Project Updated",
-                    updaterName + " updated " + updateType + " in project: " + projectName
-            );
-            notification.setProjectId(projectId);
-            notification.setPriority("LOW");
-            notificationDao.insert(notification);
-        }
+        Notification notification = fanOutTemplate("PROJECT_UPDATED", "Project Updated",
+                updaterName + " updated " + updateType + " in project: " + projectName, "LOW");
+        notification.setProjectId(projectId);
+        dispatcher.submit(Delivery.toProjectMembers(projectId, notification, null));
     }
 
     /**
      * Notify when project status changes
      */
     public void notifyProjectStatusChange(int projectId, String projectName, String newStatus, String changerName) {
-        List<Integer> memberIds = projectMemberDao.getUserIdsForProject(projectId);
-
-        for (int userId : memberIds) {
-            Notification notification = new Notification(
-                    userId,
-                    "PROJECT_STATUS_CHANGED",
-                    "Project Status Changed",
-                    changerName + " changed status of '" + projectName + "' to " + newStatus
-            );
-            notification.setProjectId(projectId);
-            notification.setPriority("NORMAL");
-            notificationDao.insert(notification);
-        }
+        Notification notification = fanOutTemplate("PROJECT_STATUS_CHANGED", "Project Status Changed",
+                changerName + " changed status of '" + projectName + "' to " + newStatus, "NORMAL");
+        notification.setProjectId(projectId);
+        dispatcher.submit(Delivery.toProjectMembers(projectId, notification, null));
     }
 
     /**
@@ -202,7 +141,16 @@ public class NotificationService {
         );
         notification.setProjectId(projectId);
         notification.setPriority("NORMAL");
-        notificationDao.insert(notification);
+        dispatcher.submit(Delivery.toUser(notification));
+    }
+
+    /**
+     * Notification shared by all recipients of a fan-out; user_id is set per recipient by the DAO
+     */
+    private static Notification fanOutTemplate(String type, String title, String message, String priority) {
+        Notification notification = new Notification(0, type, title, message);
+        notification.setPriority(priority);
+        return notification;
     }
 
     // ==================== GENERAL OPERATIONS ====================
@@ -0,0 +1,299 @@
+package com.ahmet.tpm.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Critical-path schedule of a project, computed over its DependencyGraph.
+ *
+ * Each task takes its remaining estimated hours (0 once it is DONE). A forward pass in
+ * topological order gives the earliest start/finish, a backward pass gives the latest
+ * start/finish, and slack = latest start - earliest start. Tasks without slack are
+ * critical. All times are hours from the project start; both passes are O(V + E).
+ *
+ * When only one task's estimate or status changes, onTaskChanged() re-runs the passes
+ * from that task onwards and touches only the tasks whose values actually move.
+ * Edge changes are detected through the graph's structure version and trigger a full
+ * (still linear) recompute on the next query.
+ *
+ * Not thread-safe; use it from the same thread as its graph. snapshot() gives an
+ * immutable copy that can be handed to other threads.
+ */
+public class ScheduleEngine {
+
+    private static final double EPSILON = 1e-9;
+
+    /**
+     * Schedule of one task, in hours from the project start
+     */
+    public record TaskSchedule(int taskId, double durationHours,
+                               double earliestStart, double earliestFinish,
+                               double latestStart, double latestFinish) {
+
+        public double getSlack() {
+            return latestStart - earliestStart;
+        }
+
+        public boolean isCritical() {
+            return getSlack() < EPSILON;
+        }
+    }
+
+    /**
+     * Immutable copy of a computed schedule (schedules in topological order)
+     */
+    public record Snapshot(double projectDuration, List<TaskSchedule> schedules, List<Integer> criticalPath) {
+
+        public Snapshot {
+            schedules = List.copyOf(schedules);
+            criticalPath = List.copyOf(criticalPath);
+        }
+    }
+
+    private final DependencyGraph graph;
+
+    private int computedVersion = -1;
+    private int[] order = new int[0];
+    private int[] position = new int[0];
+    private double[] duration = new double[0];
+    private double[] earliestStart = new double[0];
+    private double[] earliestFinish = new double[0];
+    private double[] latestStart = new double[0];
+    private double[] latestFinish = new double[0];
+    private double projectDuration = 0;
+
+    /**
+     * @throws IllegalStateException if the graph contains a cycle
+     */
+    public ScheduleEngine(DependencyGraph graph) {
+        this.graph = graph;
+        recompute();
+    }
+
+    // ==================== QUERIES ====================
+
+    /**
+     * Length of the critical path in hours
+     */
+    public double getProjectDuration() {
+        ensureCurrent();
+        return projectDuration;
+    }
+
+    /**
+     * Schedule of one task, or null if the task is not in the graph
+     */
+    public TaskSchedule getSchedule(int taskId) {
+        ensureCurrent();
+        int node = graph.nodeIndex(taskId);
+        return node >= 0 ? scheduleOf(node) : null;
+    }
+
+    /**
+     * Schedules of all tasks in topological order
+     */
+    public List<TaskSchedule> getAllSchedules() {
+        ensureCurrent();
+        List<TaskSchedule> schedules = new ArrayList<>(order.length);
+        for (int node : order) {
+            schedules.add(scheduleOf(node));
+        }
+        return schedules;
+    }
+
+    /**
+     * One chain of critical tasks from the project start to its end (task IDs in order).
+     * If several critical chains exist, the first one in topological order is returned.
+     */
+    public List<Integer> getCriticalPath() {
+        ensureCurrent();
+        List<Integer> path = new ArrayList<>();
+
+        int current = -1;
+        for (int node : order) {
+            if (graph.prerequisiteCountAt(node) == 0 && isCritical(node)) {
+                current = node;
+                break;
+            }
+        }
+
+        while (current >= 0) {
+            path.add(graph.taskIdAt(current));
+
+            int next = -1;
+            int[] dependents = graph.dependentsAt(current);
+            for (int i = 0; i < graph.dependentCountAt(current); i++) {
+                int candidate = dependents[i];
+                if (isCritical(candidate)
+                        && Math.abs(earliestStart[candidate] - earliestFinish[current]) < EPSILON) {
+                    next = candidate;
+                    break;
+                }
+            }
+            current = next;
+        }
+
+        return path;
+    }
+
+    /**
+     * Current schedule as an immutable snapshot
+     */
+    public Snapshot snapshot() {
+        ensureCurrent();
+        return new Snapshot(projectDuration, getAllSchedules(), getCriticalPath());
+    }
+
+    // ==================== UPDATES ====================
+
+    /**
+     * Re-run both passes for the whole graph
+     */
+    public void recompute() {
+        order = graph.topologicalNodes();
+        int size = order.length;
+
+        position = new int[size];
+        duration = new double[size];
+        earliestStart = new double[size];
+        earliestFinish = new double[size];
+        latestStart = new double[size];
+        latestFinish = new double[size];
+
+        for (int pos = 0; pos < size; pos++) {
+            int node = order[pos];
+            position[node] = pos;
+            duration[node] = durationOf(node);
+        }
+
+        for (int node : order) {
+            computeEarliest(node);
+        }
+        projectDuration = maxEarliestFinish();
+        computeLatestAll();
+
+        computedVersion = graph.structureVersion();
+    }
+
+    /**
+     * Pick up a changed estimate or status of one task (already applied to the graph)
+     */
+    public void onTaskChanged(int taskId) {
+        if (computedVersion != graph.structureVersion()) {
+            recompute();
+            return;
+        }
+
+        int changed = graph.nodeIndex(taskId);
+        if (changed < 0) {
+            return;
+        }
+
+        double newDuration = durationOf(changed);
+        if (newDuration == duration[changed]) {
+            return;
+        }
+        duration[changed] = newDuration;
+
+        // Forward: only the changed task and whatever its new finish pushes
+        boolean[] dirty = new boolean[order.length];
+        dirty[changed] = true;
+        for (int pos = position[changed]; pos < order.length; pos++) {
+            int node = order[pos];
+            if (!dirty[node]) {
+                continue;
+            }
+            double oldFinish = earliestFinish[node];
+            computeEarliest(node);
+            if (earliestFinish[node] != oldFinish) {
+                markAll(dirty, graph.dependentsAt(node), graph.dependentCountAt(node));
+            }
+        }
+
+        double newProjectDuration = maxEarliestFinish();
+        if (newProjectDuration != projectDuration) {
+            // Every latest time hangs off the project end
+            projectDuration = newProjectDuration;
+            computeLatestAll();
+            return;
+        }
+
+        // Backward: only the changed task and whatever its new latest start pulls in
+        Arrays.fill(dirty, false);
+        dirty[changed] = true;
+        for (int pos = position[changed]; pos >= 0; pos--) {
+            int node = order[pos];
+            if (!dirty[node]) {
+                continue;
+            }
+            double oldStart = latestStart[node];
+            computeLatest(node);
+            if (latestStart[node] != oldStart) {
+                markAll(dirty, graph.prerequisitesAt(node), graph.prerequisiteCountAt(node));
+            }
+        }
+    }
+
+    // ==================== PASSES ====================
+
+    private void ensureCurrent() {
+        if (computedVersion != graph.structureVersion()) {
+            recompute();
+        }
+    }
+
+    private double durationOf(int node) {
+        return graph.isDoneAt(node) ? 0 : Math.max(0, graph.estimatedHoursAt(node));
+    }
+
+    private void computeEarliest(int node) {
+        double start = 0;
+        int[] prerequisites = graph.prerequisitesAt(node);
+        for (int i = 0; i < graph.prerequisiteCountAt(node); i++) {
+            start = Math.max(start, earliestFinish[prerequisites[i]]);
+        }
+        earliestStart[node] = start;
+        earliestFinish[node] = start + duration[node];
+    }
+
+    private void computeLatest(int node) {
+        double finish = projectDuration;
+        int[] dependents = graph.dependentsAt(node);
+        for (int i = 0; i < graph.dependentCountAt(node); i++) {
+            finish = Math.min(finish, latestStart[dependents[i]]);
+        }
+        latestFinish[node] = finish;
+        latestStart[node] = finish - duration[node];
+    }
+
+    private void computeLatestAll() {
+        for (int pos = order.length - 1; pos >= 0; pos--) {
+            computeLatest(order[pos]);
+        }
+    }
+
+    private double maxEarliestFinish() {
+        double max = 0;
+        for (double finish : earliestFinish) {
+            max = Math.max(max, finish);
+        }
+        return max;
+    }
+
+    private boolean isCritical(int node) {
+        return latestStart[node] - earliestStart[node] < EPSILON;
+    }
+
+    private static void markAll(boolean[] dirty, int[] nodes, int count) {
+        for (int i = 0; i < count; i++) {
+            dirty[nodes[i]] = true;
+        }
+    }
+
+    private TaskSchedule scheduleOf(int node) {
+        return new TaskSchedule(graph.taskIdAt(node), duration[node],
+                earliestStart[node], earliestFinish[node],
+                latestStart[node], latestFinish[node]);
+    }
+}
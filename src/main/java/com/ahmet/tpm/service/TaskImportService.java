@@ -0,0 +1,501 @@
+package com.ahmet.tpm.service;
+
+import com.ahmet.tpm.config.UnitOfWork;
+import com.ahmet.tpm.dao.ProjectDao;
+import com.ahmet.tpm.dao.TaskImportDao;
+import com.ahmet.tpm.dao.TaskPriorityDao;
+import com.ahmet.tpm.dao.TaskStatusDao;
+import com.ahmet.tpm.dao.UserDao;
+import com.ahmet.tpm.models.Project;
+import com.ahmet.tpm.models.Task;
+import com.ahmet.tpm.models.TaskPriority;
+import com.ahmet.tpm.models.TaskStatus;
+import com.ahmet.tpm.models.User;
+import com.ahmet.tpm.utils.CsvReader;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Service layer for bulk task imports
+ * Reads tasks from a CSV file, resolves project, status, priority and user names
+ * against the lookup tables, inserts the tasks in blocks and then wires parents,
+ * dependencies and assignees in batches, all in one transaction.
+ *
+ * Columns (header names are case-insensitive, spaces count as underscores, so a
+ * task export can be imported again):
+ * project, task (both required), description, status, priority, estimated_hours,
+ * due_date (yyyy-MM-dd), parent, assignees and depends_on. parent and depends_on
+ * name tasks of the same project, either from the file or already stored;
+ * assignees and depends_on take several values separated by ';'.
+ *
+ * Rows that cannot be resolved are skipped with a warning instead of failing the import.
+ */
+public class TaskImportService {
+
+    public static final String PHASE_READING = "Reading file";
+    public static final String PHASE_INSERTING = "Inserting tasks";
+    public static final String PHASE_LINKING = "Linking tasks";
+
+    private static final String LIST_SEPARATOR = ";";
+
+    /**
+     * Outcome of an import
+     */
+    public record ImportResult(int imported, int skipped, int dependencies, int assignments,
+                               List<String> warnings) {}
+
+    /**
+     * Progress callback (called from the importing thread)
+     */
+    public interface ProgressListener {
+        void onProgress(String phase, int done, int total);
+    }
+
+    /**
+     * A parsed row waiting for its task_id
+     */
+    private static final class PendingTask {
+        final long line;
+        final Task task;
+        final String parentName;
+        final List<String> assignees;
+        final List<String> dependsOn;
+
+        PendingTask(long line, Task task, String parentName, List<String> assignees, List<String> dependsOn) {
+            this.line = line;
+            this.task = task;
+            this.parentName = parentName;
+            this.assignees = assignees;
+            this.dependsOn = dependsOn;
+        }
+    }
+
+    private TaskImportDao taskImportDao;
+    private ProjectDao projectDao;
+    private TaskStatusDao taskStatusDao;
+    private TaskPriorityDao taskPriorityDao;
+    private UserDao userDao;
+    private DependencyGraphService dependencyGraphService;
+
+    public TaskImportService() {
+        this.taskImportDao = new TaskImportDao();
+        this.projectDao = new ProjectDao();
+        this.taskStatusDao = new TaskStatusDao();
+        this.taskPriorityDao = new TaskPriorityDao();
+        this.userDao = new UserDao();
+        this.dependencyGraphService = new DependencyGraphService();
+    }
+
+    // ==================== IMPORT ====================
+
+    /**
+     * Import all tasks of a CSV file
+     *
+     * @param createdBy User recorded as creator of every imported task
+     * @param listener  Progress callback (may be null)
+     * @throws IOException if the file cannot be read or has no project/task columns
+     */
+    public ImportResult importTasks(Path csvFile, int createdBy, ProgressListener listener)
+            throws IOException, SQLException {
+        List<String> warnings = new ArrayList<>();
+        List<PendingTask> pending = readFile(csvFile, createdBy, warnings, listener);
+        int skipped = warnings.size();
+
+        if (pending.isEmpty()) {
+            return new ImportResult(0, skipped, 0, 0, warnings);
+        }
+
+        List<Task> tasks = new ArrayList<>(pending.size());
+        for (PendingTask row : pending) {
+            tasks.add(row.task);
+        }
+
+        Set<Integer> projectIds = new LinkedHashSet<>();
+        for (Task task : tasks) {
+            projectIds.add(task.getProjectId());
+        }
+
+        int dependencyCount;
+        int assignmentCount;
+
+        try (UnitOfWork uow = UnitOfWork.begin()) {
+            int total = tasks.size();
+            report(listener, PHASE_INSERTING, 0, total);
+            int[] taskIds = taskImportDao.insertTasks(tasks,
+                    done -> report(listener, PHASE_INSERTING, done, total));
+
+            report(listener, PHASE_LINKING, 0, 3);
+            Map<String, Integer> taskIdsByName = loadTaskNames(projectIds, pending, taskIds);
+
+            List<int[]> parents = resolveParents(pending, taskIds, taskIdsByName, warnings);
+            taskImportDao.updateParents(parents);
+            report(listener, PHASE_LINKING, 1, 3);
+
+            List<int[]> dependencies = resolveDependencies(pending, taskIds, taskIdsByName, warnings);
+            taskImportDao.insertDependencies(dependencies);
+            report(listener, PHASE_LINKING, 2, 3);
+
+            List<int[]> assignments = resolveAssignments(pending, taskIds, warnings);
+            taskImportDao.insertAssignments(assignments);
+            report(listener, PHASE_LINKING, 3, 3);
+
+            uow.commit();
+            dependencyCount = dependencies.size();
+            assignmentCount = assignments.size();
+        }
+
+        for (int projectId : projectIds) {
+            dependencyGraphService.invalidate(projectId);
+        }
+
+        System.out.println("✓ Imported " + tasks.size() + " tasks from " + csvFile.getFileName()
+                + " (" + skipped + " rows skipped)");
+        return new ImportResult(tasks.size(), skipped, dependencyCount, assignmentCount, warnings);
+    }
+
+    // ==================== PARSING ====================
+
+    private List<PendingTask> readFile(Path csvFile, int createdBy, List<String> warnings,
+                                       ProgressListener listener) throws IOException {
+        Map<String, Integer> projects = new HashMap<>();
+        for (Project project : projectDao.findAll()) {
+            projects.putIfAbsent(normalizeName(project.getProjectName()), project.getProjectId());
+        }
+
+        List<TaskStatus> statuses = taskStatusDao.findAll();
+        List<TaskPriority> priorities = taskPriorityDao.findAll();
+        if (statuses.isEmpty() || priorities.isEmpty()) {
+            throw new IllegalStateException("Task statuses and priorities must be set up before importing");
+        }
+        int defaultStatusId = statuses.get(0).getStatusId();
+        int defaultPriorityId = priorities.get(0).getPriorityId();
+
+        List<PendingTask> pending = new ArrayList<>();
+
+        try (CsvReader reader = CsvReader.open(csvFile)) {
+            List<String> header = reader.readRow();
+            if (header == null) {
+                throw new IOException("The file is empty");
+            }
+
+            Map<String, Integer> columns = new HashMap<>();
+            for (int i = 0; i < header.size(); i++) {
+                columns.putIfAbsent(header.get(i).trim().toLowerCase(Locale.ROOT).replace(' ', '_'), i);
+            }
+            if (!columns.containsKey("project") || !columns.containsKey("task")) {
+                throw new IOException("The header needs at least the columns 'project' and 'task'");
+            }
+
+            List<String> row;
+            while ((row = reader.readRow()) != null) {
+                long line = reader.getRowLineNumber();
+
+                String projectName = field(row, columns, "project");
+                String taskName = field(row, columns, "task");
+                if (projectName.isEmpty() || taskName.isEmpty()) {
+                    warnings.add("Line " + line + ": project and task are required");
+                    continue;
+                }
+
+                Integer projectId = projects.get(normalizeName(projectName));
+                if (projectId == null) {
+                    warnings.add("Line " + line + ": unknown project '" + projectName + "'");
+                    continue;
+                }
+
+                int statusId = defaultStatusId;
+                String statusName = field(row, columns, "status");
+                if (!statusName.isEmpty()) {
+                    TaskStatus status = taskStatusDao.findByName(statusName);
+                    if (status == null) {
+                        warnings.add("Line " + line + ": unknown status '" + statusName + "'");
+                        continue;
+                    }
+                    statusId = status.getStatusId();
+                }
+
+                int priorityId = defaultPriorityId;
+                String priorityName = field(row, columns, "priority");
+                if (!priorityName.isEmpty()) {
+                    TaskPriority priority = taskPriorityDao.findByName(priorityName);
+                    if (priority == null) {
+                        warnings.add("Line " + line + ": unknown priority '" + priorityName + "'");
+                        continue;
+                    }
+                    priorityId = priority.getPriorityId();
+                }
+
+                double estimatedHours = 0;
+                String hours = field(row, columns, "estimated_hours");
+                if (!hours.isEmpty()) {
+                    try {
+                        estimatedHours = Double.parseDouble(hours);
+                    } catch (NumberFormatException e) {
+                        warnings.add("Line " + line + ": invalid estimated hours '" + hours + "'");
+                        continue;
+                    }
+                    if (estimatedHours < 0) {
+                        warnings.add("Line " + line + ": estimated hours cannot be negative");
+                        continue;
+                    }
+                }
+
+                LocalDate dueDate = null;
+                String due = field(row, columns, "due_date");
+                if (!due.isEmpty()) {
+                    try {
+                        dueDate = LocalDate.parse(due);
+                    } catch (DateTimeParseException e) {
+                        warnings.add("Line " + line + ": invalid due date '" + due + "' (expected yyyy-MM-dd)");
+                        continue;
+                    }
+                }
+
+                String description = field(row, columns, "description");
+                Task task = new Task(projectId, taskName, description.isEmpty() ? null : description,
+                        statusId, priorityId, estimatedHours, dueDate, null, createdBy);
+
+                pending.add(new PendingTask(line, task,
+                        field(row, columns, "parent"),
+                        splitList(field(row, columns, "assignees")),
+                        splitList(field(row, columns, "depends_on"))));
+
+                if (pending.size() % 1000 == 0) {
+                    report(listener, PHASE_READING, pending.size(), 0);
+                }
+            }
+        }
+
+        return pending;
+    }
+
+    private static String field(List<String> row, Map<String, Integer> columns, String column) {
+        Integer index = columns.get(column);
+        if (index == null || index >= row.size()) {
+            return "";
+        }
+        return row.get(index).trim();
+    }
+
+    private static List<String> splitList(String value) {
+        List<String> values = new ArrayList<>();
+        for (String part : value.split(LIST_SEPARATOR)) {
+            if (!part.isBlank()) {
+                values.add(part.trim());
+            }
+        }
+        return values;
+    }
+
+    private static String normalizeName(String name) {
+        return name == null ? "" : name.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static String taskKey(int projectId, String taskName) {
+        return projectId + ":" + normalizeName(taskName);
+    }
+
+    // ==================== RESOLVING ====================
+
+    /**
+     * Task IDs by project and name: stored tasks first, then the imported ones, so a
+     * name from the file wins over an older task with the same name
+     */
+    private Map<String, Integer> loadTaskNames(Set<Integer> projectIds, List<PendingTask> pending,
+                                               int[] taskIds) throws SQLException {
+        Set<Integer> imported = new HashSet<>();
+        for (int taskId : taskIds) {
+            imported.add(taskId);
+        }
+
+        Map<String, Integer> taskIdsByName = new HashMap<>();
+        for (TaskImportDao.ExistingTask existing : taskImportDao.findTasksInProjects(projectIds)) {
+            if (!imported.contains(existing.taskId())) {
+                taskIdsByName.putIfAbsent(taskKey(existing.projectId(), existing.taskName()), existing.taskId());
+            }
+        }
+
+        // With duplicate names in the file the first row keeps the name
+        Map<String, Integer> fromFile = new HashMap<>();
+        for (int i = 0; i < pending.size(); i++) {
+            Task task = pending.get(i).task;
+            fromFile.putIfAbsent(taskKey(task.getProjectId(), task.getTaskName()), taskIds[i]);
+        }
+        taskIdsByName.putAll(fromFile);
+
+        return taskIdsByName;
+    }
+
+    /**
+     * {taskId, parentTaskId} pairs. Parent chains among the imported tasks are checked
+     * for loops; stored tasks keep their parents, so a loop can only close inside the file.
+     */
+    private List<int[]> resolveParents(List<PendingTask> pending, int[] taskIds,
+                                       Map<String, Integer> taskIdsByName, List<String> warnings) {
+        int n = pending.size();
+        Map<Integer, Integer> rowByTaskId = new HashMap<>(n * 2);
+        for (int i = 0; i < n; i++) {
+            rowByTaskId.put(taskIds[i], i);
+        }
+
+        int[] parentIds = new int[n];
+        int[] parentRows = new int[n];
+        for (int i = 0; i < n; i++) {
+            PendingTask row = pending.get(i);
+            parentRows[i] = -1;
+            if (row.parentName.isEmpty()) {
+                continue;
+            }
+
+            Integer parentId = taskIdsByName.get(taskKey(row.task.getProjectId(), row.parentName));
+            if (parentId == null) {
+                warnings.add("Line " + row.line + ": parent task '" + row.parentName + "' not found in the project");
+            } else if (parentId == taskIds[i]) {
+                warnings.add("Line " + row.line + ": a task cannot be its own parent");
+            } else {
+                parentIds[i] = parentId;
+                parentRows[i] = rowByTaskId.getOrDefault(parentId, -1);
+            }
+        }
+
+        for (int row : breakParentLoops(parentRows)) {
+            warnings.add("Line " + pending.get(row).line + ": parent '" + pending.get(row).parentName
+                    + "' would create a loop of subtasks; parent left empty");
+            parentIds[row] = 0;
+        }
+
+        List<int[]> pairs = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            if (parentIds[i] != 0) {
+                pairs.add(new int[]{taskIds[i], parentIds[i]});
+            }
+        }
+        return pairs;
+    }
+
+    /**
+     * Break every loop in the parent links by dropping exactly one link per loop (the one
+     * that closes it when the rows are walked in file order); other rows keep their parents.
+     *
+     * @param parentRows Row index of each row's parent, or -1; dropped links are set to -1
+     * @return The rows whose parent link was dropped
+     */
+    static List<Integer> breakParentLoops(int[] parentRows) {
+        int n = parentRows.length;
+        List<Integer> dropped = new ArrayList<>();
+
+        // 0 = not visited, 1 = on the chain being walked, 2 = checked
+        byte[] state = new byte[n];
+        List<Integer> chain = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            int row = i;
+            while (row >= 0 && state[row] == 0) {
+                state[row] = 1;
+                chain.add(row);
+                row = parentRows[row];
+            }
+
+            // Back on the chain being walked: row is where the loop closes
+            if (row >= 0 && state[row] == 1) {
+                parentRows[row] = -1;
+                dropped.add(row);
+            }
+
+            // The whole walked chain is settled, including the rest of the loop
+            for (int walked : chain) {
+                state[walked] = 2;
+            }
+            chain.clear();
+        }
+        return dropped;
+    }
+
+    /**
+     * {taskId, dependsOnTaskId} pairs, skipping edges that would close a cycle.
+     * Stored edges never point at a new task, so a cycle can only be made of new edges
+     * and one graph per project over those edges is enough to check them.
+     */
+    private List<int[]> resolveDependencies(List<PendingTask> pending, int[] taskIds,
+                                            Map<String, Integer> taskIdsByName, List<String> warnings) {
+        Map<Integer, DependencyGraph> graphs = new HashMap<>();
+        List<int[]> pairs = new ArrayList<>();
+
+        for (int i = 0; i < pending.size(); i++) {
+            PendingTask row = pending.get(i);
+            if (row.dependsOn.isEmpty()) {
+                continue;
+            }
+
+            int projectId = row.task.getProjectId();
+            DependencyGraph graph = graphs.computeIfAbsent(projectId, id -> new DependencyGraph());
+            Set<Integer> added = new LinkedHashSet<>();
+
+            for (String name : row.dependsOn) {
+                Integer dependsOnId = taskIdsByName.get(taskKey(projectId, name));
+                if (dependsOnId == null) {
+                    warnings.add("Line " + row.line + ": dependency '" + name + "' not found in the project");
+                } else if (graph.wouldCreateCycle(taskIds[i], dependsOnId)) {
+                    warnings.add("Line " + row.line + ": dependency on '" + name + "' would create a cycle; skipped");
+                } else if (added.add(dependsOnId)) {
+                    graph.addDependency(taskIds[i], dependsOnId);
+                    pairs.add(new int[]{taskIds[i], dependsOnId});
+                }
+            }
+        }
+
+        return pairs;
+    }
+
+    /**
+     * {taskId, userId} pairs for the usernames in the assignees column
+     */
+    private List<int[]> resolveAssignments(List<PendingTask> pending, int[] taskIds,
+                                           List<String> warnings) throws SQLException {
+        Map<String, Integer> users = null;
+        List<int[]> pairs = new ArrayList<>();
+
+        for (int i = 0; i < pending.size(); i++) {
+            PendingTask row = pending.get(i);
+            if (row.assignees.isEmpty()) {
+                continue;
+            }
+
+            if (users == null) {
+                users = new HashMap<>();
+                for (User user : userDao.findAll()) {
+                    users.put(normalizeName(user.getUsername()), user.getUserId());
+                }
+            }
+
+            Set<Integer> added = new LinkedHashSet<>();
+            for (String username : row.assignees) {
+                Integer userId = users.get(normalizeName(username));
+                if (userId == null) {
+                    warnings.add("Line " + row.line + ": unknown user '" + username + "'");
+                } else if (added.add(userId)) {
+                    pairs.add(new int[]{taskIds[i], userId});
+                }
+            }
+        }
+
+        return pairs;
+    }
+
+    private static void report(ProgressListener listener, String phase, int done, int total) {
+        if (listener != null) {
+            listener.onProgress(phase, done, total);
+        }
+    }
+}
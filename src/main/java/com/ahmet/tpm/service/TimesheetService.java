@@ -0,0 +1,161 @@
+package com.ahmet.tpm.service;
+
+import com.ahmet.tpm.dao.TimesheetDao;
+import com.ahmet.tpm.utils.CsvWriter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * Service layer for timesheets
+ * Pivots the grouped hours from TimesheetDao into one row per user and project with
+ * a column per day. Rows are built while the query streams (its results arrive sorted
+ * by user and project), so memory stays at one row however many users are in range.
+ */
+public class TimesheetService {
+
+    /**
+     * Hours of one user on one project, one value per day of the range
+     */
+    public record TimesheetRow(int userId, String userName, Integer projectId, String projectName,
+                               double[] hoursByDay) {
+
+        public double getTotalHours() {
+            double total = 0;
+            for (double hours : hoursByDay) {
+                total += hours;
+            }
+            return total;
+        }
+    }
+
+    private TimesheetDao timesheetDao;
+
+    public TimesheetService() {
+        this.timesheetDao = new TimesheetDao();
+    }
+
+    // ==================== PIVOT ====================
+
+    /**
+     * Build the pivot for a date range (both ends included) and hand out each row as it completes
+     */
+    public void forEachRow(LocalDate startDate, LocalDate endDate, Consumer<TimesheetRow> handler) throws SQLException {
+        if (endDate.isBefore(startDate)) {
+            throw new IllegalArgumentException("End date is before start date");
+        }
+        int days = (int) ChronoUnit.DAYS.between(startDate, endDate) + 1;
+
+        TimesheetRow[] current = new TimesheetRow[1];
+        timesheetDao.forEachCell(startDate, endDate, cell -> {
+            TimesheetRow row = current[0];
+            if (row == null || row.userId() != cell.userId() || !Objects.equals(row.projectId(), cell.projectId())) {
+                if (row != null) {
+                    handler.accept(row);
+                }
+                row = new TimesheetRow(cell.userId(), cell.userName(), cell.projectId(), cell.projectName(),
+                        new double[days]);
+                current[0] = row;
+            }
+            row.hoursByDay()[(int) ChronoUnit.DAYS.between(startDate, cell.workDate())] += cell.hours();
+        });
+
+        if (current[0] != null) {
+            handler.accept(current[0]);
+        }
+    }
+
+    /**
+     * The whole pivot as a list (for on-screen use; prefer forEachRow or writeCsv for large ranges)
+     */
+    public List<TimesheetRow> getTimesheet(LocalDate startDate, LocalDate endDate) throws SQLException {
+        List<TimesheetRow> rows = new ArrayList<>();
+        forEachRow(startDate, endDate, rows::add);
+        return rows;
+    }
+
+    /**
+     * The pivot of the Monday-to-Sunday week that contains the given day
+     */
+    public List<TimesheetRow> getWeeklyTimesheet(LocalDate dayInWeek) throws SQLException {
+        LocalDate monday = dayInWeek.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        return getTimesheet(monday, monday.plusDays(6));
+    }
+
+    // ==================== CSV ====================
+
+    /**
+     * Stream the pivot of a date range to a CSV file: one row per user and project,
+     * a column per day, a total column and a final row with the daily totals
+     *
+     * @return Number of user/project rows written
+     */
+    public long writeCsv(LocalDate startDate, LocalDate endDate, Path file) throws SQLException, IOException {
+        try (CsvWriter csv = CsvWriter.open(file)) {
+            return writeCsv(startDate, endDate, csv);
+        }
+    }
+
+    public long writeCsv(LocalDate startDate, LocalDate endDate, CsvWriter csv) throws SQLException, IOException {
+        if (endDate.isBefore(startDate)) {
+            throw new IllegalArgumentException("End date is before start date");
+        }
+        int days = (int) ChronoUnit.DAYS.between(startDate, endDate) + 1;
+
+        List<Object> header = new ArrayList<>(List.of("User ID", "User", "Project ID", "Project"));
+        for (int day = 0; day < days; day++) {
+            header.add(startDate.plusDays(day).toString());
+        }
+        header.add("Total");
+        csv.writeRow(header.toArray());
+
+        double[] dailyTotals = new double[days];
+        long[] rowCount = {0};
+
+        try {
+            forEachRow(startDate, endDate, row -> {
+                Object[] values = new Object[days + 5];
+                values[0] = row.userId();
+                values[1] = row.userName();
+                values[2] = row.projectId();
+                values[3] = row.projectName() != null ? row.projectName() : "(No project)";
+                for (int day = 0; day < days; day++) {
+                    values[4 + day] = row.hoursByDay()[day];
+                    dailyTotals[day] += row.hoursByDay()[day];
+                }
+                values[days + 4] = row.getTotalHours();
+
+                try {
+                    csv.writeRow(values);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                rowCount[0]++;
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+
+        Object[] totals = new Object[days + 5];
+        totals[1] = "Total";
+        double grandTotal = 0;
+        for (int day = 0; day < days; day++) {
+            totals[4 + day] = dailyTotals[day];
+            grandTotal += dailyTotals[day];
+        }
+        totals[days + 4] = grandTotal;
+        csv.writeRow(totals);
+
+        return rowCount[0];
+    }
+}
@@ -1,6 +1,9 @@
 package com.ahmet.tpm.taskFrames;
 
 import com.ahmet.tpm.components.NotificationBellPanel;
+import com.ahmet.tpm.dao.CommentSearchBackfill;
+import com.ahmet.tpm.dao.TaskSearchIndex;
+import com.ahmet.tpm.dao.UserDao;
 import com.ahmet.tpm.taskFrames.tasks.TasksModulePanel;
 import com.ahmet.tpm.taskFrames.dashboard.TaskDashboard;
 import com.ahmet.tpm.taskFrames.profile.TaskProfilePanel;
@@ -31,6 +34,10 @@ public class TaskMainFrame extends JFrame {
         this.currentUsername = username;
         this.currentUserId = userId;
 
+        // Load the task search index (and finish the comment one) while the UI comes up
+        TaskSearchIndex.start();
+        CommentSearchBackfill.start();
+
         initializeFrame();
         createNavBar();
         createContentArea();
@@ -157,6 +164,7 @@ public class TaskMainFrame extends JFrame {
                 "Are you sure you want to logout from Task System?",
                 "Confirm Logout")) {
             dispose();
+            UserDao.clearIdentityMap();
             System.out.println("Task System - User logged out: " + currentUsername);
 
             // Open login frame again
@@ -1,17 +1,15 @@
 package com.ahmet.tpm.taskFrames.dashboard;
 
-import com.ahmet.tpm.dao.TaskDao;
-import com.ahmet.tpm.dao.TaskMemberDao;
+import com.ahmet.tpm.dao.DashboardDao;
 import com.ahmet.tpm.taskFrames.TaskMainFrame;
-import com.ahmet.tpm.models.Task;
+import com.ahmet.tpm.models.TaskDashboardStats;
+import com.ahmet.tpm.models.TaskWithDetails;
 import com.ahmet.tpm.utils.ComponentFactory;
 import com.ahmet.tpm.utils.StyleUtil;
 
 import javax.swing.*;
 import javax.swing.table.DefaultTableModel;
 import java.awt.*;
-import java.time.LocalDate;
-import java.util.List;
 
 /**
  * Dashboard panel for Task Management System
@@ -20,8 +18,9 @@ import java.util.List;
 public class TaskDashboard extends JPanel {
 
     private TaskMainFrame mainFrame;
-    private TaskDao taskDao;
-    private TaskMemberDao taskMemberDao;
+    private DashboardDao dashboardDao;
+
+    private static final int RECENT_TASK_LIMIT = 10;
 
     // Statistics labels
     private JLabel lblMyTasks;
@@ -35,15 +34,13 @@ public class TaskDashboard extends JPanel {
 
     public TaskDashboard(TaskMainFrame mainFrame) {
         this.mainFrame = mainFrame;
-        this.taskDao = new TaskDao();
-        this.taskMemberDao = new TaskMemberDao();
+        this.dashboardDao = new DashboardDao();
 
         setLayout(new BorderLayout());
         setBackground(StyleUtil.BACKGROUND);
 
         initializeUI();
-        loadStatistics();
-        loadRecentTasks();
+        loadDashboard();
     }
 
     private void initializeUI() {
@@ -219,93 +216,41 @@ public class TaskDashboard extends JPanel {
         return panel;
     }
 
-    private void loadStatistics() {
-        int userId = mainFrame.getCurrentUserId();
-
-        // My Tasks (assigned to current user)
-        List<Integer> myTaskIds = taskMemberDao.getTaskIdsForUser(userId);
-        lblMyTasks.setText(String.valueOf(myTaskIds.size()));
-
-        // Count tasks by status
-        int todoCount = 0;
-        int inProgressCount = 0;
-        int overdueCount = 0;
-
-        for (Integer taskId : myTaskIds) {
-            Task task = taskDao.findById(taskId);
-            if (task != null) {
-                // TODO = status_id 1
-                if (task.getStatusId() == 1) {
-                    todoCount++;
-                }
-                // IN PROGRESS = status_id 2
-                else if (task.getStatusId() == 2) {
-                    inProgressCount++;
-                }
-
-                // Check if overdue (due date < today AND not done)
-                if (task.getDueDate() != null &&
-                        task.getDueDate().isBefore(LocalDate.now()) &&
-                        task.getStatusId() != 4) {  // 4 = DONE
-                    overdueCount++;
-                }
-            }
-        }
+    /**
+     * Load statistics and recent tasks with two grouped queries
+     */
+    private void loadDashboard() {
+        TaskDashboardStats stats = dashboardDao.getTaskDashboardForUser(
+                mainFrame.getCurrentUserId(), RECENT_TASK_LIMIT);
 
-        lblTodoTasks.setText(String.valueOf(todoCount));
-        lblInProgressTasks.setText(String.valueOf(inProgressCount));
-        lblOverdueTasks.setText(String.valueOf(overdueCount));
+        loadStatistics(stats);
+        loadRecentTasks(stats);
     }
 
-    private void loadRecentTasks() {
-        tableModel.setRowCount(0);
-
-        int userId = mainFrame.getCurrentUserId();
-        List<Integer> myTaskIds = taskMemberDao.getTaskIdsForUser(userId);
-
-        // Load up to 10 recent tasks
-        int count = 0;
-        for (Integer taskId : myTaskIds) {
-            if (count >= 10) break;
-
-            Task task = taskDao.findById(taskId);
-            if (task != null) {
-                Object[] row = {
-                        task.getTaskId(),
-                        task.getTaskName(),
-                        "Project " + task.getProjectId(),  // TODO: Load project name
-                        getStatusName(task.getStatusId()),
-                        getPriorityName(task.getPriorityId()),
-                        task.getDueDate() != null ? task.getDueDate().toString() : "-"
-                };
-                tableModel.addRow(row);
-                count++;
-            }
-        }
+    private void loadStatistics(TaskDashboardStats stats) {
+        lblMyTasks.setText(String.valueOf(stats.getTotalTasks()));
+        lblTodoTasks.setText(String.valueOf(stats.getCountForStatus("TODO")));
+        lblInProgressTasks.setText(String.valueOf(stats.getCountForStatus("IN PROGRESS")));
+        lblOverdueTasks.setText(String.valueOf(stats.getOverdueTasks()));
     }
 
-    private String getStatusName(int statusId) {
-        return switch (statusId) {
-            case 1 -> "TODO";
-            case 2 -> "IN PROGRESS";
-            case 3 -> "IN REVIEW";
-            case 4 -> "DONE";
-            default -> "Unknown";
-        };
-    }
+    private void loadRecentTasks(TaskDashboardStats stats) {
+        tableModel.setRowCount(0);
 
-    private String getPriorityName(int priorityId) {
-        return switch (priorityId) {
-            case 1 -> "LOW";
-            case 2 -> "MEDIUM";
-            case 3 -> "HIGH";
-            case 4 -> "CRITICAL";
-            default -> "Unknown";
-        };
+        for (TaskWithDetails task : stats.getRecentTasks()) {
+            Object[] row = {
+                    task.getTaskId(),
+                    task.getTaskName(),
+                    task.getProjectName() != null ? task.getProjectName() : "Unknown",
+                    task.getStatusName() != null ? task.getStatusName() : "Unknown",
+                    task.getPriorityName() != null ? task.getPriorityName() : "Unknown",
+                    task.getDueDate() != null ? task.getDueDate().toString() : "-"
+            };
+            tableModel.addRow(row);
+        }
     }
 
     public void refreshData() {
-        loadStatistics();
-        loadRecentTasks();
+        loadDashboard();
     }
 }
\ No newline at end of file
@@ -12,6 +12,8 @@ import java.awt.*;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Set;
 
 public class CreateTaskDialog extends JDialog {
 
@@ -528,15 +530,12 @@ public class CreateTaskDialog extends JDialog {
     }
 
     private void saveDependencies(int newTaskId) {
-        List<Task> selectedDependencies = dependencyList.getSelectedValuesList();
-
-        for (Task dependency : selectedDependencies) {
-            taskDependencyDao.addDependency(newTaskId, dependency.getTaskId());
-            System.out.println("✓ Added dependency: Task " + newTaskId +
-                    " depends on Task " + dependency.getTaskId());
+        Set<Integer> dependencyIds = new HashSet<>();
+        for (Task dependency : dependencyList.getSelectedValuesList()) {
+            dependencyIds.add(dependency.getTaskId());
         }
 
-        if (!selectedDependencies.isEmpty()) {
-            System.out.println("✓ Total dependencies added: " + selectedDependencies.size());
+        if (!dependencyIds.isEmpty()) {
+            taskDependencyDao.replaceDependencies(newTaskId, dependencyIds);
         }
     }}
\ No newline at end of file
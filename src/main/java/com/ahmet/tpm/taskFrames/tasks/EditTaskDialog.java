@@ -1,9 +1,11 @@
 package com.ahmet.tpm.taskFrames.tasks;
 
+import com.ahmet.tpm.config.UnitOfWork;
 import com.ahmet.tpm.dao.*;
 import com.ahmet.tpm.projectFrames.MainFrame;
 import com.ahmet.tpm.taskFrames.TaskMainFrame; // ============ TASKMAINFRAME İMPORT ============
 import com.ahmet.tpm.models.*;
+import com.ahmet.tpm.service.DependencyGraphService;
 import com.ahmet.tpm.service.NotificationService; // ============ BİLDİRİM İMPORT ============
 import com.ahmet.tpm.utils.ComponentFactory;
 import com.ahmet.tpm.utils.StyleUtil;
@@ -14,6 +16,8 @@ import java.awt.*;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Set;
 
 public class EditTaskDialog extends JDialog {
 
@@ -27,6 +31,7 @@ public class EditTaskDialog extends JDialog {
     private TaskPriorityDao taskPriorityDao;
     private UserDao userDao;
     private TaskDependencyDao taskDependencyDao;
+    private DependencyGraphService dependencyGraphService;
 
     private NotificationService notificationService;
 
@@ -75,6 +80,7 @@ public class EditTaskDialog extends JDialog {
         this.taskPriorityDao = new TaskPriorityDao();
         this.userDao = new UserDao();
         this.taskDependencyDao = new TaskDependencyDao();
+        this.dependencyGraphService = new DependencyGraphService();
 
 
         this.notificationService = new NotificationService();
@@ -497,6 +503,8 @@ public class EditTaskDialog extends JDialog {
         }
 
         try {
+            int oldProjectId = task.getProjectId();
+
             // ============ STEP 1: UPDATE TASK OBJECT ============
 
             // Project
@@ -539,11 +547,36 @@ public class EditTaskDialog extends JDialog {
                 task.setDueDate(null);
             }
 
+            // Reject dependency cycles before anything is written
+            Set<Integer> newDependencyIds = getSelectedDependencyIds();
+            if (dependencyGraphService.wouldCreateCycle(task.getProjectId(), task.getTaskId(), newDependencyIds)) {
+                JOptionPane.showMessageDialog(this,
+                        "These dependencies would create a cycle:\n" +
+                                "one of the selected tasks already depends on this task.",
+                        "Validation Error",
+                        JOptionPane.ERROR_MESSAGE);
+                return;
+            }
+
             // ============ STEP 2: UPDATE IN DATABASE ============
-            taskDao.update(task);
+            // Task and dependency changes are committed together
+            try (UnitOfWork uow = UnitOfWork.begin()) {
+                taskDao.update(task);
+
+                // ============ STEP 2.5: UPDATE DEPENDENCIES ============
+                updateDependencies(newDependencyIds);
 
-            // ============ STEP 2.5: UPDATE DEPENDENCIES ============
-            updateDependencies();
+                uow.commit();
+            }
+
+            // Keep the cached dependency graph in step
+            if (task.getProjectId() != oldProjectId) {
+                dependencyGraphService.invalidate(oldProjectId);
+                dependencyGraphService.invalidate(task.getProjectId());
+            } else {
+                dependencyGraphService.onTaskUpdated(task.getProjectId(), task.getTaskId(),
+                        "DONE".equals(selectedStatus.getStatusName()), task.getEstimatedHours());
+            }
 
             // ============ STEP 3: SEND NOTIFICATIONS ============
             // Get current user's name for notifications
@@ -841,38 +874,18 @@ public class EditTaskDialog extends JDialog {
         return status != null ? status.getStatusName() : "Unknown";
     }
 
-    private void updateDependencies() {
-        // Get currently selected dependencies
-        List<Task> selectedDependencies = dependencyList.getSelectedValuesList();
-        List<Integer> newDependencyIds = new ArrayList<>();
-
-        for (Task t : selectedDependencies) {
-            newDependencyIds.add(t.getTaskId());
-        }
-
-        // Find dependencies to remove (in original but not in new)
-        for (Integer oldDepId : originalDependencyIds) {
-            if (!newDependencyIds.contains(oldDepId)) {
-                taskDependencyDao.delete(task.getTaskId(), oldDepId);
-                System.out.println("✗ Removed dependency: Task " + task.getTaskId() +
-                        " no longer depends on Task " + oldDepId);
-            }
-        }
-
-        // Find dependencies to add (in new but not in original)
-        for (Integer newDepId : newDependencyIds) {
-            if (!originalDependencyIds.contains(newDepId)) {
-                taskDependencyDao.addDependency(task.getTaskId(), newDepId);
-                System.out.println("✓ Added dependency: Task " + task.getTaskId() +
-                        " now depends on Task " + newDepId);
-            }
+    private Set<Integer> getSelectedDependencyIds() {
+        Set<Integer> ids = new HashSet<>();
+        for (Task t : dependencyList.getSelectedValuesList()) {
+            ids.add(t.getTaskId());
         }
+        return ids;
+    }
 
-        int removed = (int) originalDependencyIds.stream().filter(id -> !newDependencyIds.contains(id)).count();
-        int added = (int) newDependencyIds.stream().filter(id -> !originalDependencyIds.contains(id)).count();
-
-        if (removed > 0 || added > 0) {
-            System.out.println("✓ Dependencies updated: " + added + " added, " + removed + " removed");
+    private void updateDependencies(Set<Integer> newDependencyIds) {
+        // Only the difference to the stored dependencies is written, in one batch
+        if (!newDependencyIds.equals(new HashSet<>(originalDependencyIds))) {
+            dependencyGraphService.replaceDependencies(task.getProjectId(), task.getTaskId(), newDependencyIds);
         }
     }
 }
\ No newline at end of file
@@ -11,7 +11,9 @@ import javax.swing.*;
 import javax.swing.table.DefaultTableModel;
 import java.awt.*;
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 public class ManageAssigneesDialog extends JDialog {
 
@@ -259,9 +261,16 @@ public class ManageAssigneesDialog extends JDialog {
 
         List<TaskMember> assignees = taskMemberDao.findByTask(taskId);
 
-        for (TaskMember assignee : assignees) {
-            try {
-                User user = userDao.findById(assignee.getUserId());
+        try {
+            // Load all assigned users in one query
+            List<Integer> userIds = new ArrayList<>();
+            for (TaskMember assignee : assignees) {
+                userIds.add(assignee.getUserId());
+            }
+            Map<Integer, User> users = userDao.findByIds(userIds);
+
+            for (TaskMember assignee : assignees) {
+                User user = users.get(assignee.getUserId());
                 if (user != null) {
                     Object[] row = {
                             assignee.getTaskMemberId(),
@@ -272,9 +281,9 @@ public class ManageAssigneesDialog extends JDialog {
                     };
                     tableModel.addRow(row);
                 }
-            } catch (SQLException e) {
-                System.err.println("Error loading user: " + e.getMessage());
             }
+        } catch (SQLException e) {
+            System.err.println("Error loading users: " + e.getMessage());
         }
 
         // Update count
@@ -289,13 +298,15 @@ public class ManageAssigneesDialog extends JDialog {
             List<Integer> projectMemberIds = projectMemberDao.getUserIdsForProject(task.getProjectId());
             List<Integer> currentAssigneeIds = taskMemberDao.getUserIdsForTask(taskId);
 
-            for (Integer userId : projectMemberIds) {
-                // Only add if not already assigned
-                if (!currentAssigneeIds.contains(userId)) {
-                    User user = userDao.findById(userId);
-                    if (user != null) {
-                        cmbUsers.addItem(user);
-                    }
+            // Only add if not already assigned
+            List<Integer> candidateIds = new ArrayList<>(projectMemberIds);
+            candidateIds.removeAll(currentAssigneeIds);
+
+            Map<Integer, User> users = userDao.findByIds(candidateIds);
+            for (Integer userId : candidateIds) {
+                User user = users.get(userId);
+                if (user != null) {
+                    cmbUsers.addItem(user);
                 }
             }
 
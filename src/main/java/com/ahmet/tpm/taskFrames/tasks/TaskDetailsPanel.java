@@ -1,5 +1,7 @@
 package com.ahmet.tpm.taskFrames.tasks;
 
+import com.ahmet.tpm.components.TaskTreeModel;
+import com.ahmet.tpm.config.UnitOfWork;
 import com.ahmet.tpm.dao.*;
 import com.ahmet.tpm.taskFrames.TaskMainFrame;
 import com.ahmet.tpm.models.*;
@@ -8,9 +10,14 @@ import com.ahmet.tpm.utils.StyleUtil;
 import com.ahmet.tpm.utils.UIHelper;
 
 import javax.swing.*;
+import javax.swing.tree.DefaultTreeCellRenderer;
+import javax.swing.tree.TreePath;
 import java.awt.*;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 public class TaskDetailsPanel extends JPanel {
 
@@ -43,6 +50,7 @@ public class TaskDetailsPanel extends JPanel {
     private JLabel lblAssignedMembers;
     private JLabel lblSubtaskCount;
     private JTextArea txtDescription;
+    private JTree subtaskTree;
     private JPanel commentsPanel;
     private TimeTrackingPanel timeTrackingPanel;
 
@@ -146,6 +154,12 @@ public class TaskDetailsPanel extends JPanel {
         panel.add(timeCard);
         panel.add(Box.createVerticalStrut(20));
 
+        // Subtasks Card
+        JPanel subtasksCard = createSubtasksCard();
+        subtasksCard.setAlignmentX(Component.LEFT_ALIGNMENT);
+        panel.add(subtasksCard);
+        panel.add(Box.createVerticalStrut(20));
+
         // Assignees Card
         JPanel assigneesCard = createAssigneesCard();
         assigneesCard.setAlignmentX(Component.LEFT_ALIGNMENT);
@@ -300,6 +314,56 @@ public class TaskDetailsPanel extends JPanel {
         return panel;
     }
 
+    private JPanel createSubtasksCard() {
+        JPanel card = ComponentFactory.createCard();
+        card.setLayout(new BorderLayout(0, 10));
+        card.setMaximumSize(new Dimension(800, 300));
+
+        JPanel headerPanel = new JPanel(new BorderLayout());
+        headerPanel.setBackground(StyleUtil.SURFACE);
+        headerPanel.add(ComponentFactory.createHeadingLabel("Subtasks"), BorderLayout.WEST);
+        lblSubtaskCount = ComponentFactory.createBodyLabel("No subtasks");
+        lblSubtaskCount.setForeground(StyleUtil.TEXT_SECONDARY);
+        headerPanel.add(lblSubtaskCount, BorderLayout.EAST);
+        card.add(headerPanel, BorderLayout.NORTH);
+
+        subtaskTree = new JTree(new TaskTreeModel(null));
+        subtaskTree.setRootVisible(true);
+        subtaskTree.setShowsRootHandles(true);
+        subtaskTree.setCellRenderer(new DefaultTreeCellRenderer() {
+            @Override
+            public Component getTreeCellRendererComponent(JTree tree, Object value, boolean selected,
+                                                          boolean expanded, boolean leaf, int row, boolean hasFocus) {
+                super.getTreeCellRendererComponent(tree, value, selected, expanded, leaf, row, hasFocus);
+                if (value instanceof TaskTreeNode node) {
+                    setText(formatSubtaskNode(node));
+                }
+                return this;
+            }
+        });
+
+        // Double-click a subtask to open it
+        subtaskTree.addMouseListener(new java.awt.event.MouseAdapter() {
+            @Override
+            public void mouseClicked(java.awt.event.MouseEvent e) {
+                if (e.getClickCount() == 2) {
+                    TreePath path = subtaskTree.getPathForLocation(e.getX(), e.getY());
+                    if (path != null && path.getLastPathComponent() instanceof TaskTreeNode node
+                            && node.getDepth() > 0) {
+                        parentModule.showTaskDetails(node.getTaskId());
+                    }
+                }
+            }
+        });
+
+        JScrollPane scrollPane = new JScrollPane(subtaskTree);
+        scrollPane.setBorder(StyleUtil.createLineBorder());
+        scrollPane.setPreferredSize(new Dimension(0, 200));
+        card.add(scrollPane, BorderLayout.CENTER);
+
+        return card;
+    }
+
     private JPanel createAssigneesCard() {
         JPanel card = ComponentFactory.createCard();
         card.setLayout(new BorderLayout(0, 10));
@@ -326,6 +390,7 @@ public class TaskDetailsPanel extends JPanel {
 
         displayTaskData();
         loadTimeTracking();
+        loadSubtasks();
         loadAssignees();
         loadComments();
         initializeTimeTrackingPanel();
@@ -367,11 +432,10 @@ public class TaskDetailsPanel extends JPanel {
         txtDescription.setText(currentTask.getDescription() != null ?
                 currentTask.getDescription() : "No description provided.");
 
-        // Update Time & Progress card
-        updateTimeProgressCard();
+        // Time & Progress card is filled by loadTimeTracking()
     }
 
-    private void updateTimeProgressCard() {
+    private void updateTimeProgressCard(double actual) {
         if (currentTask == null) return;
 
         // Find the Time & Progress card
@@ -389,9 +453,6 @@ public class TaskDetailsPanel extends JPanel {
                             // Get estimated hours
                             double estimated = currentTask.getEstimatedHours();
 
-                            // Get actual hours
-                            double actual = timeTrackingDao.getTotalHoursForTask(currentTask.getTaskId());
-
                             // Calculate remaining
                             double remaining = estimated - actual;
 
@@ -434,7 +495,34 @@ public class TaskDetailsPanel extends JPanel {
         lblActualHours.setText(actualHours + " hours");
 
         // Also update the Time & Progress card
-        updateTimeProgressCard();
+        updateTimeProgressCard(actualHours);
+    }
+
+    private void loadSubtasks() {
+        if (currentTask == null) return;
+
+        // Whole subtree in one query; the tree only renders the branches that get expanded
+        TaskTreeNode root = taskDao.findSubtaskTree(currentTask.getTaskId());
+        subtaskTree.setModel(new TaskTreeModel(root));
+
+        int count = root != null ? root.getDescendantCount() : 0;
+        if (count == 0) {
+            lblSubtaskCount.setText("No subtasks");
+        } else {
+            lblSubtaskCount.setText(String.format("%d subtask%s - %.1fh / %.1fh logged of estimated",
+                    count, count != 1 ? "s" : "", root.getTotalLoggedHours(), root.getTotalEstimatedHours()));
+        }
+    }
+
+    private String formatSubtaskNode(TaskTreeNode node) {
+        String status = node.getStatusName() != null ? node.getStatusName() : "Unknown";
+        if (node.isLeaf()) {
+            return String.format("%s  [%s]  %.1fh / %.1fh",
+                    node.getTaskName(), status, node.getLoggedHours(), node.getEstimatedHours());
+        }
+        return String.format("%s  [%s]  %.1fh / %.1fh  (total %.1fh / %.1fh)",
+                node.getTaskName(), status, node.getLoggedHours(), node.getEstimatedHours(),
+                node.getTotalLoggedHours(), node.getTotalEstimatedHours());
     }
 
     private void loadAssignees() {
@@ -447,16 +535,19 @@ public class TaskDetailsPanel extends JPanel {
             return;
         }
 
+        // Load all assignees in one query
+        List<Integer> userIds = new ArrayList<>();
+        for (TaskMember member : members) {
+            userIds.add(member.getUserId());
+        }
+        Map<Integer, User> users = loadUsers(userIds);
+
         StringBuilder sb = new StringBuilder("<html>");
         for (TaskMember member : members) {
-            try {
-                User user = userDao.findById(member.getUserId());
-                if (user != null) {
-                    sb.append(" ").append(user.getFullName())
-                            .append(" (").append(user.getEmail()).append(")<br>");
-                }
-            } catch (SQLException e) {
-                e.printStackTrace();
+            User user = users.get(member.getUserId());
+            if (user != null) {
+                sb.append(" ").append(user.getFullName())
+                        .append(" (").append(user.getEmail()).append(")<br>");
             }
         }
         sb.append("</html>");
@@ -487,7 +578,16 @@ public class TaskDetailsPanel extends JPanel {
 
         if (confirm) {
             try {
-                taskDao.delete(currentTask.getTaskId());
+                int taskId = currentTask.getTaskId();
+
+                // Time entries and comments go through their DAOs so the time totals
+                // and the comment search index stay in step
+                try (UnitOfWork uow = UnitOfWork.begin()) {
+                    timeTrackingDao.deleteAllEntriesForTask(taskId);
+                    taskCommentDao.deleteAllCommentsForTask(taskId);
+                    taskDao.delete(taskId);
+                    uow.commit();
+                }
                 UIHelper.showSuccess(mainFrame, "Task deleted successfully!");
                 parentModule.showTaskList();
             } catch (Exception e) {
@@ -605,8 +705,15 @@ public class TaskDetailsPanel extends JPanel {
             noCommentsLabel.setBorder(StyleUtil.createPaddingBorder(20));
             commentsPanel.add(noCommentsLabel);
         } else {
+            // Load all comment authors in one query
+            List<Integer> userIds = new ArrayList<>();
+            for (TaskComment comment : comments) {
+                userIds.add(comment.getUserId());
+            }
+            Map<Integer, User> users = loadUsers(userIds);
+
             for (TaskComment comment : comments) {
-                JPanel commentPanel = createCommentPanel(comment);
+                JPanel commentPanel = createCommentPanel(comment, users.get(comment.getUserId()));
                 commentPanel.setAlignmentX(Component.LEFT_ALIGNMENT);
                 commentsPanel.add(commentPanel);
                 commentsPanel.add(Box.createVerticalStrut(10));
@@ -620,7 +727,7 @@ public class TaskDetailsPanel extends JPanel {
     /**
      * Create a panel for displaying a single comment
      */
-    private JPanel createCommentPanel(TaskComment comment) {
+    private JPanel createCommentPanel(TaskComment comment, User user) {
         JPanel panel = new JPanel();
         panel.setLayout(new BoxLayout(panel, BoxLayout.Y_AXIS));
         panel.setBackground(Color.WHITE);
@@ -638,25 +745,19 @@ public class TaskDetailsPanel extends JPanel {
         JPanel userTimePanel = new JPanel(new FlowLayout(FlowLayout.LEFT, 0, 0));
         userTimePanel.setBackground(Color.WHITE);
 
-        try {
-            User user = userDao.findById(comment.getUserId());
-            String userName = user != null ? user.getFullName() : "Unknown User";
+        String userName = user != null ? user.getFullName() : "Unknown User";
 
-            JLabel userLabel = new JLabel(userName);
-            userLabel.setFont(new Font("Segoe UI", Font.BOLD, 14));
-            userLabel.setForeground(StyleUtil.PRIMARY);
-            userTimePanel.add(userLabel);
+        JLabel userLabel = new JLabel(userName);
+        userLabel.setFont(new Font("Segoe UI", Font.BOLD, 14));
+        userLabel.setForeground(StyleUtil.PRIMARY);
+        userTimePanel.add(userLabel);
 
-            userTimePanel.add(new JLabel(" • "));
+        userTimePanel.add(new JLabel(" • "));
 
-            JLabel timeLabel = new JLabel(formatTimeAgo(comment.getCreatedAt()));
-            timeLabel.setFont(StyleUtil.FONT_SMALL);
-            timeLabel.setForeground(StyleUtil.TEXT_SECONDARY);
-            userTimePanel.add(timeLabel);
-
-        } catch (SQLException e) {
-            e.printStackTrace();
-        }
+        JLabel timeLabel = new JLabel(formatTimeAgo(comment.getCreatedAt()));
+        timeLabel.setFont(StyleUtil.FONT_SMALL);
+        timeLabel.setForeground(StyleUtil.TEXT_SECONDARY);
+        userTimePanel.add(timeLabel);
 
         headerPanel.add(userTimePanel, BorderLayout.WEST);
 
@@ -706,6 +807,18 @@ public class TaskDetailsPanel extends JPanel {
         return panel;
     }
 
+    /**
+     * Load users by ID in one query; empty map if the lookup fails
+     */
+    private Map<Integer, User> loadUsers(List<Integer> userIds) {
+        try {
+            return userDao.findByIds(userIds);
+        } catch (SQLException e) {
+            e.printStackTrace();
+            return new HashMap<>();
+        }
+    }
+
     /**
      * Format timestamp as "X minutes/hours/days ago"
      */
@@ -1,15 +1,25 @@
 package com.ahmet.tpm.taskFrames.tasks;
 
+import com.ahmet.tpm.components.PagedTableModel;
 import com.ahmet.tpm.dao.*;
 import com.ahmet.tpm.models.Project;
-import com.ahmet.tpm.models.Task;
+import com.ahmet.tpm.models.TaskWithDetails;
+import com.ahmet.tpm.service.ExportService;
+import com.ahmet.tpm.service.TaskImportService;
 import com.ahmet.tpm.taskFrames.TaskMainFrame;
 import com.ahmet.tpm.utils.ComponentFactory;
 import com.ahmet.tpm.utils.StyleUtil;
+import com.ahmet.tpm.utils.UIHelper;
 
 import javax.swing.*;
-import javax.swing.table.DefaultTableModel;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
 import java.awt.*;
+import java.nio.file.Path;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.TemporalAdjusters;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
@@ -22,26 +32,39 @@ public class TaskListPanel extends JPanel {
     // DAOs
     private TaskDao taskDao;
     private ProjectDao projectDao;
-    private TaskStatusDao statusDao;
-    private TaskPriorityDao priorityDao;
     private TaskDependencyDao dependencyDao;
+    private ExportService exportService;
+    private TaskImportService taskImportService;
 
     // UI Components
     private JTable taskTable;
-    private DefaultTableModel tableModel;
+    private PagedTableModel<TaskRow> tableModel;
     private JTextField searchField;
+    private Timer searchTimer;
     private JComboBox<String> projectFilter;
     private JComboBox<String> statusFilter;
     private JComboBox<String> priorityFilter;
 
+    // Rows are fetched lazily, PAGE_SIZE at a time, keeping at most MAX_CACHED_PAGES in memory
+    private static final int PAGE_SIZE = 100;
+    private static final int MAX_CACHED_PAGES = 10;
+    private static final int MAX_IMPORT_WARNINGS = 15;
+    private static final int SEARCH_DELAY_MS = 150;
+    private List<Project> filterProjects = new ArrayList<>();
+
+    /**
+     * One table row: the joined task plus its pre-formatted dependency names
+     */
+    private record TaskRow(TaskWithDetails task, String dependencies, TaskDependencyDao.Readiness readiness) {}
+
     public TaskListPanel(TasksModulePanel parentModule, TaskMainFrame mainFrame) {
         this.parentModule = parentModule;
         this.mainFrame = mainFrame;
         this.taskDao = new TaskDao();
         this.projectDao = new ProjectDao();
-        this.statusDao = new TaskStatusDao();
-        this.priorityDao = new TaskPriorityDao();
         this.dependencyDao = new TaskDependencyDao();
+        this.exportService = new ExportService();
+        this.taskImportService = new TaskImportService();
 
         setLayout(new BorderLayout());
         setBackground(StyleUtil.BACKGROUND);
@@ -81,6 +104,18 @@ public class TaskListPanel extends JPanel {
         JButton btnRefresh = ComponentFactory.createSecondaryButton("Refresh");
         btnRefresh.addActionListener(e -> refreshData());
         toolbar.add(btnRefresh);
+        toolbar.add(Box.createHorizontalStrut(10));
+
+        // Export button
+        JButton btnExport = ComponentFactory.createSecondaryButton("Export CSV");
+        btnExport.addActionListener(e -> exportData());
+        toolbar.add(btnExport);
+        toolbar.add(Box.createHorizontalStrut(10));
+
+        // Import button
+        JButton btnImport = ComponentFactory.createSecondaryButton("Import CSV");
+        btnImport.addActionListener(e -> importTasks());
+        toolbar.add(btnImport);
         toolbar.add(Box.createHorizontalStrut(20));
 
         // Search
@@ -98,6 +133,26 @@ public class TaskListPanel extends JPanel {
         ));
         toolbar.add(searchField);
 
+        // Search as you type; the timer waits for a short pause between keystrokes
+        searchTimer = new Timer(SEARCH_DELAY_MS, e -> filterTasks());
+        searchTimer.setRepeats(false);
+        searchField.getDocument().addDocumentListener(new DocumentListener() {
+            @Override
+            public void insertUpdate(DocumentEvent e) {
+                searchTimer.restart();
+            }
+
+            @Override
+            public void removeUpdate(DocumentEvent e) {
+                searchTimer.restart();
+            }
+
+            @Override
+            public void changedUpdate(DocumentEvent e) {
+                searchTimer.restart();
+            }
+        });
+
         toolbar.add(Box.createHorizontalStrut(20));
 
         // Project filter
@@ -152,13 +207,8 @@ public class TaskListPanel extends JPanel {
         panel.setBorder(StyleUtil.createPaddingBorder(20));
 
         // Table model
-        String[] columnNames = {"ID", "Task Name", "Project", "Status", "Dependencies", "Priority", "Due Date"};
-        tableModel = new DefaultTableModel(columnNames, 0) {
-            @Override
-            public boolean isCellEditable(int row, int column) {
-                return false;
-            }
-        };
+        String[] columnNames = {"ID", "Task Name", "Project", "Status", "Blocked", "Dependencies", "Priority", "Due Date"};
+        tableModel = new PagedTableModel<>(columnNames, this::getColumnValue, PAGE_SIZE, MAX_CACHED_PAGES);
 
         taskTable = new JTable(tableModel);
         taskTable.setFont(StyleUtil.FONT_BODY);
@@ -177,19 +227,19 @@ public class TaskListPanel extends JPanel {
         taskTable.getColumnModel().getColumn(1).setPreferredWidth(250);  // Task Name (slightly reduced)
         taskTable.getColumnModel().getColumn(2).setPreferredWidth(130);  // Project (slightly reduced)
         taskTable.getColumnModel().getColumn(3).setPreferredWidth(100);  // Status (slightly reduced)
-        taskTable.getColumnModel().getColumn(4).setPreferredWidth(200);  // Dependencies (NEW)
-        taskTable.getColumnModel().getColumn(5).setPreferredWidth(90);   // Priority (slightly reduced)
-        taskTable.getColumnModel().getColumn(6).setPreferredWidth(100);  // Due Date
+        taskTable.getColumnModel().getColumn(4).setPreferredWidth(90);   // Blocked
+        taskTable.getColumnModel().getColumn(5).setPreferredWidth(200);  // Dependencies (NEW)
+        taskTable.getColumnModel().getColumn(6).setPreferredWidth(90);   // Priority (slightly reduced)
+        taskTable.getColumnModel().getColumn(7).setPreferredWidth(100);  // Due Date
 
         // Double-click to view details
         taskTable.addMouseListener(new java.awt.event.MouseAdapter() {
             @Override
             public void mouseClicked(java.awt.event.MouseEvent e) {
                 if (e.getClickCount() == 2) {
-                    int row = taskTable.getSelectedRow();
-                    if (row != -1) {
-                        int taskId = (int) tableModel.getValueAt(row, 0);
-                        parentModule.showTaskDetails(taskId);
+                    TaskRow row = tableModel.getRow(taskTable.getSelectedRow());
+                    if (row != null) {
+                        parentModule.showTaskDetails(row.task().getTaskId());
                     }
                 }
             }
@@ -221,109 +271,101 @@ public class TaskListPanel extends JPanel {
         projectFilter.removeAllItems();
         projectFilter.addItem("All Projects");
 
-        List<Project> projects = projectDao.findAll();
-        for (Project project : projects) {
+        filterProjects = projectDao.findAll();
+        for (Project project : filterProjects) {
             projectFilter.addItem(project.getProjectName());
         }
     }
 
     private void loadTasks() {
-        tableModel.setRowCount(0);
-
-        List<Task> tasks = taskDao.findAll();
-
-        // ✅ BATCH OPTIMIZATION: Get ALL dependencies in ONE query
-        List<Integer> taskIds = new ArrayList<>();
-        for (Task task : tasks) {
-            taskIds.add(task.getTaskId());
-        }
-        Map<Integer, List<String>> allDependencies = dependencyDao.getDependencyNamesForTasks(taskIds);
-
-        for (Task task : tasks) {
-            Object[] row = {
-                    task.getTaskId(),
-                    task.getTaskName(),
-                    getProjectName(task.getProjectId()),
-                    getStatusName(task.getStatusId()),
-                    formatDependencies(allDependencies.get(task.getTaskId())),  // Use pre-fetched data
-                    getPriorityName(task.getPriorityId()),
-                    task.getDueDate() != null ? task.getDueDate().toString() : "-"
-            };
-            tableModel.addRow(row);
-        }
-
-        updateStats(tasks.size());
+        showTasks(new TaskQuery());
     }
 
     private void filterTasks() {
-        String searchText = searchField.getText().trim().toLowerCase();
-        String selectedProject = (String) projectFilter.getSelectedItem();
+        String searchText = searchField.getText().trim();
+        int selectedProjectIndex = projectFilter.getSelectedIndex();
         String selectedStatus = (String) statusFilter.getSelectedItem();
         String selectedPriority = (String) priorityFilter.getSelectedItem();
 
-        tableModel.setRowCount(0);
+        // Every filter is pushed down to SQL (the search words via TaskSearchIndex); only the visible pages come back
+        TaskQuery query = new TaskQuery();
+        query.setSearchText(searchText);
 
-        List<Task> tasks = taskDao.findAll();
-        List<Task> filteredTasks = new ArrayList<>();
+        // Index 0 is "All Projects"
+        if (selectedProjectIndex > 0 && selectedProjectIndex <= filterProjects.size()) {
+            query.setProjectId(filterProjects.get(selectedProjectIndex - 1).getProjectId());
+        }
 
-        // First pass: Apply filters
-        for (Task task : tasks) {
-            // Filter by search
-            if (!searchText.isEmpty()) {
-                if (!task.getTaskName().toLowerCase().contains(searchText)) {
-                    continue;
-                }
-            }
+        if (selectedStatus != null && !selectedStatus.equals("All Status")) {
+            query.setStatusName(selectedStatus);
+        }
 
-            // Filter by project
-            if (!selectedProject.equals("All Projects")) {
-                String taskProjectName = getProjectName(task.getProjectId());
-                if (!taskProjectName.equals(selectedProject)) {
-                    continue;
-                }
+        if (selectedPriority != null && !selectedPriority.equals("All Priority")) {
+            query.setPriorityName(selectedPriority);
+        }
+
+        showTasks(query);
+    }
+
+    /**
+     * Point the table at the tasks matching the query.
+     * Only the count is queried here; pages are fetched as they scroll into view.
+     */
+    private void showTasks(TaskQuery query) {
+        tableModel.setSource(new PagedTableModel.PageSource<>() {
+            @Override
+            public int count() {
+                return taskDao.countMatching(query);
             }
 
-            // Filter by status
-            if (!selectedStatus.equals("All Status")) {
-                String taskStatus = getStatusName(task.getStatusId());
-                if (!taskStatus.equals(selectedStatus)) {
-                    continue;
-                }
+            @Override
+            public List<TaskRow> fetchAfter(TaskRow lastRow, int pageSize) {
+                return toRows(taskDao.searchAfter(query, lastRow != null ? lastRow.task() : null, pageSize));
             }
 
-            // Filter by priority
-            if (!selectedPriority.equals("All Priority")) {
-                String taskPriority = getPriorityName(task.getPriorityId());
-                if (!taskPriority.equals(selectedPriority)) {
-                    continue;
-                }
+            @Override
+            public List<TaskRow> fetchPage(int pageIndex, int pageSize) {
+                return toRows(taskDao.search(query, pageIndex, pageSize));
             }
+        });
 
-            filteredTasks.add(task);
-        }
+        updateStats(tableModel.getRowCount());
+    }
 
-        // ✅ BATCH OPTIMIZATION: Get dependencies for filtered tasks only
+    /**
+     * Attach dependency names and blocked state to a page of tasks
+     */
+    private List<TaskRow> toRows(List<TaskWithDetails> tasks) {
+        // ✅ BATCH OPTIMIZATION: Get dependencies for the whole page in ONE query
         List<Integer> taskIds = new ArrayList<>();
-        for (Task task : filteredTasks) {
+        for (TaskWithDetails task : tasks) {
             taskIds.add(task.getTaskId());
         }
         Map<Integer, List<String>> allDependencies = dependencyDao.getDependencyNamesForTasks(taskIds);
+        Map<Integer, TaskDependencyDao.Readiness> readiness = dependencyDao.getReadinessForTasks(taskIds);
 
-        // Second pass: Build table rows
-        for (Task task : filteredTasks) {
-            Object[] row = {
-                    task.getTaskId(),
-                    task.getTaskName(),
-                    getProjectName(task.getProjectId()),
-                    getStatusName(task.getStatusId()),
-                    formatDependencies(allDependencies.get(task.getTaskId())),  // Use pre-fetched data
-                    getPriorityName(task.getPriorityId()),
-                    task.getDueDate() != null ? task.getDueDate().toString() : "-"
-            };
-            tableModel.addRow(row);
+        List<TaskRow> rows = new ArrayList<>();
+        for (TaskWithDetails task : tasks) {
+            rows.add(new TaskRow(task,
+                    formatDependencies(allDependencies.get(task.getTaskId())),
+                    readiness.get(task.getTaskId())));
         }
+        return rows;
+    }
 
-        updateStats(filteredTasks.size());
+    private Object getColumnValue(TaskRow row, int column) {
+        TaskWithDetails task = row.task();
+        return switch (column) {
+            case 0 -> task.getTaskId();
+            case 1 -> task.getTaskName();
+            case 2 -> displayName(task.getProjectName());
+            case 3 -> displayName(task.getStatusName());
+            case 4 -> formatBlocked(task, row.readiness());
+            case 5 -> row.dependencies();
+            case 6 -> displayName(task.getPriorityName());
+            case 7 -> task.getDueDate() != null ? task.getDueDate().toString() : "-";
+            default -> null;
+        };
     }
 
     private void viewSelectedTask() {
@@ -336,23 +378,14 @@ public class TaskListPanel extends JPanel {
             return;
         }
 
-        int taskId = (int) tableModel.getValueAt(row, 0);
-        parentModule.showTaskDetails(taskId);
-    }
-
-    private String getProjectName(int projectId) {
-        Project project = projectDao.findById(projectId);
-        return project != null ? project.getProjectName() : "Unknown";
-    }
-
-    private String getStatusName(int statusId) {
-        var status = statusDao.findById(statusId);
-        return status != null ? status.getStatusName() : "Unknown";
+        TaskRow selected = tableModel.getRow(row);
+        if (selected != null) {
+            parentModule.showTaskDetails(selected.task().getTaskId());
+        }
     }
 
-    private String getPriorityName(int priorityId) {
-        var priority = priorityDao.findById(priorityId);
-        return priority != null ? priority.getPriorityName() : "Unknown";
+    private String displayName(String name) {
+        return name != null ? name : "Unknown";
     }
 
     private void updateStats(int count) {
@@ -373,6 +406,137 @@ public class TaskListPanel extends JPanel {
         loadProjectFilter();
     }
 
+    /**
+     * Export tasks, time entries or a timesheet to CSV (streamed, runs in the background)
+     */
+    private void exportData() {
+        String[] options = {"Tasks", "Time Entries", "Timesheet", "Cancel"};
+        int choice = JOptionPane.showOptionDialog(mainFrame,
+                "What do you want to export?", "Export CSV",
+                JOptionPane.DEFAULT_OPTION, JOptionPane.QUESTION_MESSAGE, null, options, options[0]);
+
+        if (choice == 0) {
+            Path file = UIHelper.chooseCsvFile(mainFrame, "tasks.csv");
+            if (file != null) {
+                runExport(() -> exportService.exportTasks(file), "tasks", file);
+            }
+            return;
+        }
+        if (choice != 1 && choice != 2) {
+            return;
+        }
+
+        // Time entries default to the last 30 days, timesheets to the current week
+        LocalDate today = LocalDate.now();
+        LocalDate defaultStart = choice == 1 ? today.minusDays(29)
+                : today.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        LocalDate defaultEnd = choice == 1 ? today : defaultStart.plusDays(6);
+
+        JTextField txtFrom = new JTextField(defaultStart.toString(), 10);
+        JTextField txtTo = new JTextField(defaultEnd.toString(), 10);
+        JPanel rangePanel = new JPanel(new GridLayout(2, 2, 10, 10));
+        rangePanel.add(new JLabel("From (yyyy-mm-dd):"));
+        rangePanel.add(txtFrom);
+        rangePanel.add(new JLabel("To (yyyy-mm-dd):"));
+        rangePanel.add(txtTo);
+
+        if (JOptionPane.showConfirmDialog(mainFrame, rangePanel, "Export " + options[choice],
+                JOptionPane.OK_CANCEL_OPTION, JOptionPane.PLAIN_MESSAGE) != JOptionPane.OK_OPTION) {
+            return;
+        }
+
+        LocalDate from;
+        LocalDate to;
+        try {
+            from = LocalDate.parse(txtFrom.getText().trim());
+            to = LocalDate.parse(txtTo.getText().trim());
+        } catch (DateTimeParseException e) {
+            UIHelper.showError(mainFrame, "Please enter dates as yyyy-mm-dd.");
+            return;
+        }
+        if (to.isBefore(from)) {
+            UIHelper.showError(mainFrame, "The end date must not be before the start date.");
+            return;
+        }
+
+        if (choice == 1) {
+            Path file = UIHelper.chooseCsvFile(mainFrame, "time-entries_" + from + "_" + to + ".csv");
+            if (file != null) {
+                runExport(() -> exportService.exportTimeEntries(from, to, file), "time entries", file);
+            }
+        } else {
+            Path file = UIHelper.chooseCsvFile(mainFrame, "timesheet_" + from + "_" + to + ".csv");
+            if (file != null) {
+                runExport(() -> exportService.exportTimesheet(from, to, file), "timesheet rows", file);
+            }
+        }
+    }
+
+    private void runExport(UIHelper.BackgroundTask<Long> export, String what, Path file) {
+        UIHelper.runInBackground(mainFrame, export,
+                rows -> UIHelper.showSuccess(mainFrame, "Exported " + rows + " " + what + " to\n" + file),
+                "Export failed: ");
+    }
+
+    /**
+     * Import tasks from a CSV file (runs in the background with a progress dialog)
+     */
+    private void importTasks() {
+        Path file = UIHelper.chooseCsvFileToOpen(mainFrame);
+        if (file == null) {
+            return;
+        }
+
+        ProgressMonitor monitor = new ProgressMonitor(mainFrame, "Importing " + file.getFileName(), "", 0, 100);
+        monitor.setMillisToDecideToPopup(200);
+
+        TaskImportService.ProgressListener listener = (phase, done, total) -> SwingUtilities.invokeLater(() -> {
+            monitor.setNote(total > 0 ? phase + " (" + done + " / " + total + ")" : phase + " (" + done + ")");
+            monitor.setProgress(total > 0 ? Math.min(99, done * 100 / total) : 0);
+        });
+
+        UIHelper.runInBackground(mainFrame,
+                () -> {
+                    try {
+                        return taskImportService.importTasks(file, mainFrame.getCurrentUserId(), listener);
+                    } finally {
+                        SwingUtilities.invokeLater(monitor::close);
+                    }
+                },
+                result -> {
+                    refreshData();
+                    showImportResult(result);
+                },
+                "Import failed: ");
+    }
+
+    private void showImportResult(TaskImportService.ImportResult result) {
+        StringBuilder message = new StringBuilder()
+                .append("Imported ").append(result.imported()).append(" tasks")
+                .append("\nDependencies: ").append(result.dependencies())
+                .append("\nAssignments: ").append(result.assignments())
+                .append("\nSkipped rows: ").append(result.skipped());
+
+        // Show the first few warnings; the rest are in the console log
+        List<String> warnings = result.warnings();
+        if (!warnings.isEmpty()) {
+            message.append("\n\nWarnings:");
+            for (int i = 0; i < Math.min(MAX_IMPORT_WARNINGS, warnings.size()); i++) {
+                message.append("\n").append(warnings.get(i));
+            }
+            if (warnings.size() > MAX_IMPORT_WARNINGS) {
+                message.append("\n... +").append(warnings.size() - MAX_IMPORT_WARNINGS).append(" more");
+            }
+            warnings.forEach(warning -> System.err.println("✗ Import: " + warning));
+        }
+
+        if (result.imported() > 0) {
+            UIHelper.showSuccess(mainFrame, message.toString());
+        } else {
+            UIHelper.showError(mainFrame, message.toString());
+        }
+    }
+
     /**
      * Format dependency list for display
      * Shows first 2 dependencies, then "... +N more" if there are more
@@ -395,4 +559,17 @@ public class TaskListPanel extends JPanel {
             return first2 + " ... +" + remaining + " more";
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * "Blocked (n)" while dependencies are open, "Ready" otherwise; done tasks show "-"
+     */
+    private String formatBlocked(TaskWithDetails task, TaskDependencyDao.Readiness readiness) {
+        if ("DONE".equalsIgnoreCase(task.getStatusName())) {
+            return "-";
+        }
+        if (readiness != null && readiness.isBlocked()) {
+            return "Blocked (" + readiness.incompleteCount() + ")";
+        }
+        return "Ready";
+    }
+}
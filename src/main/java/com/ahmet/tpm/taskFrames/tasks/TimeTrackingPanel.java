@@ -13,7 +13,10 @@ import javax.swing.table.DefaultTableCellRenderer;
 import javax.swing.table.DefaultTableModel;
 import java.awt.*;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 public class TimeTrackingPanel extends JPanel {
 
@@ -148,21 +151,31 @@ public class TimeTrackingPanel extends JPanel {
 
         List<TimeTracking> entries = timeTrackingDao.findByTask(taskId);
 
+        // Load all users of the entries in one query
+        List<Integer> userIds = new ArrayList<>();
         for (TimeTracking entry : entries) {
-            try {
-                User user = userDao.findById(entry.getUserId());
-                String userName = user != null ? user.getFullName() : "Unknown User";
-
-                Object[] row = {
-                        entry.getWorkDate().toString(),
-                        userName,
-                        entry.getHoursWorked() + "h",
-                        entry.getTimeEntryId() // Store ID for actions
-                };
-                tableModel.addRow(row);
-            } catch (SQLException e) {
-                e.printStackTrace();
-            }
+            userIds.add(entry.getUserId());
+        }
+
+        Map<Integer, User> users;
+        try {
+            users = userDao.findByIds(userIds);
+        } catch (SQLException e) {
+            e.printStackTrace();
+            users = new HashMap<>();
+        }
+
+        for (TimeTracking entry : entries) {
+            User user = users.get(entry.getUserId());
+            String userName = user != null ? user.getFullName() : "Unknown User";
+
+            Object[] row = {
+                    entry.getWorkDate().toString(),
+                    userName,
+                    entry.getHoursWorked() + "h",
+                    entry.getTimeEntryId() // Store ID for actions
+            };
+            tableModel.addRow(row);
         }
 
         // Update total hours
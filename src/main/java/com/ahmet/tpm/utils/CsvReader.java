@@ -0,0 +1,120 @@
+package com.ahmet.tpm.utils;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads CSV rows (RFC 4180) one at a time, the counterpart of CsvWriter.
+ * Quoted fields may contain commas, doubled quotes and line breaks. A UTF-8 byte
+ * order mark at the start of the file is skipped.
+ */
+public class CsvReader implements Closeable {
+
+    private final BufferedReader reader;
+    private long lineNumber = 0;
+    private long rowLineNumber = 0;
+    private boolean atStart = true;
+
+    public CsvReader(Reader reader) {
+        this.reader = reader instanceof BufferedReader buffered ? buffered : new BufferedReader(reader);
+    }
+
+    /**
+     * Open a UTF-8 CSV file for reading
+     */
+    public static CsvReader open(Path file) throws IOException {
+        return new CsvReader(Files.newBufferedReader(file, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Next row, or null at the end of the input. Blank lines are skipped.
+     *
+     * @throws IOException also if a quoted field is not closed before the end of the input
+     */
+    public List<String> readRow() throws IOException {
+        String line;
+        do {
+            line = nextLine();
+            if (line == null) {
+                return null;
+            }
+        } while (line.isEmpty());
+
+        rowLineNumber = lineNumber;
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        int i = 0;
+
+        while (true) {
+            if (i == line.length()) {
+                if (!quoted) {
+                    fields.add(field.toString());
+                    return fields;
+                }
+                // Line break inside a quoted field
+                line = nextLine();
+                if (line == null) {
+                    throw new IOException("Unclosed quoted field starting on line " + rowLineNumber);
+                }
+                field.append('\n');
+                i = 0;
+                continue;
+            }
+
+            char c = line.charAt(i++);
+            if (quoted) {
+                if (c != '"') {
+                    field.append(c);
+                } else if (i < line.length() && line.charAt(i) == '"') {
+                    field.append('"');
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+    }
+
+    /**
+     * Line on which the last row returned by readRow() started (1-based)
+     */
+    public long getRowLineNumber() {
+        return rowLineNumber;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private String nextLine() throws IOException {
+        String line = reader.readLine();
+        if (line == null) {
+            return null;
+        }
+        lineNumber++;
+
+        if (atStart) {
+            atStart = false;
+            if (!line.isEmpty() && line.charAt(0) == '\uFEFF') {
+                line = line.substring(1);
+            }
+        }
+        return line;
+    }
+}
@@ -1,6 +1,12 @@
 package com.ahmet.tpm.utils;
 
 import javax.swing.*;
+import javax.swing.filechooser.FileNameExtensionFilter;
+import java.awt.Cursor;
+import java.io.File;
+import java.nio.file.Path;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Consumer;
 
 /**
  * Helper methods for common UI operations
@@ -45,6 +51,84 @@ public class UIHelper {
         );
     }
 
+    /**
+     * Ask where to save a CSV file
+     *
+     * @return The chosen file (with a .csv extension), or null if cancelled
+     */
+    public static Path chooseCsvFile(JFrame parent, String suggestedName) {
+        JFileChooser chooser = new JFileChooser();
+        chooser.setDialogTitle("Export to CSV");
+        chooser.setFileFilter(new FileNameExtensionFilter("CSV files (*.csv)", "csv"));
+        chooser.setSelectedFile(new File(suggestedName));
+
+        if (chooser.showSaveDialog(parent) != JFileChooser.APPROVE_OPTION) {
+            return null;
+        }
+
+        File file = chooser.getSelectedFile();
+        if (!file.getName().toLowerCase().endsWith(".csv")) {
+            file = new File(file.getParentFile(), file.getName() + ".csv");
+        }
+
+        if (file.exists() && !showConfirmDialog(parent,
+                "File already exists:\n" + file.getName() + "\n\nReplace it?", "Confirm Replace")) {
+            return null;
+        }
+        return file.toPath();
+    }
+
+    /**
+     * Ask for a CSV file to read
+     *
+     * @return The chosen file, or null if cancelled
+     */
+    public static Path chooseCsvFileToOpen(JFrame parent) {
+        JFileChooser chooser = new JFileChooser();
+        chooser.setDialogTitle("Import from CSV");
+        chooser.setFileFilter(new FileNameExtensionFilter("CSV files (*.csv)", "csv"));
+
+        if (chooser.showOpenDialog(parent) != JFileChooser.APPROVE_OPTION) {
+            return null;
+        }
+        return chooser.getSelectedFile().toPath();
+    }
+
+    /**
+     * Work run off the event thread by runInBackground
+     */
+    public interface BackgroundTask<T> {
+        T run() throws Exception;
+    }
+
+    /**
+     * Run slow work (e.g. an export) off the event thread with a wait cursor on the frame,
+     * then hand the result to onSuccess on the event thread or show the error
+     */
+    public static <T> void runInBackground(JFrame parent, BackgroundTask<T> task,
+                                           Consumer<T> onSuccess, String errorPrefix) {
+        parent.setCursor(Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR));
+
+        new SwingWorker<T, Void>() {
+            @Override
+            protected T doInBackground() throws Exception {
+                return task.run();
+            }
+
+            @Override
+            protected void done() {
+                parent.setCursor(Cursor.getDefaultCursor());
+                try {
+                    onSuccess.accept(get());
+                } catch (ExecutionException e) {
+                    showError(parent, errorPrefix + e.getCause().getMessage());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }.execute();
+    }
+
     /**
      * Set system look and feel
      */
@@ -0,0 +1,85 @@
+package com.ahmet.tpm.components;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class PagedTableModelTest {
+
+    /**
+     * Source of the rows 0..count-1 whose first {@code failures} fetches come back empty
+     */
+    private static final class FlakySource implements PagedTableModel.PageSource<Integer> {
+        private final int count;
+        private int failures;
+        int fetches = 0;
+
+        FlakySource(int count, int failures) {
+            this.count = count;
+            this.failures = failures;
+        }
+
+        @Override
+        public int count() {
+            return count;
+        }
+
+        @Override
+        public List<Integer> fetchAfter(Integer lastRow, int pageSize) {
+            return fetch(lastRow == null ? 0 : lastRow + 1, pageSize);
+        }
+
+        @Override
+        public List<Integer> fetchPage(int pageIndex, int pageSize) {
+            return fetch(pageIndex * pageSize, pageSize);
+        }
+
+        private List<Integer> fetch(int from, int pageSize) {
+            fetches++;
+            List<Integer> rows = new ArrayList<>();
+            if (failures > 0) {
+                failures--;
+                return rows;
+            }
+            for (int row = from; row < Math.min(from + pageSize, count); row++) {
+                rows.add(row);
+            }
+            return rows;
+        }
+    }
+
+    private static PagedTableModel<Integer> model(FlakySource source) {
+        PagedTableModel<Integer> model = new PagedTableModel<>(new String[]{"Row"}, (row, column) -> row, 10, 4);
+        model.setSource(source);
+        return model;
+    }
+
+    @Test
+    void loadedPageIsCached() {
+        FlakySource source = new FlakySource(25, 0);
+        PagedTableModel<Integer> model = model(source);
+
+        assertEquals(3, model.getRow(3));
+        assertEquals(7, model.getRow(7));
+        assertEquals(1, source.fetches);
+    }
+
+    @Test
+    void failedPageIsNotCachedAndLoadsAfterRefresh() {
+        FlakySource source = new FlakySource(25, 1);
+        PagedTableModel<Integer> model = model(source);
+
+        assertNull(model.getRow(3));
+        // Within the retry delay the source is not asked again
+        assertNull(model.getRow(4));
+        assertEquals(1, source.fetches);
+
+        model.refresh();
+        assertEquals(3, model.getRow(3));
+        assertEquals(2, source.fetches);
+    }
+}
@@ -0,0 +1,65 @@
+package com.ahmet.tpm.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TaskImportServiceTest {
+
+    @Test
+    void twoTaskLoopDropsOneLink() {
+        // 0 -> 1 -> 0
+        int[] parentRows = {1, 0};
+
+        List<Integer> dropped = TaskImportService.breakParentLoops(parentRows);
+
+        assertEquals(List.of(0), dropped);
+        assertArrayEquals(new int[]{-1, 0}, parentRows);
+    }
+
+    @Test
+    void threeTaskLoopDropsOneLink() {
+        // 0 -> 1 -> 2 -> 0
+        int[] parentRows = {1, 2, 0};
+
+        List<Integer> dropped = TaskImportService.breakParentLoops(parentRows);
+
+        assertEquals(List.of(0), dropped);
+        assertArrayEquals(new int[]{-1, 2, 0}, parentRows);
+    }
+
+    @Test
+    void loopReachedThroughATailKeepsTheTail() {
+        // 0 -> 1 -> 2 -> 3 -> 1
+        int[] parentRows = {1, 2, 3, 1};
+
+        List<Integer> dropped = TaskImportService.breakParentLoops(parentRows);
+
+        assertEquals(List.of(1), dropped);
+        assertArrayEquals(new int[]{1, -1, 3, 1}, parentRows);
+    }
+
+    @Test
+    void separateLoopsDropOneLinkEach() {
+        // 0 -> 1 -> 0 and 2 -> 3 -> 4 -> 2, plus 5 -> 0 hanging off the first
+        int[] parentRows = {1, 0, 3, 4, 2, 0};
+
+        List<Integer> dropped = TaskImportService.breakParentLoops(parentRows);
+
+        assertEquals(List.of(0, 2), dropped);
+        assertArrayEquals(new int[]{-1, 0, -1, 4, 2, 0}, parentRows);
+    }
+
+    @Test
+    void treesAreLeftAlone() {
+        int[] parentRows = {-1, 0, 0, 1, -1};
+
+        List<Integer> dropped = TaskImportService.breakParentLoops(parentRows);
+
+        assertEquals(List.of(), dropped);
+        assertArrayEquals(new int[]{-1, 0, 0, 1, -1}, parentRows);
+    }
+}